@@ -0,0 +1,12 @@
+package org.example.captcha;
+
+/**
+ * 预先生成的验证码
+ *
+ * @param uuid   验证码标识
+ * @param answer 验证码答案，计算类验证码为计算结果
+ * @param img    PNG图片的 data URI(base64)
+ * @author example
+ */
+public record CaptchaImage(String uuid, String answer, String img) {
+}
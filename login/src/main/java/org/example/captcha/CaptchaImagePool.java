@@ -0,0 +1,130 @@
+package org.example.captcha;
+
+import cn.hutool.captcha.AbstractCaptcha;
+import cn.hutool.captcha.generator.CodeGenerator;
+import cn.hutool.core.math.Calculator;
+import cn.hutool.core.thread.ExecutorBuilder;
+import cn.hutool.core.thread.ThreadUtil;
+import cn.hutool.core.util.IdUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.properties.CaptchaProperties;
+import org.example.domain.em.CaptchaType;
+import org.example.utils.ReflectUtils;
+import org.example.utils.SpringUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 验证码图片池
+ * <p>
+ * 后台线程按 {@link CaptchaProperties} 预先绘制验证码并编码为PNG，放入有界队列，队列满时阻塞等待；
+ * 请求线程只需出队，登录高峰时不在请求线程上绘图。队列为空时退回在请求线程上现场生成。
+ * 验证码答案在出队后才写入存储，有效期从出队时开始计算。
+ *
+ * @author example
+ */
+@Slf4j
+@Component
+public class CaptchaImagePool {
+
+    private final CaptchaProperties properties;
+
+    private final BlockingQueue<CaptchaImage> queue;
+
+    private final CodeGenerator generator;
+
+    /**
+     * 队列为空、现场生成的次数
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    private ExecutorService workers;
+
+    public CaptchaImagePool(CaptchaProperties properties) {
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(Math.max(properties.getPoolSize(), 1));
+        int length = properties.getType() == CaptchaType.MATH ? properties.getNumberLength() : properties.getCharLength();
+        this.generator = ReflectUtils.newInstance(properties.getType().getClazz(), length);
+    }
+
+    /**
+     * 启动完成后开始预生成，未启用验证码时不启动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!Boolean.TRUE.equals(properties.getEnable()) || properties.getPoolSize() <= 0) {
+            return;
+        }
+        int workerCount = Math.max(properties.getPoolWorkers(), 1);
+        workers = ExecutorBuilder.create()
+            .setCorePoolSize(workerCount)
+            .setMaxPoolSize(workerCount)
+            .setThreadFactory(ThreadUtil.newNamedThreadFactory("captcha-render-", true))
+            .build();
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::produce);
+        }
+        log.info("验证码图片池已启动，容量 {}，生成线程 {}", properties.getPoolSize(), workerCount);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * 取出一个验证码，池为空时现场生成
+     */
+    public CaptchaImage take() {
+        CaptchaImage image = queue.poll();
+        if (image != null) {
+            return image;
+        }
+        long count = misses.incrementAndGet();
+        if (workers != null) {
+            log.debug("验证码图片池已空，现场生成，累计 {} 次", count);
+        }
+        return render(newCaptcha());
+    }
+
+    /**
+     * 生成线程，每个线程使用独立的验证码实例(非线程安全)
+     */
+    private void produce() {
+        AbstractCaptcha captcha = newCaptcha();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                queue.put(render(captcha));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("验证码预生成失败", e);
+                ThreadUtil.sleep(1000);
+            }
+        }
+    }
+
+    private CaptchaImage render(AbstractCaptcha captcha) {
+        captcha.createCode();
+        String code = captcha.getCode();
+        String answer = properties.getType() == CaptchaType.MATH
+            ? Integer.toString((int) Calculator.conversion(code)) : code;
+        return new CaptchaImage(IdUtil.simpleUUID(), answer, captcha.getImageBase64Data());
+    }
+
+    private AbstractCaptcha newCaptcha() {
+        AbstractCaptcha captcha = SpringUtils.getBean(properties.getCategory().getClazz());
+        captcha.setGenerator(generator);
+        return captcha;
+    }
+
+}
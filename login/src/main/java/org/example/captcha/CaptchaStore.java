@@ -0,0 +1,31 @@
+package org.example.captcha;
+
+import java.time.Duration;
+
+/**
+ * 验证码存储
+ * <p>
+ * 验证码只能使用一次，读取即删除，读取与删除必须是原子操作，避免同一验证码被并发请求重复使用。
+ *
+ * @author example
+ */
+public interface CaptchaStore {
+
+    /**
+     * 保存验证码
+     *
+     * @param uuid 验证码标识
+     * @param code 验证码答案
+     * @param ttl  有效期
+     */
+    void save(String uuid, String code, Duration ttl);
+
+    /**
+     * 取出并删除验证码
+     *
+     * @param uuid 验证码标识
+     * @return 验证码答案，不存在或已过期返回null
+     */
+    String take(String uuid);
+
+}
@@ -0,0 +1,67 @@
+package org.example.captcha;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.exception.CaptchaException;
+import org.example.exception.CaptchaExpireException;
+import org.example.utils.StringUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * 验证码校验
+ * <p>
+ * 登录、注册共用。验证码通过 {@link CaptchaStore#take(String)} 原子地取出并删除，一次往返，
+ * 同一验证码并发提交时只有一个请求能取到；答案比较忽略大小写。
+ * 校验结果计入 captcha.verify 指标，result 标签为 hit / expired / mismatch。
+ *
+ * @author example
+ */
+@Component
+public class CaptchaVerifier {
+
+    private final CaptchaStore captchaStore;
+
+    private final Counter hit;
+    private final Counter expired;
+    private final Counter mismatch;
+
+    public CaptchaVerifier(CaptchaStore captchaStore, MeterRegistry registry) {
+        this.captchaStore = captchaStore;
+        this.hit = counter(registry, "hit");
+        this.expired = counter(registry, "expired");
+        this.mismatch = counter(registry, "mismatch");
+    }
+
+    /**
+     * 校验验证码，失败时抛出异常
+     *
+     * @param code 验证码
+     * @param uuid 唯一标识
+     */
+    public void validate(String code, String uuid) {
+        if (StringUtils.isBlank(code)) {
+            throw new CaptchaException("验证码不能为空");
+        }
+        if (StringUtils.isBlank(uuid)) {
+            throw new CaptchaException("验证码标识不能为空");
+        }
+        String captcha = captchaStore.take(uuid);
+        if (captcha == null) {
+            expired.increment();
+            throw new CaptchaExpireException("验证码已失效");
+        }
+        if (!code.equalsIgnoreCase(captcha)) {
+            mismatch.increment();
+            throw new CaptchaException("验证码错误");
+        }
+        hit.increment();
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("captcha.verify")
+            .description("验证码校验次数")
+            .tag("result", result)
+            .register(registry);
+    }
+
+}
@@ -0,0 +1,125 @@
+package org.example.captcha;
+
+import cn.hutool.core.thread.ThreadUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.properties.CaptchaProperties;
+import org.example.exception.ServiceException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地内存验证码存储
+ * <p>
+ * 条目数有上限，达到上限时拒绝生成新的验证码；过期清理使用时间轮：
+ * 每个槽位对应一秒，保存在该秒内过期的标识，后台线程每秒只处理当前槽位，无需扫描全部条目。
+ * 仅适用于单节点部署，多节点请使用 {@link RedisCaptchaStore}。
+ *
+ * @author example
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "captcha", name = "store", havingValue = "local")
+public class LocalCaptchaStore implements CaptchaStore {
+
+    private static final long TICK_MILLIS = 1000L;
+
+    private static final int WHEEL_SIZE = 512;
+
+    private final int maxSize;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Queue<String>[] wheel;
+
+    private final ScheduledExecutorService ticker;
+
+    /**
+     * 下一个待处理的刻度
+     */
+    private long nextTick;
+
+    @SuppressWarnings("unchecked")
+    public LocalCaptchaStore(CaptchaProperties properties) {
+        this.maxSize = properties.getLocalMaxSize();
+        this.wheel = new Queue[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.nextTick = System.currentTimeMillis() / TICK_MILLIS;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(ThreadUtil.newNamedThreadFactory("captcha-expire-", true));
+        ticker.scheduleAtFixedRate(this::advance, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void save(String uuid, String code, Duration ttl) {
+        if (entries.size() >= maxSize) {
+            throw new ServiceException("验证码请求过多，请稍后再试");
+        }
+        long expireAt = System.currentTimeMillis() + ttl.toMillis();
+        entries.put(uuid, new Entry(code, expireAt));
+        schedule(uuid, expireAt);
+    }
+
+    @Override
+    public String take(String uuid) {
+        Entry entry = entries.remove(uuid);
+        if (entry == null || entry.expireAt() <= System.currentTimeMillis()) {
+            return null;
+        }
+        return entry.code();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    private void schedule(String uuid, long expireAt) {
+        wheel[(int) ((expireAt / TICK_MILLIS) % WHEEL_SIZE)].add(uuid);
+    }
+
+    /**
+     * 处理已完整经过的所有刻度，有效期超过一圈的条目重新放回时间轮
+     */
+    private void advance() {
+        try {
+            long currentTick = System.currentTimeMillis() / TICK_MILLIS;
+            for (; nextTick < currentTick; nextTick++) {
+                Queue<String> slot = wheel[(int) (nextTick % WHEEL_SIZE)];
+                for (int n = slot.size(); n > 0; n--) {
+                    String uuid = slot.poll();
+                    if (uuid == null) {
+                        break;
+                    }
+                    Entry entry = entries.get(uuid);
+                    if (entry == null) {
+                        continue;
+                    }
+                    long tick = entry.expireAt() / TICK_MILLIS;
+                    if (tick <= nextTick) {
+                        entries.remove(uuid, entry);
+                    } else if ((tick - nextTick) % WHEEL_SIZE == 0) {
+                        // 同一槽位的下一圈
+                        schedule(uuid, entry.expireAt());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.error("验证码过期清理失败", e);
+        }
+    }
+
+    private record Entry(String code, long expireAt) {
+    }
+
+}
@@ -0,0 +1,32 @@
+package org.example.captcha;
+
+import org.example.constant.GlobalConstants;
+import org.example.utils.RedisUtils;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Redis验证码存储
+ * <p>
+ * 以字符串编码直接存储答案，保存为一条 SET PX 命令，取出使用原子的 get-and-delete，均为一次往返。
+ *
+ * @author example
+ */
+@Component
+@ConditionalOnProperty(prefix = "captcha", name = "store", havingValue = "redis", matchIfMissing = true)
+public class RedisCaptchaStore implements CaptchaStore {
+
+    @Override
+    public void save(String uuid, String code, Duration ttl) {
+        RedisUtils.getClient().<String>getBucket(GlobalConstants.CAPTCHA_CODE_KEY + uuid, StringCodec.INSTANCE).set(code, ttl);
+    }
+
+    @Override
+    public String take(String uuid) {
+        return RedisUtils.getClient().<String>getBucket(GlobalConstants.CAPTCHA_CODE_KEY + uuid, StringCodec.INSTANCE).getAndDelete();
+    }
+
+}
@@ -5,14 +5,18 @@ import cn.hutool.captcha.CircleCaptcha;
 import cn.hutool.captcha.LineCaptcha;
 import cn.hutool.captcha.ShearCaptcha;
 import org.example.config.properties.CaptchaProperties;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
 
 import java.awt.*;
 
+/**
+ * 验证码配置，验证码实例非线程安全，每次获取都创建新实例
+ */
 @Configuration
 @EnableConfigurationProperties(CaptchaProperties.class)
 public class CaptchaConfig {
@@ -25,8 +29,8 @@ public class CaptchaConfig {
     /**
      * 圆圈干扰验证码
      */
-    @Lazy
     @Bean
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
     public CircleCaptcha circleCaptcha() {
         CircleCaptcha captcha = CaptchaUtil.createCircleCaptcha(WIDTH, HEIGHT);
         captcha.setBackground(BACKGROUND);
@@ -37,8 +41,8 @@ public class CaptchaConfig {
     /**
      * 线段干扰的验证码
      */
-    @Lazy
     @Bean
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
     public LineCaptcha lineCaptcha() {
         LineCaptcha captcha = CaptchaUtil.createLineCaptcha(WIDTH, HEIGHT);
         captcha.setBackground(BACKGROUND);
@@ -49,8 +53,8 @@ public class CaptchaConfig {
     /**
      * 扭曲干扰验证码
      */
-    @Lazy
     @Bean
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
     public ShearCaptcha shearCaptcha() {
         ShearCaptcha captcha = CaptchaUtil.createShearCaptcha(WIDTH, HEIGHT);
         captcha.setBackground(BACKGROUND);
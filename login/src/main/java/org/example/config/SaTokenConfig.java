@@ -1,13 +1,17 @@
 package org.example.config;
 
 import cn.dev33.satoken.dao.SaTokenDao;
+import cn.dev33.satoken.fun.strategy.SaHasElementFunction;
 import cn.dev33.satoken.jwt.StpLogicJwtForSimple;
 import cn.dev33.satoken.stp.StpInterface;
 import cn.dev33.satoken.stp.StpLogic;
+import cn.dev33.satoken.strategy.SaStrategy;
+import jakarta.annotation.PostConstruct;
+import org.example.config.properties.SaTokenDaoProperties;
+import org.example.config.satoken.PermissionIndex;
 import org.example.config.satoken.TenantSaTokenDao;
+import org.example.service.PermissionCacheService;
 import org.example.service.SaPermissionImpl;
-import org.example.service.ISysRoleService;
-import org.example.service.ISysMenuService;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,6 +25,17 @@ import org.springframework.context.annotation.Primary;
 @Configuration
 public class SaTokenConfig {
 
+    /**
+     * 注册权限匹配策略
+     * 权限列表为已编译的 {@link PermissionIndex} 时按前缀树匹配，其余情况保持 Sa-Token 默认的逐条模糊匹配
+     */
+    @PostConstruct
+    public void registerHasElementStrategy() {
+        SaHasElementFunction defaultHasElement = SaStrategy.instance.hasElement;
+        SaStrategy.instance.setHasElement((list, element) -> list instanceof PermissionIndex index
+            ? index.matches(element) : defaultHasElement.apply(list, element));
+    }
+
     /**
      * 获取 StpLogic 的 jwt 实现
      */
@@ -34,8 +49,8 @@ public class SaTokenConfig {
      * 权限接口实现(使用bean注入方便用户替换)
      */
     @Bean
-    public StpInterface stpInterface(ISysRoleService roleService, ISysMenuService menuService) {
-        return new SaPermissionImpl(roleService, menuService);
+    public StpInterface stpInterface(PermissionCacheService permissionCacheService) {
+        return new SaPermissionImpl(permissionCacheService);
     }
 
     /**
@@ -44,8 +59,8 @@ public class SaTokenConfig {
     @Bean
     @Primary
     @ConditionalOnProperty(value = "tenant.enable", havingValue = "true")
-    public SaTokenDao saTokenDao() {
-        return new TenantSaTokenDao();
+    public SaTokenDao saTokenDao(SaTokenDaoProperties saTokenDaoProperties) {
+        return new TenantSaTokenDao(saTokenDaoProperties);
     }
 
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package org.example.config;
 import cn.dev33.satoken.interceptor.SaInterceptor;
 import cn.dev33.satoken.stp.StpUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.example.config.satoken.RoundTripInterceptor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -25,6 +26,9 @@ public class SecurityConfig implements WebMvcConfigurer {
      */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        // 统计每个请求的 Sa-Token Redis 往返次数，需位于 Sa-Token 拦截器之前
+        registry.addInterceptor(new RoundTripInterceptor())
+            .addPathPatterns("/**");
         // 注册 Sa-Token 拦截器，并指定认证规则
         registry.addInterceptor(new SaInterceptor())
             .addPathPatterns("/**")
@@ -0,0 +1,48 @@
+package org.example.config.properties;
+
+import lombok.Data;
+import org.example.domain.em.QueueFullPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 审计日志(登录日志、操作日志)配置属性
+ *
+ * @author example
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "audit-log")
+public class AuditLogProperties {
+
+    /**
+     * 是否启用审计日志
+     */
+    private Boolean enabled = true;
+
+    /**
+     * 环形缓冲区容量（向上取整为2的幂）
+     */
+    private Integer bufferSize = 8192;
+
+    /**
+     * 单次批量写入的最大条数
+     */
+    private Integer batchSize = 500;
+
+    /**
+     * 未攒满一批时的最长等待时间（毫秒）
+     */
+    private Long flushInterval = 1000L;
+
+    /**
+     * 缓冲区已满时的处理策略
+     */
+    private QueueFullPolicy fullPolicy = QueueFullPolicy.DROP;
+
+    /**
+     * BLOCK 策略下最长等待时间（毫秒），超时后丢弃
+     */
+    private Long blockTimeout = 100L;
+
+}
@@ -0,0 +1,32 @@
+package org.example.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 登录后用户数据并行加载配置属性
+ *
+ * @author example
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "auth-load")
+public class AuthLoadProperties {
+
+    /**
+     * 加载线程数(查询数据库为主，可大于CPU核数)
+     */
+    private Integer threads = 16;
+
+    /**
+     * 等待队列容量，队列满时在请求线程中直接执行
+     */
+    private Integer queueCapacity = 256;
+
+    /**
+     * 单次请求加载的总时间预算（毫秒），超时返回失败
+     */
+    private Long timeout = 3000L;
+
+}
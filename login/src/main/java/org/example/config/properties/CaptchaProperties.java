@@ -3,6 +3,7 @@ package org.example.config.properties;
 
 import lombok.Data;
 import org.example.domain.em.CaptchaCategory;
+import org.example.domain.em.CaptchaStoreType;
 import org.example.domain.em.CaptchaType;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
@@ -33,6 +34,31 @@ public class CaptchaProperties {
      */
     private Integer charLength;
 
+    /**
+     * 验证码存储方式，默认Redis
+     */
+    private CaptchaStoreType store = CaptchaStoreType.REDIS;
+
+    /**
+     * 验证码有效期（秒）
+     */
+    private Integer expireSeconds = 120;
+
+    /**
+     * 本地存储最大条目数，达到上限时拒绝生成新的验证码
+     */
+    private Integer localMaxSize = 10000;
+
+    /**
+     * 预生成验证码图片池容量，为0时不预生成
+     */
+    private Integer poolSize = 200;
+
+    /**
+     * 预生成线程数
+     */
+    private Integer poolWorkers = 2;
+
     // Getter and Setter methods
     public Boolean getEnable() {
         return enable;
@@ -0,0 +1,52 @@
+package org.example.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 密码哈希配置属性
+ *
+ * @author example
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "password-hash")
+public class PasswordHashProperties {
+
+    /**
+     * BCrypt 工作因子(cost)，新生成的密码哈希使用该值
+     */
+    private Integer strength = 10;
+
+    /**
+     * 哈希线程数，小于等于0时使用CPU核数
+     */
+    private Integer threads = 0;
+
+    /**
+     * 等待队列容量，队列满时立即返回429
+     */
+    private Integer queueCapacity = 100;
+
+    /**
+     * 请求线程等待哈希结果的最长时间（毫秒），超时返回429
+     */
+    private Long waitTimeout = 3000L;
+
+    /**
+     * 登录成功时，密码哈希的工作因子与配置不一致则重新哈希并保存
+     */
+    private Boolean rehashOnLogin = false;
+
+    /**
+     * 启动校准的哈希次数，为0时不校准
+     */
+    private Integer calibrationRounds = 5;
+
+    /**
+     * 单次哈希的目标耗时（毫秒），校准后据此给出工作因子建议
+     */
+    private Long targetMillis = 100L;
+
+}
@@ -0,0 +1,37 @@
+package org.example.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户权限缓存配置属性
+ *
+ * @author example
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "permission-cache")
+public class PermissionCacheProperties {
+
+    /**
+     * 是否启用权限缓存，关闭后每次鉴权都查询数据库
+     */
+    private Boolean enabled = true;
+
+    /**
+     * 本地缓存最大条目数
+     */
+    private Integer localMaxSize = 10000;
+
+    /**
+     * 本地缓存存活时间（秒）
+     */
+    private Integer localTtl = 300;
+
+    /**
+     * Redis缓存存活时间（秒）
+     */
+    private Integer redisTtl = 86400;
+
+}
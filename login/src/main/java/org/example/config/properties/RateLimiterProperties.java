@@ -0,0 +1,47 @@
+package org.example.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 限流配置属性
+ *
+ * @author example
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limiter")
+public class RateLimiterProperties {
+
+    /**
+     * 是否启用本地令牌租借（每次从Redis批量租借令牌，本地消费完再租借）
+     */
+    private Boolean leaseEnabled = true;
+
+    /**
+     * 单次租借数量 = 限流次数 / leaseDivisor，结果小于2时不租借，直接使用Redis限流
+     */
+    private Integer leaseDivisor = 10;
+
+    /**
+     * 单次租借数量上限
+     */
+    private Integer maxLeaseSize = 100;
+
+    /**
+     * 本地令牌桶最大数量（按IP限流时每个IP一个）
+     */
+    private Integer localMaxSize = 10000;
+
+    /**
+     * 限流拒绝记录环形缓冲区大小（保留最近的拒绝记录，供管理接口查询）
+     */
+    private Integer rejectionBufferSize = 200;
+
+    /**
+     * 限流拒绝记录采样率，取值 0~1，为0时不记录
+     */
+    private Double rejectionSampleRate = 1.0;
+
+}
@@ -0,0 +1,42 @@
+package org.example.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sa-Token持久层配置属性
+ *
+ * @author example
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "satoken-dao")
+public class SaTokenDaoProperties {
+
+    /**
+     * 是否启用本地近端缓存
+     */
+    private Boolean nearCacheEnabled = true;
+
+    /**
+     * 本地近端缓存最大条目数
+     */
+    private Integer nearCacheMaxSize = 10000;
+
+    /**
+     * 本地近端缓存最长存活时间（秒），实际存活时间不超过Redis中的剩余时间
+     */
+    private Integer nearCacheTtl = 30;
+
+    /**
+     * 是否启用会话检索索引（在线用户列表、会话检索基于有序集合分页）
+     */
+    private Boolean searchIndexEnabled = true;
+
+    /**
+     * 是否启用账号token索引（注销、踢人下线按账号的token数量执行）
+     */
+    private Boolean userIndexEnabled = true;
+
+}
@@ -0,0 +1,42 @@
+package org.example.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 唯一键布隆过滤器配置属性
+ *
+ * @author example
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "unique-filter")
+public class UniqueKeyFilterProperties {
+
+    /**
+     * 是否启用，关闭后唯一性校验与按用户名查询全部访问数据库
+     */
+    private Boolean enabled = true;
+
+    /**
+     * 每个租户预计的数据量
+     */
+    private Integer expectedInsertions = 100000;
+
+    /**
+     * 期望误判率
+     */
+    private Double falseProbability = 0.01;
+
+    /**
+     * 累计删除多少条后重建(已删除的值会一直被判定为可能存在)
+     */
+    private Integer rebuildAfterDeletes = 10000;
+
+    /**
+     * 重建开始双写后等待进行中事务提交的时间（毫秒）
+     */
+    private Long rebuildGrace = 2000L;
+
+}
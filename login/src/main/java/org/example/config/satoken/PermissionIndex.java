@@ -0,0 +1,263 @@
+package org.example.config.satoken;
+
+import cn.dev33.satoken.util.SaFoxUtil;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * 已编译的权限索引
+ * <p>
+ * 将权限码按 ":" 拆分为段构建前缀树，段名统一intern，构建后不可变。
+ * 匹配时直接在原字符串上按下标定位各段，不创建任何对象，耗时只与段数相关。
+ * 通配规则与 Sa-Token 的 {@link SaFoxUtil#vagueMatch(String, String)} 保持一致：
+ * <ul>
+ *     <li>末尾的 * 匹配剩余的任意内容，如 system:* 、 *</li>
+ *     <li>中间的 * 匹配一个或多个完整的段，如 *:*:* 、 system:*:list</li>
+ *     <li>段内包含 * 的权限码(如 sys*)无法按段匹配，退回逐条模糊匹配</li>
+ * </ul>
+ * 本身也是只读的 List(contains 仍为精确比较)，可直接作为 {@link cn.dev33.satoken.stp.StpInterface} 的返回值，
+ * 由 {@link org.example.config.SaTokenConfig} 注册的匹配策略识别后调用 {@link #matches(String)} 走快速路径。
+ *
+ * @author example
+ */
+public final class PermissionIndex extends AbstractList<String> implements RandomAccess {
+
+    private static final String WILDCARD = "*";
+
+    private static final char SEPARATOR = ':';
+
+    private static final PermissionIndex EMPTY = new PermissionIndex(new String[0], new Node(), new String[0]);
+
+    /**
+     * 原始权限码
+     */
+    private final String[] elements;
+
+    private final Node root;
+
+    /**
+     * 无法按段匹配的权限码
+     */
+    private final String[] fallbackPatterns;
+
+    private PermissionIndex(String[] elements, Node root, String[] fallbackPatterns) {
+        this.elements = elements;
+        this.root = root;
+        this.fallbackPatterns = fallbackPatterns;
+    }
+
+    /**
+     * 编译权限索引
+     *
+     * @param permissions 权限码集合
+     * @return 权限索引
+     */
+    public static PermissionIndex of(Collection<String> permissions) {
+        if (permissions == null || permissions.isEmpty()) {
+            return EMPTY;
+        }
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String permission : permissions) {
+            if (permission != null) {
+                distinct.add(permission.intern());
+            }
+        }
+        Builder root = new Builder();
+        List<String> fallback = new ArrayList<>();
+        for (String permission : distinct) {
+            if (!root.add(permission)) {
+                fallback.add(permission);
+            }
+        }
+        return new PermissionIndex(distinct.toArray(new String[0]), root.build(), fallback.toArray(new String[0]));
+    }
+
+    /**
+     * 判断是否拥有指定权限
+     *
+     * @param permission 需要校验的权限码
+     * @return 是否拥有
+     */
+    public boolean matches(String permission) {
+        if (permission == null || elements.length == 0) {
+            return false;
+        }
+        if (match(root, permission, 0)) {
+            return true;
+        }
+        for (String pattern : fallbackPatterns) {
+            if (SaFoxUtil.vagueMatch(pattern, permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String get(int index) {
+        return elements[index];
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    /**
+     * 从 from 处开始匹配剩余的段，from 大于字符串长度代表所有段都已匹配完
+     */
+    private static boolean match(Node node, String permission, int from) {
+        int length = permission.length();
+        if (from > length) {
+            return node.terminal;
+        }
+        if (node.wildcardTail) {
+            return true;
+        }
+        int end = segmentEnd(permission, from);
+        Node child = node.child(permission, from, end);
+        if (child != null && match(child, permission, end + 1)) {
+            return true;
+        }
+        if (node.wildcard != null) {
+            // 中间的 * 依次尝试吞掉一个、两个...直至全部剩余段
+            for (int e = end; ; e = segmentEnd(permission, e + 1)) {
+                if (match(node.wildcard, permission, e + 1)) {
+                    return true;
+                }
+                if (e >= length) {
+                    break;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int segmentEnd(String permission, int from) {
+        int end = permission.indexOf(SEPARATOR, from);
+        return end < 0 ? permission.length() : end;
+    }
+
+    /**
+     * 前缀树节点，子节点使用开放寻址散列表存储，按下标区间查找无需截取子串
+     */
+    private static final class Node {
+
+        /**
+         * 有权限码在此结束
+         */
+        private boolean terminal;
+
+        /**
+         * 有权限码以 * 在此结束，匹配剩余全部内容
+         */
+        private boolean wildcardTail;
+
+        /**
+         * 中间位置的 * 子节点
+         */
+        private Node wildcard;
+
+        private String[] keys;
+
+        private Node[] children;
+
+        private Node child(String permission, int from, int end) {
+            if (keys == null) {
+                return null;
+            }
+            int hash = 0;
+            for (int i = from; i < end; i++) {
+                hash = 31 * hash + permission.charAt(i);
+            }
+            int len = end - from;
+            int mask = keys.length - 1;
+            for (int i = spread(hash) & mask; keys[i] != null; i = (i + 1) & mask) {
+                String key = keys[i];
+                if (key.length() == len && key.hashCode() == hash && permission.regionMatches(from, key, 0, len)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    /**
+     * 构建期使用的可变节点
+     */
+    private static final class Builder {
+
+        private boolean terminal;
+
+        private boolean wildcardTail;
+
+        private Builder wildcard;
+
+        private final Map<String, Builder> children = new HashMap<>();
+
+        /**
+         * 加入权限码，段内含有 * 时返回false
+         */
+        private boolean add(String permission) {
+            String[] segments = permission.split(String.valueOf(SEPARATOR), -1);
+            for (String segment : segments) {
+                if (segment.contains(WILDCARD) && !WILDCARD.equals(segment)) {
+                    return false;
+                }
+            }
+            Builder node = this;
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (WILDCARD.equals(segment)) {
+                    if (i == segments.length - 1) {
+                        node.wildcardTail = true;
+                        return true;
+                    }
+                    if (node.wildcard == null) {
+                        node.wildcard = new Builder();
+                    }
+                    node = node.wildcard;
+                } else {
+                    node = node.children.computeIfAbsent(segment.intern(), k -> new Builder());
+                }
+            }
+            node.terminal = true;
+            return true;
+        }
+
+        private Node build() {
+            Node node = new Node();
+            node.terminal = terminal;
+            node.wildcardTail = wildcardTail;
+            node.wildcard = wildcard != null ? wildcard.build() : null;
+            if (!children.isEmpty()) {
+                int capacity = Integer.highestOneBit(children.size() * 2 - 1) << 1;
+                node.keys = new String[capacity];
+                node.children = new Node[capacity];
+                int mask = capacity - 1;
+                for (Map.Entry<String, Builder> entry : children.entrySet()) {
+                    int i = Node.spread(entry.getKey().hashCode()) & mask;
+                    while (node.keys[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    node.keys[i] = entry.getKey();
+                    node.children[i] = entry.getValue().build();
+                }
+            }
+            return node;
+        }
+    }
+
+}
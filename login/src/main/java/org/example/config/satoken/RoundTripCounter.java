@@ -0,0 +1,58 @@
+package org.example.config.satoken;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sa-Token持久层Redis往返次数统计
+ * <p>
+ * 按线程统计当前请求内的往返次数，同时累计全局总数；由 {@link RoundTripInterceptor} 在请求开始时重置、结束时输出。
+ *
+ * @author example
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class RoundTripCounter {
+
+    private static final ThreadLocal<int[]> CURRENT = ThreadLocal.withInitial(() -> new int[1]);
+
+    private static final LongAdder TOTAL = new LongAdder();
+
+    /**
+     * 记录一次往返
+     */
+    public static void increment() {
+        CURRENT.get()[0]++;
+        TOTAL.increment();
+    }
+
+    /**
+     * 当前请求内的往返次数
+     */
+    public static int current() {
+        return CURRENT.get()[0];
+    }
+
+    /**
+     * 启动以来的往返总数
+     */
+    public static long total() {
+        return TOTAL.sum();
+    }
+
+    /**
+     * 重置当前请求的计数
+     */
+    public static void reset() {
+        CURRENT.get()[0] = 0;
+    }
+
+    /**
+     * 清除当前线程的计数
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+}
@@ -0,0 +1,32 @@
+package org.example.config.satoken;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 请求级Redis往返次数拦截器
+ * 需注册在Sa-Token拦截器之前，使鉴权产生的往返也计入当前请求
+ *
+ * @author example
+ */
+@Slf4j
+public class RoundTripInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RoundTripCounter.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (log.isDebugEnabled()) {
+            log.debug("[{}]{} Sa-Token Redis往返次数: {}, 累计: {}",
+                request.getMethod(), request.getRequestURI(), RoundTripCounter.current(), RoundTripCounter.total());
+        }
+        RoundTripCounter.clear();
+    }
+
+}
@@ -0,0 +1,205 @@
+package org.example.config.satoken;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import cn.hutool.core.util.IdUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.example.constant.GlobalConstants;
+import org.redisson.api.RBatch;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.BaseStatusListener;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sa-Token 本地近端缓存
+ * <p>
+ * 位于Redis之前的一层有界、带过期时间的本地缓存，减少鉴权热路径上的Redis往返。
+ * 任一节点写入或删除key后通过Redis topic广播失效通知，其余节点收到后移除本地副本；
+ * 本地副本的存活时间不超过配置上限与Redis剩余存活时间中的较小值。
+ * 未命中时从Redis读取的值按失效序号写入：读取期间收到过失效通知(本节点或其他节点)则不保留，
+ * 避免已注销的token在失效通知先于写入到达时被重新缓存。
+ * <p>
+ * 与Sa-Token默认内存实现一致，缓存中的对象(如SaSession)在本节点内共享同一实例。
+ *
+ * @author example
+ */
+@Slf4j
+public class SaTokenNearCache {
+
+    /**
+     * 永不过期标识
+     */
+    private static final long NEVER_EXPIRE_AT = -1L;
+
+    /**
+     * 消息中节点标识与key的分隔符
+     */
+    private static final char MESSAGE_SEPARATOR = '|';
+
+    /**
+     * 活跃时间key每次请求都会被写入，缓存没有意义，也避免每次请求都广播失效通知
+     */
+    private static final String LAST_ACTIVE_SEGMENT = ":last-active:";
+
+    /**
+     * 当前节点标识，用于忽略自身发出的失效通知
+     */
+    private final String nodeId = IdUtil.fastSimpleUUID();
+
+    private final LRUCache<String, Entry> cache;
+
+    private final long maxTtlMillis;
+
+    /**
+     * 失效序号，每次失效(本地移除、收到通知、清空)先递增再移除
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public SaTokenNearCache(int capacity, long maxTtlMillis) {
+        this.cache = CacheUtil.newLRUCache(capacity, maxTtlMillis);
+        this.maxTtlMillis = maxTtlMillis;
+    }
+
+    /**
+     * 该key是否参与本地缓存（各节点判断结果一致，不参与缓存的key无需广播）
+     */
+    public boolean isCacheable(String key) {
+        return !key.contains(LAST_ACTIVE_SEGMENT);
+    }
+
+    /**
+     * 获取本地缓存，不存在或已过期返回null
+     */
+    public Entry get(String key) {
+        Entry entry = cache.get(key, false);
+        if (entry != null && entry.isExpired()) {
+            cache.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * 写入本地缓存
+     *
+     * @param key       key
+     * @param value     值
+     * @param ttlMillis Redis剩余存活时间(毫秒)，-1 代表永不过期，-2 代表无此键
+     */
+    public void put(String key, Object value, long ttlMillis) {
+        if (value == null || ttlMillis == -2 || !isCacheable(key)) {
+            cache.remove(key);
+            return;
+        }
+        if (ttlMillis < 0) {
+            cache.put(key, new Entry(value, NEVER_EXPIRE_AT), maxTtlMillis);
+        } else {
+            cache.put(key, new Entry(value, System.currentTimeMillis() + ttlMillis), Math.min(maxTtlMillis, ttlMillis));
+        }
+    }
+
+    /**
+     * 当前失效序号，从Redis读取前获取，写入时传给 {@link #putIfUnchanged}
+     */
+    public long sequence() {
+        return invalidations.get();
+    }
+
+    /**
+     * 写入从Redis读取的值，读取后发生过失效时撤销写入
+     *
+     * @param sequence 读取前的失效序号
+     */
+    public void putIfUnchanged(String key, Object value, long ttlMillis, long sequence) {
+        put(key, value, ttlMillis);
+        if (invalidations.get() != sequence) {
+            cache.remove(key);
+        }
+    }
+
+    /**
+     * 移除本地缓存
+     */
+    public void invalidate(String key) {
+        invalidations.incrementAndGet();
+        cache.remove(key);
+    }
+
+    /**
+     * 清空本地缓存
+     */
+    public void clear() {
+        invalidations.incrementAndGet();
+        cache.clear();
+    }
+
+    /**
+     * 构建失效通知消息
+     */
+    public String message(String key) {
+        return nodeId + MESSAGE_SEPARATOR + key;
+    }
+
+    /**
+     * 将失效通知加入批处理，随写入命令在同一次往返中发送
+     */
+    public void publishAsync(RBatch batch, String key) {
+        if (!isCacheable(key)) {
+            return;
+        }
+        batch.getTopic(GlobalConstants.SATOKEN_NEAR_CACHE_TOPIC, StringCodec.INSTANCE).publishAsync(message(key));
+    }
+
+    /**
+     * 订阅失效通知，(重新)订阅成功时清空本地缓存，避免断线期间遗漏通知
+     */
+    public void subscribe(RedissonClient client) {
+        RTopic topic = client.getTopic(GlobalConstants.SATOKEN_NEAR_CACHE_TOPIC, StringCodec.INSTANCE);
+        topic.addListener(String.class, (channel, message) -> onMessage(message));
+        topic.addListener(new BaseStatusListener() {
+            @Override
+            public void onSubscribe(String channel) {
+                clear();
+            }
+        });
+    }
+
+    private void onMessage(String message) {
+        int index = message.indexOf(MESSAGE_SEPARATOR);
+        if (index < 0) {
+            return;
+        }
+        // 忽略自身发出的通知
+        if (message.regionMatches(0, nodeId, 0, index) && index == nodeId.length()) {
+            return;
+        }
+        invalidate(message.substring(index + 1));
+    }
+
+    /**
+     * 缓存条目
+     *
+     * @param value    值
+     * @param expireAt Redis中的过期时间戳(毫秒)，-1 代表永不过期
+     */
+    public record Entry(Object value, long expireAt) {
+
+        boolean isExpired() {
+            return expireAt != NEVER_EXPIRE_AT && System.currentTimeMillis() >= expireAt;
+        }
+
+        /**
+         * 剩余存活时间 (单位: 秒)
+         */
+        long timeout() {
+            if (expireAt == NEVER_EXPIRE_AT) {
+                return NEVER_EXPIRE_AT;
+            }
+            return (expireAt - System.currentTimeMillis()) / 1000;
+        }
+    }
+
+}
@@ -0,0 +1,158 @@
+package org.example.config.satoken;
+
+import cn.dev33.satoken.dao.SaTokenDao;
+import cn.dev33.satoken.util.SaFoxUtil;
+import org.example.constant.GlobalConstants;
+import org.redisson.api.RBatch;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RScoredSortedSetAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sa-Token 会话检索索引
+ * <p>
+ * 为 token、session、token-session 三类key按前缀维护一个有序集合，成员为key去掉前缀后的部分，分值为过期时间戳(毫秒)。
+ * 检索时先清理已过期成员，再按分值(即过期时间)分页读取，无需对全库key做模式扫描。
+ * 带关键字的检索按批次流式遍历索引，只保留命中的当前页数据。
+ *
+ * @author example
+ */
+public class SaTokenSearchIndex {
+
+    /**
+     * 参与索引的key类型，key格式为 {tokenName}:{loginType}:{类型}:{值}
+     */
+    private static final Set<String> INDEXED_KINDS = Set.of("token", "session", "token-session");
+
+    /**
+     * 永不过期的成员分值
+     */
+    private static final double NEVER_EXPIRE_SCORE = Long.MAX_VALUE;
+
+    /**
+     * 带关键字检索时每批读取的成员数
+     */
+    private static final int SCAN_BATCH_SIZE = 500;
+
+    /**
+     * 获取key所属的索引前缀，不参与索引时返回null
+     */
+    public String prefixOf(String key) {
+        int first = key.indexOf(':');
+        int second = first < 0 ? -1 : key.indexOf(':', first + 1);
+        int third = second < 0 ? -1 : key.indexOf(':', second + 1);
+        if (third < 0 || !INDEXED_KINDS.contains(key.substring(second + 1, third))) {
+            return null;
+        }
+        return key.substring(0, third + 1);
+    }
+
+    /**
+     * 写入key时加入索引，并顺带清理已过期成员
+     */
+    public void addAsync(RBatch batch, String key, long timeout) {
+        String prefix = prefixOf(key);
+        if (prefix == null) {
+            return;
+        }
+        RScoredSortedSetAsync<String> index = getIndex(batch, prefix);
+        index.removeRangeByScoreAsync(0, true, System.currentTimeMillis(), true);
+        index.addAsync(score(timeout), key.substring(prefix.length()));
+    }
+
+    /**
+     * 修改key存活时间时同步索引分值，key不在索引中时不做处理
+     */
+    public void expireAsync(RBatch batch, String key, long timeout) {
+        String prefix = prefixOf(key);
+        if (prefix == null) {
+            return;
+        }
+        getIndex(batch, prefix).addIfExistsAsync(score(timeout), key.substring(prefix.length()));
+    }
+
+    /**
+     * 删除key时移出索引
+     */
+    public void removeAsync(RBatch batch, String key) {
+        String prefix = prefixOf(key);
+        if (prefix == null) {
+            return;
+        }
+        getIndex(batch, prefix).removeAsync(key.substring(prefix.length()));
+    }
+
+    /**
+     * 检索数据
+     *
+     * @param prefix   前缀
+     * @param keyword  关键字
+     * @param start    开始处索引
+     * @param size     获取数量 (-1代表从 start 处一直取到末尾)
+     * @param sortType 排序类型（true=正序：先过期的在前，false=反序：后过期的在前）
+     * @return 查询到的数据集合
+     */
+    public List<String> search(RedissonClient client, String prefix, String keyword, int start, int size, boolean sortType) {
+        RScoredSortedSet<String> index = client.getScoredSortedSet(indexName(prefix), StringCodec.INSTANCE);
+        index.removeRangeByScore(0, true, System.currentTimeMillis(), true);
+        start = Math.max(start, 0);
+        if (size == 0) {
+            return new ArrayList<>();
+        }
+        if (SaFoxUtil.isEmpty(keyword)) {
+            int end = size < 0 ? -1 : start + size - 1;
+            return withPrefix(prefix, sortType ? index.valueRange(start, end) : index.valueRangeReversed(start, end));
+        }
+        List<String> list = new ArrayList<>();
+        int skipped = 0;
+        for (int offset = 0; size < 0 || list.size() < size; offset += SCAN_BATCH_SIZE) {
+            int end = offset + SCAN_BATCH_SIZE - 1;
+            Collection<String> chunk = sortType ? index.valueRange(offset, end) : index.valueRangeReversed(offset, end);
+            for (String member : chunk) {
+                if (!member.contains(keyword)) {
+                    continue;
+                }
+                if (skipped < start) {
+                    skipped++;
+                    continue;
+                }
+                list.add(prefix + member);
+                if (size >= 0 && list.size() >= size) {
+                    break;
+                }
+            }
+            if (chunk.size() < SCAN_BATCH_SIZE) {
+                break;
+            }
+        }
+        return list;
+    }
+
+    private RScoredSortedSetAsync<String> getIndex(RBatch batch, String prefix) {
+        return batch.getScoredSortedSet(indexName(prefix), StringCodec.INSTANCE);
+    }
+
+    private String indexName(String prefix) {
+        return GlobalConstants.SATOKEN_SEARCH_INDEX_KEY + prefix;
+    }
+
+    private double score(long timeout) {
+        return timeout == SaTokenDao.NEVER_EXPIRE
+            ? NEVER_EXPIRE_SCORE : System.currentTimeMillis() + timeout * 1000;
+    }
+
+    private List<String> withPrefix(String prefix, Collection<String> members) {
+        List<String> list = new ArrayList<>(members.size());
+        for (String member : members) {
+            list.add(prefix + member);
+        }
+        return list;
+    }
+
+}
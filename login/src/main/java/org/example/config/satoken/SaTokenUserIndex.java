@@ -0,0 +1,182 @@
+package org.example.config.satoken;
+
+import cn.dev33.satoken.dao.SaTokenDao;
+import org.example.constant.GlobalConstants;
+import org.redisson.api.RBatch;
+import org.redisson.api.RScoredSortedSetAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sa-Token 账号token索引
+ * <p>
+ * 每个账号(loginType + loginId，与账号session key的范围一致)维护一个有序集合，成员为该账号的token值，分值为token过期时间戳(毫秒)。
+ * 写入token时加入，删除token时移出，账号session删除(即全部token均已注销)时整体删除。
+ * 注销、踢人下线时直接读取索引，耗时只与该账号的token数量相关，无需扫描key。
+ *
+ * @author example
+ */
+public class SaTokenUserIndex {
+
+    /**
+     * token key类型，key格式为 {tokenName}:{loginType}:token:{tokenValue}，值为loginId
+     */
+    private static final String TOKEN_KIND = "token";
+
+    /**
+     * 账号session key类型，key格式为 {tokenName}:{loginType}:session:{loginId}
+     */
+    private static final String SESSION_KIND = "session";
+
+    private static final double NEVER_EXPIRE_SCORE = Long.MAX_VALUE;
+
+    /**
+     * 批量读取时每批处理的账号数
+     */
+    private static final int READ_BATCH_SIZE = 500;
+
+    /**
+     * 是否为token key，只有token key的写入、续期、删除需要维护索引
+     */
+    public boolean isTokenKey(String key) {
+        return TOKEN_KIND.equals(kindOf(key));
+    }
+
+    /**
+     * 写入token时加入账号索引，并顺带清理已过期的token
+     *
+     * @param loginId token对应的账号
+     */
+    public void addAsync(RBatch batch, String key, Object loginId, long timeout) {
+        if (loginId == null || !isTokenKey(key)) {
+            return;
+        }
+        RScoredSortedSetAsync<String> index = getIndex(batch, loginTypeOf(key), loginId.toString());
+        index.removeRangeByScoreAsync(0, true, System.currentTimeMillis(), true);
+        index.addAsync(score(timeout), valueOf(key));
+        if (timeout == SaTokenDao.NEVER_EXPIRE) {
+            index.clearExpireAsync();
+        } else {
+            index.expireAsync(Duration.ofSeconds(timeout));
+        }
+    }
+
+    /**
+     * token续期时同步索引分值
+     */
+    public void expireAsync(RBatch batch, String key, Object loginId, long timeout) {
+        if (loginId == null || !isTokenKey(key)) {
+            return;
+        }
+        RScoredSortedSetAsync<String> index = getIndex(batch, loginTypeOf(key), loginId.toString());
+        index.addIfExistsAsync(score(timeout), valueOf(key));
+        if (timeout == SaTokenDao.NEVER_EXPIRE) {
+            index.clearExpireAsync();
+        } else {
+            index.expireAsync(Duration.ofSeconds(timeout));
+        }
+    }
+
+    /**
+     * 删除token时移出索引；删除账号session时整体删除该账号的索引
+     *
+     * @param loginId token key对应的账号，删除账号session时可为空
+     */
+    public void removeAsync(RBatch batch, String key, Object loginId) {
+        String kind = kindOf(key);
+        if (TOKEN_KIND.equals(kind) && loginId != null) {
+            getIndex(batch, loginTypeOf(key), loginId.toString()).removeAsync(valueOf(key));
+        } else if (SESSION_KIND.equals(kind)) {
+            getIndex(batch, loginTypeOf(key), valueOf(key)).deleteAsync();
+        }
+    }
+
+    /**
+     * 批量读取账号的有效token，每批账号合并为一次往返，已过期的token在读取前清理
+     *
+     * @param loginType 账号体系标识
+     * @param loginIds  账号集合
+     * @return 账号 -> token列表，没有token的账号不在结果中
+     */
+    public Map<String, List<String>> getTokenValues(RedissonClient client, String loginType, Collection<String> loginIds) {
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        List<String> chunk = new ArrayList<>(Math.min(loginIds.size(), READ_BATCH_SIZE));
+        for (String loginId : loginIds) {
+            chunk.add(loginId);
+            if (chunk.size() == READ_BATCH_SIZE) {
+                readChunk(client, loginType, chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            readChunk(client, loginType, chunk, result);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readChunk(RedissonClient client, String loginType, List<String> loginIds, Map<String, List<String>> result) {
+        long now = System.currentTimeMillis();
+        RBatch batch = client.createBatch();
+        for (String loginId : loginIds) {
+            RScoredSortedSetAsync<String> index = getIndex(batch, loginType, loginId);
+            index.removeRangeByScoreAsync(0, true, now, true);
+            index.valueRangeAsync(0, -1);
+        }
+        RoundTripCounter.increment();
+        List<?> responses = batch.execute().getResponses();
+        for (int i = 0; i < loginIds.size(); i++) {
+            Collection<String> tokens = (Collection<String>) responses.get(i * 2 + 1);
+            if (!tokens.isEmpty()) {
+                result.put(loginIds.get(i), new ArrayList<>(tokens));
+            }
+        }
+    }
+
+    /**
+     * 索引key格式为 {loginType}:{loginId}，不同账号体系下相同的loginId互不影响
+     */
+    private RScoredSortedSetAsync<String> getIndex(RBatch batch, String loginType, String loginId) {
+        return batch.getScoredSortedSet(GlobalConstants.SATOKEN_USER_INDEX_KEY + loginType + ":" + loginId, StringCodec.INSTANCE);
+    }
+
+    /**
+     * 账号体系标识，即第一个与第二个冒号之间的部分
+     */
+    private static String loginTypeOf(String key) {
+        int first = key.indexOf(':');
+        return key.substring(first + 1, key.indexOf(':', first + 1));
+    }
+
+    /**
+     * key类型，即第二个与第三个冒号之间的部分
+     */
+    private static String kindOf(String key) {
+        int first = key.indexOf(':');
+        int second = first < 0 ? -1 : key.indexOf(':', first + 1);
+        int third = second < 0 ? -1 : key.indexOf(':', second + 1);
+        return third < 0 ? null : key.substring(second + 1, third);
+    }
+
+    /**
+     * key的值部分，即第三个冒号之后的部分(loginId本身可能包含冒号)
+     */
+    private static String valueOf(String key) {
+        int first = key.indexOf(':');
+        int second = key.indexOf(':', first + 1);
+        return key.substring(key.indexOf(':', second + 1) + 1);
+    }
+
+    private static double score(long timeout) {
+        return timeout == SaTokenDao.NEVER_EXPIRE
+            ? NEVER_EXPIRE_SCORE : System.currentTimeMillis() + timeout * 1000;
+    }
+
+}
@@ -3,9 +3,13 @@ package org.example.config.satoken;
 import cn.dev33.satoken.dao.SaTokenDao;
 import cn.dev33.satoken.util.SaFoxUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.example.config.properties.SaTokenDaoProperties;
 import org.example.constant.GlobalConstants;
 import org.example.utils.SpringUtils;
-import org.redisson.api.RBucket;
+import org.redisson.api.BatchResult;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucketAsync;
+import org.redisson.api.RScript;
 import org.redisson.api.RedissonClient;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
@@ -13,12 +17,18 @@ import org.springframework.stereotype.Component;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Sa-Token持久层接口 多租户实现
  * 参照RuoYi-Vue-Plus原版实现，使用固定的global:前缀避免循环调用
  * 使用懒加载方式获取RedissonClient，避免Spring容器初始化时的循环依赖
+ * 读取路径前置本地近端缓存 {@link SaTokenNearCache}，写入/删除时通过Redis topic通知其他节点失效
+ * token/session 类key额外维护 {@link SaTokenSearchIndex} 有序集合索引，会话检索无需全库模式扫描
+ * token key额外维护 {@link SaTokenUserIndex} 账号索引，注销、踢人下线只处理该账号自己的token
+ * 每个操作的Redis命令合并为一次批处理往返，往返次数由 {@link RoundTripCounter} 统计
  *
  * @author ruoyi
  */
@@ -26,38 +36,112 @@ import java.util.List;
 @Component
 @ConditionalOnProperty(value = "tenant.enable", havingValue = "true")
 public class TenantSaTokenDao implements SaTokenDao {
-    
+
+    /**
+     * 保持过期时间不变的更新脚本，返回更新前的剩余存活时间(毫秒)，-2 代表无此键
+     */
+    private static final String UPDATE_KEEP_TTL_SCRIPT =
+        "local ttl = redis.call('pttl', KEYS[1]) " +
+        "if ttl == -2 then return -2 end " +
+        "if ttl == -1 then redis.call('set', KEYS[1], ARGV[1]) " +
+        "else redis.call('set', KEYS[1], ARGV[1], 'px', ttl) end " +
+        "return ttl";
+
+    /**
+     * 无索引前缀SCAN时每批返回的key数量
+     */
+    private static final int SEARCH_SCAN_COUNT = 1000;
+
+    /**
+     * 批量删除时每批处理的key数量
+     */
+    private static final int DELETE_BATCH_SIZE = 500;
+
+    /**
+     * 本地近端缓存，未启用时为null
+     */
+    private final SaTokenNearCache nearCache;
+
+    /**
+     * 会话检索索引，未启用时为null
+     */
+    private final SaTokenSearchIndex searchIndex;
+
+    /**
+     * 账号token索引，未启用时为null
+     */
+    private final SaTokenUserIndex userIndex;
+
+    private volatile RedissonClient redissonClient;
+
+    public TenantSaTokenDao(SaTokenDaoProperties properties) {
+        if (Boolean.TRUE.equals(properties.getNearCacheEnabled())) {
+            this.nearCache = new SaTokenNearCache(properties.getNearCacheMaxSize(), properties.getNearCacheTtl() * 1000L);
+        } else {
+            this.nearCache = null;
+        }
+        this.searchIndex = Boolean.TRUE.equals(properties.getSearchIndexEnabled()) ? new SaTokenSearchIndex() : null;
+        this.userIndex = Boolean.TRUE.equals(properties.getUserIndexEnabled()) ? new SaTokenUserIndex() : null;
+    }
+
     /**
      * 懒加载获取RedissonClient，避免循环依赖
+     * 获取成功后缓存实例，并订阅近端缓存失效通知
      */
     private RedissonClient getRedissonClient() {
+        RedissonClient client = redissonClient;
+        if (client != null) {
+            return client;
+        }
         try {
-            return SpringUtils.getBean(RedissonClient.class);
+            client = SpringUtils.getBean(RedissonClient.class);
         } catch (Exception e) {
             log.warn("获取RedissonClient失败，Sa-Token将使用内存存储: {}", e.getMessage());
             return null;
         }
+        synchronized (this) {
+            if (redissonClient == null) {
+                if (nearCache != null) {
+                    nearCache.subscribe(client);
+                }
+                redissonClient = client;
+            }
+        }
+        return client;
     }
 
     /**
-     * 获取Value，如无返空
+     * 读取缓存条目，本地未命中时在一次往返中同时读取值与剩余存活时间
      */
-    @Override
-    public String get(String key) {
-        RedissonClient client = getRedissonClient();
-        if (client == null) {
+    private SaTokenNearCache.Entry loadEntry(RedissonClient client, String key) {
+        if (nearCache != null) {
+            SaTokenNearCache.Entry entry = nearCache.get(key);
+            if (entry != null) {
+                return entry;
+            }
+        }
+        // 读取前记录失效序号，读取期间该key被删除、收到失效通知时不写入近端缓存
+        long sequence = nearCache != null ? nearCache.sequence() : 0L;
+        RBatch batch = client.createBatch();
+        RBucketAsync<Object> bucket = batch.getBucket(GlobalConstants.GLOBAL_REDIS_KEY + key);
+        bucket.getAsync();
+        bucket.remainTimeToLiveAsync();
+        List<?> responses = execute(batch);
+        Object value = responses.get(0);
+        long timeToLive = (Long) responses.get(1);
+        if (value == null || timeToLive == NOT_VALUE_EXPIRE) {
             return null;
         }
-        RBucket<Object> bucket = client.getBucket(GlobalConstants.GLOBAL_REDIS_KEY + key);
-        Object value = bucket.get();
-        return value != null ? value.toString() : null;
+        if (nearCache != null) {
+            nearCache.putIfUnchanged(key, value, timeToLive, sequence);
+        }
+        return new SaTokenNearCache.Entry(value, timeToLive < 0 ? NEVER_EXPIRE : System.currentTimeMillis() + timeToLive);
     }
 
     /**
-     * 写入Value，并设定存活时间 (单位: 秒)
+     * 写入值并设定存活时间，与失效通知在同一次往返中完成
      */
-    @Override
-    public void set(String key, String value, long timeout) {
+    private void writeValue(String key, Object value, long timeout) {
         if (timeout == 0 || timeout <= SaTokenDao.NOT_VALUE_EXPIRE) {
             return;
         }
@@ -65,39 +149,258 @@ public class TenantSaTokenDao implements SaTokenDao {
         if (client == null) {
             return;
         }
-        RBucket<String> bucket = client.getBucket(GlobalConstants.GLOBAL_REDIS_KEY + key);
+        RBatch batch = client.createBatch();
+        RBucketAsync<Object> bucket = batch.getBucket(GlobalConstants.GLOBAL_REDIS_KEY + key);
         // 判断是否为永不过期
         if (timeout == SaTokenDao.NEVER_EXPIRE) {
-            bucket.set(value);
+            bucket.setAsync(value);
         } else {
-            bucket.set(value, Duration.ofSeconds(timeout));
+            bucket.setAsync(value, Duration.ofSeconds(timeout));
+        }
+        if (searchIndex != null) {
+            searchIndex.addAsync(batch, key, timeout);
+        }
+        if (userIndex != null) {
+            userIndex.addAsync(batch, key, value, timeout);
+        }
+        publishAsync(batch, key);
+        execute(batch);
+        if (nearCache != null) {
+            nearCache.put(key, value, timeout == NEVER_EXPIRE ? NEVER_EXPIRE : timeout * 1000);
         }
     }
 
     /**
-     * 修修改指定key-value键值对 (过期时间不变)
+     * 修改值并保持原有存活时间，使用Lua脚本在一次往返中完成读取TTL与写入
      */
-    @Override
-    public void update(String key, String value) {
-        long expire = getTimeout(key);
-        // -2 = 无此键
-        if (expire == NOT_VALUE_EXPIRE) {
+    private void updateValue(String key, Object value) {
+        RedissonClient client = getRedissonClient();
+        if (client == null) {
+            return;
+        }
+        RBatch batch = client.createBatch();
+        batch.getScript().evalAsync(RScript.Mode.READ_WRITE, UPDATE_KEEP_TTL_SCRIPT, RScript.ReturnType.INTEGER,
+            Collections.singletonList(GlobalConstants.GLOBAL_REDIS_KEY + key), value);
+        publishAsync(batch, key);
+        long timeToLive = (Long) execute(batch).get(0);
+        if (nearCache != null) {
+            nearCache.put(key, value, timeToLive);
+        }
+    }
+
+    /**
+     * 修改存活时间 (单位: 秒)，设置为永久时直接移除过期时间，无需读取后重写
+     */
+    private void expireValue(String key, long timeout) {
+        RedissonClient client = getRedissonClient();
+        if (client == null) {
             return;
         }
-        this.set(key, value, expire);
+        boolean tokenKey = userIndex != null && userIndex.isTokenKey(key);
+        Object loginId = cachedLoginId(key);
+        RBatch batch = client.createBatch();
+        RBucketAsync<Object> bucket = batch.getBucket(GlobalConstants.GLOBAL_REDIS_KEY + key);
+        if (timeout == NEVER_EXPIRE) {
+            bucket.clearExpireAsync();
+        } else {
+            bucket.expireAsync(Duration.ofSeconds(timeout));
+        }
+        // 本地不知道token对应的账号时在同一批次中读取
+        bucket.getAsync();
+        if (searchIndex != null) {
+            searchIndex.expireAsync(batch, key, timeout);
+        }
+        if (tokenKey && loginId != null) {
+            userIndex.expireAsync(batch, key, loginId, timeout);
+        }
+        publishAsync(batch, key);
+        List<?> responses = execute(batch);
+        boolean exists = (Boolean) responses.get(0);
+        if (tokenKey && loginId == null && exists && responses.get(1) != null) {
+            RBatch indexBatch = client.createBatch();
+            userIndex.expireAsync(indexBatch, key, responses.get(1), timeout);
+            executeAsync(indexBatch);
+        }
+        if (nearCache != null) {
+            SaTokenNearCache.Entry entry = nearCache.get(key);
+            if (entry != null && exists) {
+                nearCache.put(key, entry.value(), timeout == NEVER_EXPIRE ? NEVER_EXPIRE : timeout * 1000);
+            } else {
+                nearCache.invalidate(key);
+            }
+        }
     }
 
     /**
-     * 删除Value
+     * 删除值，与失效通知在同一次往返中完成
      */
-    @Override
-    public void delete(String key) {
+    private void deleteValue(String key) {
         RedissonClient client = getRedissonClient();
         if (client == null) {
             return;
         }
-        RBucket<Object> bucket = client.getBucket(GlobalConstants.GLOBAL_REDIS_KEY + key);
-        bucket.delete();
+        boolean tokenKey = userIndex != null && userIndex.isTokenKey(key);
+        Object loginId = cachedLoginId(key);
+        RBatch batch = client.createBatch();
+        RBucketAsync<Object> bucket = batch.getBucket(GlobalConstants.GLOBAL_REDIS_KEY + key);
+        if (tokenKey && loginId == null) {
+            // 本地不知道token对应的账号时删除的同时取回原值
+            bucket.getAndDeleteAsync();
+        } else {
+            bucket.deleteAsync();
+        }
+        if (searchIndex != null) {
+            searchIndex.removeAsync(batch, key);
+        }
+        if (userIndex != null && (!tokenKey || loginId != null)) {
+            userIndex.removeAsync(batch, key, loginId);
+        }
+        publishAsync(batch, key);
+        List<?> responses = execute(batch);
+        if (tokenKey && loginId == null && responses.get(0) != null) {
+            RBatch indexBatch = client.createBatch();
+            userIndex.removeAsync(indexBatch, key, responses.get(0));
+            executeAsync(indexBatch);
+        }
+        if (nearCache != null) {
+            nearCache.invalidate(key);
+        }
+    }
+
+    /**
+     * token key续期、删除前从近端缓存获取其对应的账号，不访问Redis也不写入近端缓存，未命中或其他key返回null
+     * <p>
+     * 未命中时由调用方在续期、删除的同一批次中读取原值，再以不等待结果的批次更新账号索引，
+     * token值与账号的对应关系不会改变，索引更新晚于删除不影响正确性
+     */
+    private Object cachedLoginId(String key) {
+        if (userIndex == null || nearCache == null || !userIndex.isTokenKey(key)) {
+            return null;
+        }
+        SaTokenNearCache.Entry entry = nearCache.get(key);
+        return entry != null ? entry.value() : null;
+    }
+
+    /**
+     * 批量获取账号的全部有效token
+     *
+     * @param loginType 账号体系标识
+     * @param loginIds  账号集合
+     * @return 账号 -> token列表，未启用账号索引时返回null
+     */
+    public Map<String, List<String>> getTokenValues(String loginType, Collection<String> loginIds) {
+        RedissonClient client = getRedissonClient();
+        if (userIndex == null || client == null) {
+            return null;
+        }
+        return userIndex.getTokenValues(client, loginType, loginIds);
+    }
+
+    /**
+     * 批量删除key，每批合并为一次往返，同时维护检索索引、账号索引并广播近端缓存失效
+     *
+     * @param keys key -> token key对应的账号，其他key为null
+     */
+    public void deleteBatch(Map<String, Object> keys) {
+        RedissonClient client = getRedissonClient();
+        if (client == null || keys.isEmpty()) {
+            return;
+        }
+        List<String> chunk = new ArrayList<>(Math.min(keys.size(), DELETE_BATCH_SIZE));
+        for (String key : keys.keySet()) {
+            chunk.add(key);
+            if (chunk.size() == DELETE_BATCH_SIZE) {
+                deleteChunk(client, chunk, keys);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            deleteChunk(client, chunk, keys);
+        }
+    }
+
+    private void deleteChunk(RedissonClient client, List<String> chunk, Map<String, Object> keys) {
+        RBatch batch = client.createBatch();
+        for (String key : chunk) {
+            batch.getBucket(GlobalConstants.GLOBAL_REDIS_KEY + key).deleteAsync();
+            if (searchIndex != null) {
+                searchIndex.removeAsync(batch, key);
+            }
+            if (userIndex != null) {
+                userIndex.removeAsync(batch, key, keys.get(key));
+            }
+            publishAsync(batch, key);
+        }
+        execute(batch);
+        if (nearCache != null) {
+            chunk.forEach(nearCache::invalidate);
+        }
+    }
+
+    /**
+     * 将失效通知加入批处理
+     */
+    private void publishAsync(RBatch batch, String key) {
+        if (nearCache != null) {
+            nearCache.publishAsync(batch, key);
+        }
+    }
+
+    /**
+     * 异步执行批处理，不等待结果，记录一次Redis往返
+     */
+    private void executeAsync(RBatch batch) {
+        RoundTripCounter.increment();
+        batch.executeAsync().exceptionally(e -> {
+            log.warn("Sa-Token账号索引更新失败: {}", e.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * 执行批处理并记录一次Redis往返
+     */
+    private List<?> execute(RBatch batch) {
+        RoundTripCounter.increment();
+        BatchResult<?> result = batch.execute();
+        return result.getResponses();
+    }
+
+    /**
+     * 获取Value，如无返空
+     */
+    @Override
+    public String get(String key) {
+        RedissonClient client = getRedissonClient();
+        if (client == null) {
+            return null;
+        }
+        SaTokenNearCache.Entry entry = loadEntry(client, key);
+        return entry != null ? entry.value().toString() : null;
+    }
+
+    /**
+     * 写入Value，并设定存活时间 (单位: 秒)
+     */
+    @Override
+    public void set(String key, String value, long timeout) {
+        writeValue(key, value, timeout);
+    }
+
+    /**
+     * 修修改指定key-value键值对 (过期时间不变)
+     */
+    @Override
+    public void update(String key, String value) {
+        updateValue(key, value);
+    }
+
+    /**
+     * 删除Value
+     */
+    @Override
+    public void delete(String key) {
+        deleteValue(key);
     }
 
     /**
@@ -109,9 +412,8 @@ public class TenantSaTokenDao implements SaTokenDao {
         if (client == null) {
             return NOT_VALUE_EXPIRE;
         }
-        RBucket<Object> bucket = client.getBucket(GlobalConstants.GLOBAL_REDIS_KEY + key);
-        long timeToLive = bucket.remainTimeToLive();
-        return timeToLive < 0 ? timeToLive : timeToLive / 1000;
+        SaTokenNearCache.Entry entry = loadEntry(client, key);
+        return entry != null ? entry.timeout() : NOT_VALUE_EXPIRE;
     }
 
     /**
@@ -119,23 +421,7 @@ public class TenantSaTokenDao implements SaTokenDao {
      */
     @Override
     public void updateTimeout(String key, long timeout) {
-        RedissonClient client = getRedissonClient();
-        if (client == null) {
-            return;
-        }
-        // 判断是否想要设置为永久
-        if (timeout == NEVER_EXPIRE) {
-            long expire = getTimeout(key);
-            if (expire == NEVER_EXPIRE) {
-                // 如果其已经被设置为永久，则不作任何处理
-            } else {
-                // 如果尚未被设置为永久，那么再次set一次
-                this.set(key, this.get(key), timeout);
-            }
-            return;
-        }
-        RBucket<Object> bucket = client.getBucket(GlobalConstants.GLOBAL_REDIS_KEY + key);
-        bucket.expire(Duration.ofSeconds(timeout));
+        expireValue(key, timeout);
     }
 
     /**
@@ -147,8 +433,8 @@ public class TenantSaTokenDao implements SaTokenDao {
         if (client == null) {
             return null;
         }
-        RBucket<Object> bucket = client.getBucket(GlobalConstants.GLOBAL_REDIS_KEY + key);
-        return bucket.get();
+        SaTokenNearCache.Entry entry = loadEntry(client, key);
+        return entry != null ? entry.value() : null;
     }
 
     /**
@@ -156,20 +442,7 @@ public class TenantSaTokenDao implements SaTokenDao {
      */
     @Override
     public void setObject(String key, Object object, long timeout) {
-        if (timeout == 0 || timeout <= SaTokenDao.NOT_VALUE_EXPIRE) {
-            return;
-        }
-        RedissonClient client = getRedissonClient();
-        if (client == null) {
-            return;
-        }
-        RBucket<Object> bucket = client.getBucket(GlobalConstants.GLOBAL_REDIS_KEY + key);
-        // 判断是否为永不过期
-        if (timeout == SaTokenDao.NEVER_EXPIRE) {
-            bucket.set(object);
-        } else {
-            bucket.set(object, Duration.ofSeconds(timeout));
-        }
+        writeValue(key, object, timeout);
     }
 
     /**
@@ -177,12 +450,7 @@ public class TenantSaTokenDao implements SaTokenDao {
      */
     @Override
     public void updateObject(String key, Object object) {
-        long expire = getObjectTimeout(key);
-        // -2 = 无此键
-        if (expire == NOT_VALUE_EXPIRE) {
-            return;
-        }
-        this.setObject(key, object, expire);
+        updateValue(key, object);
     }
 
     /**
@@ -190,12 +458,7 @@ public class TenantSaTokenDao implements SaTokenDao {
      */
     @Override
     public void deleteObject(String key) {
-        RedissonClient client = getRedissonClient();
-        if (client == null) {
-            return;
-        }
-        RBucket<Object> bucket = client.getBucket(GlobalConstants.GLOBAL_REDIS_KEY + key);
-        bucket.delete();
+        deleteValue(key);
     }
 
     /**
@@ -203,13 +466,7 @@ public class TenantSaTokenDao implements SaTokenDao {
      */
     @Override
     public long getObjectTimeout(String key) {
-        RedissonClient client = getRedissonClient();
-        if (client == null) {
-            return NOT_VALUE_EXPIRE;
-        }
-        RBucket<Object> bucket = client.getBucket(GlobalConstants.GLOBAL_REDIS_KEY + key);
-        long timeToLive = bucket.remainTimeToLive();
-        return timeToLive < 0 ? timeToLive : timeToLive / 1000;
+        return getTimeout(key);
     }
 
     /**
@@ -217,27 +474,12 @@ public class TenantSaTokenDao implements SaTokenDao {
      */
     @Override
     public void updateObjectTimeout(String key, long timeout) {
-        RedissonClient client = getRedissonClient();
-        if (client == null) {
-            return;
-        }
-        // 判断是否想要设置为永久
-        if (timeout == NEVER_EXPIRE) {
-            long expire = getObjectTimeout(key);
-            if (expire == NEVER_EXPIRE) {
-                // 如果其已经被设置为永久，则不作任何处理
-            } else {
-                // 如果尚未被设置为永久，那么再次set一次
-                this.setObject(key, this.getObject(key), timeout);
-            }
-            return;
-        }
-        RBucket<Object> bucket = client.getBucket(GlobalConstants.GLOBAL_REDIS_KEY + key);
-        bucket.expire(Duration.ofSeconds(timeout));
+        expireValue(key, timeout);
     }
 
     /**
      * 搜索数据
+     * token、session、token-session 走有序集合索引分页，其余前缀按SCAN游标流式遍历
      */
     @Override
     public List<String> searchData(String prefix, String keyword, int start, int size, boolean sortType) {
@@ -245,7 +487,10 @@ public class TenantSaTokenDao implements SaTokenDao {
         if (client == null) {
             return new ArrayList<>();
         }
-        Iterable<String> keys = client.getKeys().getKeysByPattern(GlobalConstants.GLOBAL_REDIS_KEY + prefix + "*" + keyword + "*");
+        if (searchIndex != null && prefix.equals(searchIndex.prefixOf(prefix))) {
+            return searchIndex.search(client, prefix, keyword, start, size, sortType);
+        }
+        Iterable<String> keys = client.getKeys().getKeysByPattern(GlobalConstants.GLOBAL_REDIS_KEY + prefix + "*" + keyword + "*", SEARCH_SCAN_COUNT);
         List<String> list = new ArrayList<>();
         for (String key : keys) {
             // 移除global:前缀
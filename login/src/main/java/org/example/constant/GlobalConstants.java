@@ -31,4 +31,54 @@ public interface GlobalConstants {
      * 三方认证 redis key
      */
     String SOCIAL_AUTH_CODE_KEY = GLOBAL_REDIS_KEY + "social_auth_codes:";
-}
\ No newline at end of file
+
+    /**
+     * Sa-Token 近端缓存失效通知 topic
+     */
+    String SATOKEN_NEAR_CACHE_TOPIC = GLOBAL_REDIS_KEY + "satoken:near_cache";
+
+    /**
+     * Sa-Token 会话检索索引 redis key
+     */
+    String SATOKEN_SEARCH_INDEX_KEY = GLOBAL_REDIS_KEY + "satoken:index:";
+
+    /**
+     * Sa-Token 账号token索引 redis key
+     */
+    String SATOKEN_USER_INDEX_KEY = GLOBAL_REDIS_KEY + "satoken:user:";
+
+    /**
+     * 用户权限快照 redis key
+     */
+    String PERMISSION_SNAPSHOT_KEY = GLOBAL_REDIS_KEY + "permission:snapshot:";
+
+    /**
+     * 租户权限版本号 redis key
+     */
+    String PERMISSION_VERSION_KEY = GLOBAL_REDIS_KEY + "permission:version:";
+
+    /**
+     * 用户权限版本号 redis key
+     */
+    String PERMISSION_USER_VERSION_KEY = GLOBAL_REDIS_KEY + "permission:user-version:";
+
+    /**
+     * 用户权限缓存失效通知 topic
+     */
+    String PERMISSION_CACHE_TOPIC = GLOBAL_REDIS_KEY + "permission:invalidate";
+
+    /**
+     * 字典本地缓存失效通知 topic
+     */
+    String DICT_CACHE_TOPIC = GLOBAL_REDIS_KEY + "dict:invalidate";
+
+    /**
+     * 在线用户批量注销任务 redis key
+     */
+    String ONLINE_CLEAN_JOB_KEY = GLOBAL_REDIS_KEY + "online_clean:job:";
+
+    /**
+     * 唯一键布隆过滤器 redis key
+     */
+    String UNIQUE_KEY_FILTER_KEY = GLOBAL_REDIS_KEY + "unique_filter:";
+}
@@ -71,6 +71,11 @@ public interface HttpStatus {
      */
     int UNSUPPORTED_TYPE = 415;
 
+    /**
+     * 请求过多，服务繁忙
+     */
+    int TOO_MANY_REQUESTS = 429;
+
     /**
      * 系统内部错误
      */
@@ -12,10 +12,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.config.properties.CaptchaProperties;
 import org.example.constant.Constants;
 import org.example.domain.em.CaptchaType;
+import org.example.domain.em.LimitMode;
 import org.example.domain.em.LimitType;
 import org.example.domain.entity.CaptchaVo;
 import org.example.domain.model.LoginBody;
 import org.example.domain.model.PasswordLoginBody;
+import org.example.domain.model.PermissionSnapshot;
 import org.example.domain.model.RegisterBody;
 import org.example.domain.vo.LoginTenantVo;
 import org.example.domain.vo.LoginVo;
@@ -23,18 +25,21 @@ import org.example.domain.vo.TenantListVo;
 import org.example.domain.vo.UserInfoVo;
 import org.example.domain.vo.SysUserVo;
 import org.example.domain.vo.SysMenuVo;
+import org.example.exception.TooManyRequestsException;
 import org.example.service.ISysUserService;
 import org.example.service.ISysMenuService;
 import org.example.utils.LoginHelper;
 import org.example.rateLimit.RateLimiter;
+import org.example.service.AuthLoadExecutor;
+import org.example.service.CaptchaService;
 import org.example.service.IAuthService;
 import org.example.service.ISysConfigService;
+import org.example.service.PermissionCacheService;
+import org.example.service.SysLoginService;
 import org.example.service.impl.PasswordAuthStrategy;
 import org.example.utils.R;
-import org.example.utils.RedisUtils;
 import org.example.utils.ReflectUtils;
 import org.example.utils.SpringUtils;
-import org.example.utils.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
@@ -44,8 +49,8 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 认证授权 控制器
@@ -63,6 +68,10 @@ public class AuthController {
     private final ISysConfigService configService;
     private final ISysUserService userService;
     private final ISysMenuService menuService;
+    private final CaptchaService captchaService;
+    private final SysLoginService loginService;
+    private final PermissionCacheService permissionCacheService;
+    private final AuthLoadExecutor authLoadExecutor;
     
     @Autowired
     private CaptchaProperties captchaProperties;
@@ -73,12 +82,16 @@ public class AuthController {
      * @param loginBody 登录信息
      * @return 结果
      */
+    @RateLimiter(time = 60, count = 10, limitType = LimitType.IP, mode = LimitMode.SLIDING_WINDOW)
     @PostMapping("/login")
     public R<LoginVo> login(@RequestBody PasswordLoginBody loginBody) {
         try {
             // 生成令牌
             LoginVo loginVo = passwordAuthStrategy.login(loginBody);
             return R.ok(loginVo);
+        } catch (TooManyRequestsException e) {
+            // 交由全局异常处理返回429
+            throw e;
         } catch (Exception e) {
             log.error("登录失败: {}", e.getMessage(), e);
             return R.fail(e.getMessage());
@@ -100,23 +113,23 @@ public class AuthController {
                 return R.fail("用户未登录");
             }
 
-            // 创建用户信息响应对象
-            UserInfoVo userInfoVo = new UserInfoVo();
+            // 用户信息、菜单并行查询，权限与角色取自登录时预热的权限缓存
+            long deadline = authLoadExecutor.deadline();
+            CompletableFuture<SysUserVo> userFuture = authLoadExecutor.submit(() -> userService.selectUserVoById(userId));
+            CompletableFuture<List<SysMenuVo>> menusFuture = authLoadExecutor.submit(() -> menuService.selectMenuList(userId));
+            PermissionSnapshot snapshot = permissionCacheService.getSnapshot(userId);
 
             // 获取用户基本信息
-            SysUserVo userVo = userService.selectUserVoById(userId);
+            SysUserVo userVo = authLoadExecutor.await(userFuture, deadline);
             if (userVo == null) {
+                menusFuture.cancel(false);
                 return R.fail("用户信息不存在");
             }
+            UserInfoVo userInfoVo = new UserInfoVo();
             userInfoVo.setUser(userVo);
-
-            // 获取用户菜单列表
-            List<SysMenuVo> menus = menuService.selectMenuList(userId);
-            userInfoVo.setMenus(menus);
-
-            // 设置角色和权限（暂时设置为空列表，后续实现）
-            userInfoVo.setRoles(new ArrayList<>());
-            userInfoVo.setPermissions(new ArrayList<>());
+            userInfoVo.setMenus(authLoadExecutor.await(menusFuture, deadline));
+            userInfoVo.setRoles(new ArrayList<>(snapshot.getRoles()));
+            userInfoVo.setPermissions(new ArrayList<>(snapshot.getPermissions()));
 
             log.info("获取用户信息成功，用户ID: {}", userId);
             return R.ok(userInfoVo);
@@ -133,16 +146,11 @@ public class AuthController {
     @PostMapping("/logout")
     public R<Void> logout() {
         try {
-            // 获取当前用户的loginId
-            Object loginId = StpUtil.getLoginId();
-            String tokenValue = StpUtil.getTokenValue();
-            
-            // Sa-Token默认退出
+            loginService.recordLoginInfo(LoginHelper.getTenantId(), LoginHelper.getUsername(), Constants.LOGOUT, "退出成功");
+
+            // Sa-Token退出，token相关数据由 TenantSaTokenDao 统一清理
             StpUtil.logout();
             
-            // 手动清理Redis中的相关数据
-            clearRedisTokenData(loginId, tokenValue);
-            
             return R.ok("退出成功");
         } catch (Exception e) {
             log.error("退出登录失败", e);
@@ -150,44 +158,6 @@ public class AuthController {
         }
     }
 
-    /**
-     * 清理Redis中的Sa-Token相关数据
-     */
-    private void clearRedisTokenData(Object loginId, String tokenValue) {
-        try {
-            // 清理token相关的key
-            if (StringUtils.isNotBlank(tokenValue)) {
-                String tokenKey = "Authorization:login:token:" + tokenValue;
-                RedisUtils.deleteObject(tokenKey);
-                log.info("清理token key: {}", tokenKey);
-            }
-            
-            // 清理用户相关的key（根据实际的key格式调整）
-            if (loginId != null) {
-                String userKey = "Authorization:login:last-activity:" + loginId;
-                RedisUtils.deleteObject(userKey);
-                log.info("清理用户活动key: {}", userKey);
-                
-                // 清理session相关的key
-                String sessionKey = "Authorization:session:" + loginId;
-                RedisUtils.deleteObject(sessionKey);
-                log.info("清理session key: {}", sessionKey);
-            }
-            
-            // 批量清理可能存在的其他相关key
-            Collection<String> allKeys = RedisUtils.keys("Authorization:*");
-            for (String key : allKeys) {
-                if ((loginId != null && key.contains(String.valueOf(loginId))) || 
-                    (StringUtils.isNotBlank(tokenValue) && key.contains(tokenValue))) {
-                    RedisUtils.deleteObject(key);
-                    log.info("清理相关key: {}", key);
-                }
-            }
-        } catch (Exception e) {
-            log.error("清理Redis数据失败", e);
-        }
-    }
-
     /**
      * 用户注册
      */
@@ -219,11 +189,12 @@ public class AuthController {
      */
     @RateLimiter(time = 60, count = 10, limitType = LimitType.IP)
     public CaptchaVo getCodeImpl() {
+        if (Boolean.TRUE.equals(captchaProperties.getEnable())) {
+            return captchaService.generateCaptcha();
+        }
         // 验证码功能已禁用，返回空的验证码对象
         CaptchaVo captchaVo = new CaptchaVo();
-        Boolean captchaEnabled = captchaProperties.getEnable();
-        log.info("验证码配置状态: {}", captchaEnabled);
-        captchaVo.setCaptchaEnabled(captchaEnabled != null ? captchaEnabled : false); // 从配置文件读取验证码启用状态，默认false
+        captchaVo.setCaptchaEnabled(false);
         captchaVo.setUuid(IdUtil.simpleUUID());
         captchaVo.setImg("");
         return captchaVo;
@@ -5,7 +5,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.service.ISysConfigService;
 import org.example.domain.vo.SysConfigVo;
+import org.example.domain.em.BusinessType;
 import org.example.utils.R;
+import org.example.log.Log;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -83,6 +85,7 @@ public class SysConfigController {
      * @return 操作结果
      */
     @SaCheckPermission("system:config:edit")
+    @Log(title = "参数管理", businessType = BusinessType.UPDATE)
     @PostMapping("/setConfig")
     public R<Void> setConfig(@RequestParam String configKey, @RequestParam String configValue) {
         try {
@@ -105,6 +108,7 @@ public class SysConfigController {
      * @return 操作结果
      */
     @SaCheckPermission("system:config:edit")
+    @Log(title = "参数管理", businessType = BusinessType.UPDATE)
     @PostMapping("/setRegisterEnabled")
     public R<Void> setRegisterEnabled(@RequestParam boolean enabled) {
         try {
@@ -149,6 +153,7 @@ public class SysConfigController {
      *
      * @return 操作结果
      */
+    @Log(title = "参数管理", businessType = BusinessType.INSERT)
     @PostMapping("/initConfig")
     public R<Void> initConfig() {
         try {
@@ -7,9 +7,11 @@ import org.example.domain.bo.SysDictDataBo;
 import org.example.domain.vo.SysDictDataVo;
 import org.example.domain.PageQuery;
 import org.example.domain.TableDataInfo;
+import org.example.domain.em.BusinessType;
 import org.example.service.ISysDictDataService;
 import org.example.utils.ExcelUtil;
 import org.example.utils.R;
+import org.example.log.Log;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -91,6 +93,7 @@ public class SysDictDataController {
      * @param response HTTP响应
      */
     @SaCheckPermission("system:dict:export")
+    @Log(title = "字典数据", businessType = BusinessType.EXPORT)
     @PostMapping("/export")
     public void export(SysDictDataBo dictData, HttpServletResponse response) {
         try {
@@ -110,6 +113,7 @@ public class SysDictDataController {
      * @return 操作结果
      */
     @SaCheckPermission("system:dictData:add")
+    @Log(title = "字典数据", businessType = BusinessType.INSERT)
     @PostMapping
     public R<Void> add(@Validated @RequestBody SysDictDataBo dictData) {
         try {
@@ -132,6 +136,7 @@ public class SysDictDataController {
      * @return 操作结果
      */
     @SaCheckPermission("system:dictData:edit")
+    @Log(title = "字典数据", businessType = BusinessType.UPDATE)
     @PutMapping
     public R<Void> edit(@Validated @RequestBody SysDictDataBo dictData) {
         try {
@@ -154,6 +159,7 @@ public class SysDictDataController {
      * @return 操作结果
      */
     @SaCheckPermission("system:dictData:remove")
+    @Log(title = "字典数据", businessType = BusinessType.DELETE)
     @DeleteMapping("/{dictCodes}")
     public R<Void> remove(@PathVariable Long[] dictCodes) {
         try {
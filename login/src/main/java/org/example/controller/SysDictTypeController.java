@@ -4,12 +4,16 @@ import cn.dev33.satoken.annotation.SaCheckPermission;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.domain.bo.SysDictTypeBo;
+import org.example.domain.em.LimitMode;
 import org.example.domain.vo.SysDictDataVo;
 import org.example.domain.vo.SysDictTypeVo;
+import org.example.domain.em.BusinessType;
+import org.example.rateLimit.RateLimiter;
 import org.example.service.DictService;
 import org.example.service.ISysDictTypeService;
 import org.example.utils.ExcelUtil;
 import org.example.utils.R;
+import org.example.log.Log;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -56,6 +60,8 @@ public class SysDictTypeController {
      * @param response HTTP响应
      */
     @SaCheckPermission("system:dict:export")
+    @RateLimiter(time = 300, count = 2, mode = LimitMode.CONCURRENCY, message = "导出任务过多，请稍后再试")
+    @Log(title = "字典类型", businessType = BusinessType.EXPORT)
     @PostMapping("/export")
     public void export(SysDictTypeBo dictType, HttpServletResponse response) {
         try {
@@ -93,6 +99,7 @@ public class SysDictTypeController {
      * @return 操作结果
      */
     @SaCheckPermission("system:dict:add")
+    @Log(title = "字典类型", businessType = BusinessType.INSERT)
     @PostMapping
     public R<Void> add(@Validated @RequestBody SysDictTypeBo dictType) {
         try {
@@ -115,6 +122,7 @@ public class SysDictTypeController {
      * @return 操作结果
      */
     @SaCheckPermission("system:dict:edit")
+    @Log(title = "字典类型", businessType = BusinessType.UPDATE)
     @PutMapping
     public R<Void> edit(@Validated @RequestBody SysDictTypeBo dictType) {
         try {
@@ -137,6 +145,7 @@ public class SysDictTypeController {
      * @return 操作结果
      */
     @SaCheckPermission("system:dict:remove")
+    @Log(title = "字典类型", businessType = BusinessType.DELETE)
     @DeleteMapping("/{dictIds}")
     public R<Void> remove(@PathVariable Long[] dictIds) {
         try {
@@ -154,6 +163,7 @@ public class SysDictTypeController {
      * @return 操作结果
      */
     @SaCheckPermission("system:dict:remove")
+    @Log(title = "字典类型", businessType = BusinessType.CLEAN)
     @DeleteMapping("/refreshCache")
     public R<Void> refreshCache() {
         try {
@@ -2,14 +2,15 @@ package org.example.controller;
 
 import cn.dev33.satoken.annotation.SaCheckPermission;
 import lombok.RequiredArgsConstructor;
-import org.example.domain.entity.SysMenu;
 import org.example.domain.bo.SysMenuBo;
 import org.example.domain.vo.SysMenuVo;
 import org.example.domain.vo.SimpleMenuVo;
 import org.example.domain.vo.RouterVo;
+import org.example.domain.em.BusinessType;
 import org.example.service.ISysMenuService;
 import org.example.utils.LoginHelper;
 import org.example.utils.R;
+import org.example.log.Log;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -41,8 +42,7 @@ public class SysMenuController /* extends BaseController */ {
         if (userId == null) {
             userId = 1L; // 默认管理员用户ID
         }
-        List<SysMenu> menus = menuService.selectMenuTreeByUserId(userId);
-        List<RouterVo> routers = menuService.buildMenus(menus);
+        List<RouterVo> routers = menuService.selectRoutersByUserId(userId);
         
         // 简单的成功响应格式
         java.util.Map<String, Object> result = new java.util.HashMap<>();
@@ -105,6 +105,9 @@ public class SysMenuController /* extends BaseController */ {
                 menuVo.setMenuId(simpleMenu.getMenuId());
                 menuVo.setMenuName(simpleMenu.getMenuName());
                 menuVo.setMenuType(simpleMenu.getMenuType());
+                menuVo.setParentId(simpleMenu.getParentId());
+                menuVo.setOrderNum(simpleMenu.getOrderNum());
+                menuVo.setIcon(simpleMenu.getIcon());
                 menus.add(menuVo);
             }
             List<Object> treeSelect = menuService.buildMenuTreeSelect(menus);
@@ -149,6 +152,7 @@ public class SysMenuController /* extends BaseController */ {
      * 新增菜单
      */
     @SaCheckPermission("system:menu:add")
+    @Log(title = "菜单管理", businessType = BusinessType.INSERT)
     @PostMapping
     public R<Void> add(@Validated @RequestBody SysMenuBo menu) {
         try {
@@ -166,6 +170,7 @@ public class SysMenuController /* extends BaseController */ {
      * 修改菜单
      */
     @SaCheckPermission("system:menu:edit")
+    @Log(title = "菜单管理", businessType = BusinessType.UPDATE)
     @PutMapping
     public R<Void> edit(@Validated @RequestBody SysMenuBo menu) {
         try {
@@ -187,6 +192,7 @@ public class SysMenuController /* extends BaseController */ {
      * @param menuId 菜单ID
      */
     @SaCheckPermission("system:menu:remove")
+    @Log(title = "菜单管理", businessType = BusinessType.DELETE)
     @DeleteMapping("/{menuId}")
     public R<Void> remove(@PathVariable("menuId") Long menuId) {
         try {
@@ -212,6 +218,7 @@ public class SysMenuController /* extends BaseController */ {
      * @param menuIds 菜单ID串
      */
     @SaCheckPermission("system:menu:remove")
+    @Log(title = "菜单管理", businessType = BusinessType.DELETE)
     @DeleteMapping("/cascade/{menuIds}")
     public R<Void> removeCascade(@PathVariable("menuIds") Long[] menuIds) {
         try {
@@ -5,8 +5,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.domain.bo.SysNoticeBo;
 import org.example.domain.vo.SysNoticeVo;
+import org.example.domain.em.BusinessType;
 import org.example.service.ISysNoticeService;
 import org.example.utils.R;
+import org.example.log.Log;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -59,6 +61,7 @@ public class SysNoticeController {
      * 新增通知公告
      */
     @SaCheckPermission("system:notice:add")
+    @Log(title = "通知公告", businessType = BusinessType.INSERT)
     @PostMapping
     public R<Void> add(@Validated @RequestBody SysNoticeBo notice) {
         try {
@@ -74,6 +77,7 @@ public class SysNoticeController {
      * 修改通知公告
      */
     @SaCheckPermission("system:notice:edit")
+    @Log(title = "通知公告", businessType = BusinessType.UPDATE)
     @PutMapping
     public R<Void> edit(@Validated @RequestBody SysNoticeBo notice) {
         try {
@@ -89,6 +93,7 @@ public class SysNoticeController {
      * 删除通知公告
      */
     @SaCheckPermission("system:notice:remove")
+    @Log(title = "通知公告", businessType = BusinessType.DELETE)
     @DeleteMapping("/{noticeIds}")
     public R<Void> remove(@PathVariable Long[] noticeIds) {
         try {
@@ -4,8 +4,10 @@ import cn.dev33.satoken.annotation.SaCheckPermission;
 import lombok.extern.slf4j.Slf4j;
 import org.example.domain.bo.SysPostBo;
 import org.example.domain.vo.SysPostVo;
+import org.example.domain.em.BusinessType;
 import org.example.service.ISysPostService;
 import org.example.utils.R;
+import org.example.log.Log;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -62,6 +64,7 @@ public class SysPostController {
      * 新增岗位
      */
     @SaCheckPermission("system:post:add")
+    @Log(title = "岗位管理", businessType = BusinessType.INSERT)
     @PostMapping
     public R<Void> add(@Validated @RequestBody SysPostBo post) {
         try {
@@ -82,6 +85,7 @@ public class SysPostController {
      * 修改岗位
      */
     @SaCheckPermission("system:post:edit")
+    @Log(title = "岗位管理", businessType = BusinessType.UPDATE)
     @PutMapping
     public R<Void> edit(@Validated @RequestBody SysPostBo post) {
         try {
@@ -102,6 +106,7 @@ public class SysPostController {
      * 删除岗位
      */
     @SaCheckPermission("system:post:remove")
+    @Log(title = "岗位管理", businessType = BusinessType.DELETE)
     @DeleteMapping("/{postIds}")
     public R<Void> remove(@PathVariable Long[] postIds) {
         try {
@@ -0,0 +1,48 @@
+package org.example.controller;
+
+import cn.dev33.satoken.annotation.SaCheckPermission;
+import lombok.RequiredArgsConstructor;
+import org.example.domain.model.RateLimitRejection;
+import org.example.domain.vo.RateLimiterStatsVo;
+import org.example.rateLimit.RateLimiterMetrics;
+import org.example.utils.R;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 限流监控
+ *
+ * @author example
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/monitor/rateLimiter")
+public class SysRateLimiterController {
+
+    private final RateLimiterMetrics rateLimiterMetrics;
+
+    /**
+     * 各限流器的放行、拒绝次数与耗时统计(本节点)
+     */
+    @SaCheckPermission("monitor:rateLimiter:list")
+    @GetMapping("/stats")
+    public R<List<RateLimiterStatsVo>> stats() {
+        return R.ok(rateLimiterMetrics.stats());
+    }
+
+    /**
+     * 最近的限流拒绝记录(本节点，按采样率记录)
+     *
+     * @param limit 最多返回条数
+     */
+    @SaCheckPermission("monitor:rateLimiter:list")
+    @GetMapping("/rejections")
+    public R<List<RateLimitRejection>> rejections(@RequestParam(defaultValue = "100") int limit) {
+        return R.ok(rateLimiterMetrics.recentRejections(limit));
+    }
+
+}
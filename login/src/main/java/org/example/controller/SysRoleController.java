@@ -2,13 +2,16 @@ package org.example.controller;
 
 import cn.dev33.satoken.annotation.SaCheckPermission;
 import org.example.domain.bo.SysRoleBo;
+import org.example.domain.model.OnlineUserCleanJob;
 import org.example.domain.vo.SysRoleVo;
 import org.example.domain.vo.SysUserVo;
 import org.example.domain.PageQuery;
 import org.example.domain.TableDataInfo;
+import org.example.domain.em.BusinessType;
 import org.example.service.ISysRoleService;
 import org.example.service.ISysUserService;
 import org.example.utils.R;
+import org.example.log.Log;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import java.util.ArrayList;
@@ -96,6 +99,7 @@ public class SysRoleController {
      * 新增角色
      */
     @SaCheckPermission("system:role:add")
+    @Log(title = "角色管理", businessType = BusinessType.INSERT)
     @PostMapping
     public R<Void> add(@Validated @RequestBody SysRoleBo role) {
         try {
@@ -114,10 +118,13 @@ public class SysRoleController {
 
     /**
      * 修改保存角色
+     *
+     * @return data 为在线用户注销任务ID，可通过 /cleanOnline/{jobId} 查询进度；角色未绑定用户时为空
      */
     @SaCheckPermission("system:role:edit")
+    @Log(title = "角色管理", businessType = BusinessType.UPDATE)
     @PutMapping
-    public R<Void> edit(@Validated @RequestBody SysRoleBo role) {
+    public R<String> edit(@Validated @RequestBody SysRoleBo role) {
         try {
             roleService.checkRoleAllowed(role);
             roleService.checkRoleDataScope(role.getRoleId());
@@ -128,8 +135,8 @@ public class SysRoleController {
             }
 
             if (roleService.updateRole(role) > 0) {
-                roleService.cleanOnlineUserByRole(role.getRoleId());
-                return R.ok();
+                OnlineUserCleanJob job = roleService.cleanOnlineUserByRole(role.getRoleId());
+                return R.ok("操作成功", job != null ? job.getJobId() : null);
             }
             return R.fail("修改角色'" + role.getRoleName() + "'失败，请联系管理员");
         } catch (Exception e) {
@@ -137,10 +144,26 @@ public class SysRoleController {
         }
     }
 
+    /**
+     * 查询在线用户注销任务状态
+     *
+     * @param jobId 任务ID
+     */
+    @SaCheckPermission("system:role:edit")
+    @GetMapping("/cleanOnline/{jobId}")
+    public R<OnlineUserCleanJob> cleanOnlineJob(@PathVariable String jobId) {
+        OnlineUserCleanJob job = roleService.getCleanOnlineJob(jobId);
+        if (job == null) {
+            return R.fail("任务不存在或已过期");
+        }
+        return R.ok(job);
+    }
+
     /**
      * 修改保存数据权限
      */
     @SaCheckPermission("system:role:edit")
+    @Log(title = "角色管理", businessType = BusinessType.UPDATE)
     @PutMapping("/dataScope")
     public R<Void> dataScope(@RequestBody SysRoleBo role) {
         try {
@@ -157,6 +180,7 @@ public class SysRoleController {
      * 状态修改
      */
     @SaCheckPermission("system:role:edit")
+    @Log(title = "角色管理", businessType = BusinessType.UPDATE)
     @PutMapping("/changeStatus")
     public R<Void> changeStatus(@RequestBody SysRoleBo role) {
         try {
@@ -175,6 +199,7 @@ public class SysRoleController {
      * @param roleIds 角色ID串
      */
     @SaCheckPermission("system:role:remove")
+    @Log(title = "角色管理", businessType = BusinessType.DELETE)
     @DeleteMapping("/{roleIds}")
     public R<Void> remove(@PathVariable Long[] roleIds) {
         try {
@@ -247,6 +272,7 @@ public class SysRoleController {
      * 取消授权用户
      */
     @SaCheckPermission("system:role:edit")
+    @Log(title = "角色管理", businessType = BusinessType.GRANT)
     @PutMapping("/authUser/cancel")
     public R<Void> cancelAuthUser(Long userId, Long roleId) {
         try {
@@ -266,6 +292,7 @@ public class SysRoleController {
      * @param userIds 用户ID串
      */
     @SaCheckPermission("system:role:edit")
+    @Log(title = "角色管理", businessType = BusinessType.GRANT)
     @PutMapping("/authUser/cancelAll")
     public R<Void> cancelAuthUserAll(Long roleId, String userIds) {
         try {
@@ -294,6 +321,7 @@ public class SysRoleController {
      * @param userIds 用户ID串
      */
     @SaCheckPermission("system:role:edit")
+    @Log(title = "角色管理", businessType = BusinessType.GRANT)
     @PutMapping("/authUser/selectAll")
     public R<Void> selectAuthUserAll(Long roleId, String userIds) {
         try {
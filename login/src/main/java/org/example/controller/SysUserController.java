@@ -9,9 +9,11 @@ import org.example.domain.vo.SysUserVo;
 import org.example.domain.vo.SysRoleVo;
 import org.example.domain.PageQuery;
 import org.example.domain.TableDataInfo;
+import org.example.domain.em.BusinessType;
 import org.example.service.ISysUserService;
 import org.example.service.ISysRoleService;
 import org.example.utils.R;
+import org.example.log.Log;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import java.util.ArrayList;
@@ -80,6 +82,7 @@ public class SysUserController {
      * 新增用户
      */
     @SaCheckPermission("system:user:add")
+    @Log(title = "用户管理", businessType = BusinessType.INSERT)
     @PostMapping
     public R<Void> add(@Validated @RequestBody SysUser user) {
         if (!userService.checkUserNameUnique(user.getUserName())) {
@@ -93,6 +96,7 @@ public class SysUserController {
      * 修改用户
      */
     @SaCheckPermission("system:user:edit")
+    @Log(title = "用户管理", businessType = BusinessType.UPDATE)
     @PutMapping
     public R<Void> edit(@Validated @RequestBody SysUser user) {
         boolean ok = userService.updateUser(user);
@@ -103,6 +107,7 @@ public class SysUserController {
      * 删除用户（支持批量，使用逗号分隔的ID）
      */
     @SaCheckPermission("system:user:remove")
+    @Log(title = "用户管理", businessType = BusinessType.DELETE)
     @DeleteMapping("/{userIds}")
     public R<Void> remove(@PathVariable Long[] userIds) {
         if (ArrayUtil.isEmpty(userIds)) {
@@ -154,6 +159,7 @@ public class SysUserController {
      * @param roleIds 角色ID串
      */
     @SaCheckPermission("system:user:edit")
+    @Log(title = "用户管理", businessType = BusinessType.GRANT)
     @PutMapping("/authRole")
     public R<Void> insertAuthRole(Long userId, Long[] roleIds) {
         userService.insertUserAuth(userId, roleIds);
@@ -4,6 +4,7 @@ import cn.hutool.core.util.ObjectUtil;
 import lombok.RequiredArgsConstructor;
 import org.example.domain.bo.SysDeptBo;
 import org.example.domain.vo.SysDeptVo;
+import org.example.domain.em.BusinessType;
 import org.example.service.ISysDeptService;
 import org.example.utils.StringUtils;
 import org.springframework.validation.annotation.Validated;
@@ -14,6 +15,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.example.utils.R;
+import org.example.log.Log;
 
 /**
  * 部门信息
@@ -101,6 +103,7 @@ public class SysDeptController {
     /**
      * 新增部门
      */
+    @Log(title = "部门管理", businessType = BusinessType.INSERT)
     @PostMapping
     public R<Void> add(@Validated @RequestBody SysDeptBo dept) {
         try {
@@ -117,6 +120,7 @@ public class SysDeptController {
     /**
      * 修改部门
      */
+    @Log(title = "部门管理", businessType = BusinessType.UPDATE)
     @PutMapping
     public R<Void> edit(@Validated @RequestBody SysDeptBo dept) {
         try {
@@ -139,6 +143,7 @@ public class SysDeptController {
     /**
      * 删除部门
      */
+    @Log(title = "部门管理", businessType = BusinessType.DELETE)
     @DeleteMapping("/{deptId}")
     public R<Void> remove(@PathVariable Long deptId) {
         try {
@@ -0,0 +1,44 @@
+package org.example.domain.em;
+
+/**
+ * 业务操作类型
+ *
+ * @author Lion Li
+ */
+public enum BusinessType {
+
+    /**
+     * 其它
+     */
+    OTHER,
+
+    /**
+     * 新增
+     */
+    INSERT,
+
+    /**
+     * 修改
+     */
+    UPDATE,
+
+    /**
+     * 删除
+     */
+    DELETE,
+
+    /**
+     * 授权
+     */
+    GRANT,
+
+    /**
+     * 导出
+     */
+    EXPORT,
+
+    /**
+     * 清空数据
+     */
+    CLEAN
+}
@@ -0,0 +1,19 @@
+package org.example.domain.em;
+
+/**
+ * 验证码存储方式
+ *
+ * @author example
+ */
+public enum CaptchaStoreType {
+
+    /**
+     * Redis存储，多节点共享
+     */
+    REDIS,
+
+    /**
+     * 本地内存存储，仅适用于单节点部署
+     */
+    LOCAL
+}
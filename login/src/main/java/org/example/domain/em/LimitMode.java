@@ -0,0 +1,24 @@
+package org.example.domain.em;
+
+/**
+ * 限流模式
+ *
+ * @author example
+ */
+public enum LimitMode {
+
+    /**
+     * 令牌桶，time 秒内产生 count 个令牌
+     */
+    TOKEN_BUCKET,
+
+    /**
+     * 滑动窗口，任意 time 秒内最多 count 次请求
+     */
+    SLIDING_WINDOW,
+
+    /**
+     * 并发数限制，同时最多 count 个请求在执行，单个请求最长占用 time 秒
+     */
+    CONCURRENCY
+}
@@ -0,0 +1,19 @@
+package org.example.domain.em;
+
+/**
+ * 队列已满时的处理策略
+ *
+ * @author example
+ */
+public enum QueueFullPolicy {
+
+    /**
+     * 直接丢弃，不影响请求耗时
+     */
+    DROP,
+
+    /**
+     * 等待空位，超过等待时间后丢弃
+     */
+    BLOCK
+}
@@ -0,0 +1,55 @@
+package org.example.domain.em;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 唯一键类型(布隆过滤器覆盖的唯一性字段)
+ *
+ * @author example
+ */
+@Getter
+@AllArgsConstructor
+public enum UniqueKeyType {
+
+    /**
+     * 用户名
+     */
+    USER_NAME("sys_user", "user_name", true, "del_flag = '0'"),
+
+    /**
+     * 角色名称
+     */
+    ROLE_NAME("sys_role", "role_name", true, "del_flag = '0'"),
+
+    /**
+     * 岗位编码
+     */
+    POST_CODE("sys_post", "post_code", true, null),
+
+    /**
+     * 字典类型(不区分租户)
+     */
+    DICT_TYPE("sys_dict_type", "dict_type", false, null);
+
+    /**
+     * 表名
+     */
+    private final String table;
+
+    /**
+     * 唯一字段列名
+     */
+    private final String column;
+
+    /**
+     * 是否按租户隔离
+     */
+    private final boolean tenantScoped;
+
+    /**
+     * 有效数据条件
+     */
+    private final String condition;
+
+}
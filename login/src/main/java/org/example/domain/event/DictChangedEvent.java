@@ -0,0 +1,36 @@
+package org.example.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 字典变更事件
+ * 字典类型或字典数据变更后发布，用于失效本地字典快照
+ *
+ * @author example
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DictChangedEvent implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 字典类型，为空代表全部字典
+     */
+    private String dictType;
+
+    /**
+     * 是否影响全部字典
+     */
+    public boolean isAll() {
+        return dictType == null || dictType.isEmpty();
+    }
+
+}
@@ -0,0 +1,69 @@
+package org.example.domain.event;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 权限变更事件
+ * 用户角色授权、角色或菜单变更后发布，用于失效用户权限缓存
+ *
+ * @author example
+ */
+@Data
+@NoArgsConstructor
+public class PermissionChangedEvent implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 租户ID
+     */
+    private String tenantId;
+
+    /**
+     * 受影响的用户ID，为空代表租户下全部用户
+     */
+    private List<Long> userIds;
+
+    /**
+     * 指定用户的权限发生变更
+     */
+    public static PermissionChangedEvent ofUsers(String tenantId, Collection<Long> userIds) {
+        PermissionChangedEvent event = new PermissionChangedEvent();
+        event.setTenantId(tenantId);
+        event.setUserIds(List.copyOf(userIds));
+        return event;
+    }
+
+    /**
+     * 指定用户的权限发生变更
+     */
+    public static PermissionChangedEvent ofUsers(String tenantId, Long... userIds) {
+        return ofUsers(tenantId, Arrays.stream(userIds).filter(Objects::nonNull).toList());
+    }
+
+    /**
+     * 租户下全部用户的权限发生变更(角色、菜单变更)
+     */
+    public static PermissionChangedEvent ofTenant(String tenantId) {
+        PermissionChangedEvent event = new PermissionChangedEvent();
+        event.setTenantId(tenantId);
+        return event;
+    }
+
+    /**
+     * 是否影响租户下全部用户
+     */
+    public boolean isTenantWide() {
+        return userIds == null || userIds.isEmpty();
+    }
+
+}
@@ -0,0 +1,64 @@
+package org.example.domain.model;
+
+import lombok.Getter;
+import org.example.domain.vo.SysDictDataVo;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 字典快照
+ * 某一字典类型下正常状态的字典数据，构建后不可变，字典翻译只需一次散列查找
+ *
+ * @author example
+ */
+@Getter
+public final class DictSnapshot {
+
+    public static final DictSnapshot EMPTY = new DictSnapshot(Collections.emptyList());
+
+    /**
+     * 字典数据，按排序号有序
+     */
+    private final List<SysDictDataVo> datas;
+
+    /**
+     * 字典值 -> 字典标签，保持字典数据顺序
+     */
+    private final Map<String, String> labels;
+
+    /**
+     * 字典标签 -> 字典值
+     */
+    private final Map<String, String> values;
+
+    public DictSnapshot(List<SysDictDataVo> datas) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        Map<String, String> values = new HashMap<>();
+        for (SysDictDataVo data : datas) {
+            labels.putIfAbsent(data.getDictValue(), data.getDictLabel());
+            values.putIfAbsent(data.getDictLabel(), data.getDictValue());
+        }
+        this.datas = List.copyOf(datas);
+        this.labels = Collections.unmodifiableMap(labels);
+        this.values = Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * 根据字典值获取字典标签
+     */
+    public String getLabel(String dictValue) {
+        return labels.getOrDefault(dictValue, "");
+    }
+
+    /**
+     * 根据字典标签获取字典值
+     */
+    public String getValue(String dictLabel) {
+        return values.getOrDefault(dictLabel, "");
+    }
+
+}
@@ -0,0 +1,76 @@
+package org.example.domain.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 在线用户批量注销任务状态
+ *
+ * @author example
+ */
+@Data
+@NoArgsConstructor
+public class OnlineUserCleanJob implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final String STATUS_WAITING = "waiting";
+    public static final String STATUS_RUNNING = "running";
+    public static final String STATUS_SUCCESS = "success";
+    public static final String STATUS_FAILED = "failed";
+
+    /**
+     * 任务ID
+     */
+    private String jobId;
+
+    /**
+     * 租户ID
+     */
+    private String tenantId;
+
+    /**
+     * 触发任务的角色ID，按用户注销时为空
+     */
+    private Long roleId;
+
+    /**
+     * 任务状态
+     */
+    private String status;
+
+    /**
+     * 需要处理的用户数
+     */
+    private int userCount;
+
+    /**
+     * 已处理的用户数
+     */
+    private int processedUsers;
+
+    /**
+     * 已注销的token数
+     */
+    private int tokenCount;
+
+    /**
+     * 提交时间戳(毫秒)
+     */
+    private long submitTime;
+
+    /**
+     * 耗时(毫秒)
+     */
+    private long elapsed;
+
+    /**
+     * 失败原因
+     */
+    private String message;
+
+}
@@ -0,0 +1,83 @@
+package org.example.domain.model;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.example.config.satoken.PermissionIndex;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * 用户权限快照
+ * 同一时刻查询得到的菜单权限与角色权限，附带查询前读取的租户权限版本号与用户权限版本号
+ *
+ * @author example
+ */
+@Data
+@NoArgsConstructor
+public class PermissionSnapshot implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 菜单权限
+     */
+    private Set<String> permissions;
+
+    /**
+     * 角色权限
+     */
+    private Set<String> roles;
+
+    /**
+     * 生成快照时租户的权限版本号
+     */
+    private long version;
+
+    /**
+     * 生成快照时用户的权限版本号
+     */
+    private long userVersion;
+
+    /**
+     * 菜单权限索引，首次使用时编译，不参与序列化
+     */
+    @Setter(AccessLevel.NONE)
+    private transient volatile PermissionIndex permissionIndex;
+
+    /**
+     * 角色权限索引，首次使用时编译，不参与序列化
+     */
+    @Setter(AccessLevel.NONE)
+    private transient volatile PermissionIndex roleIndex;
+
+    public PermissionSnapshot(Set<String> permissions, Set<String> roles, long version, long userVersion) {
+        this.permissions = Set.copyOf(permissions);
+        this.roles = Set.copyOf(roles);
+        this.version = version;
+        this.userVersion = userVersion;
+    }
+
+    public PermissionIndex getPermissionIndex() {
+        PermissionIndex index = permissionIndex;
+        if (index == null) {
+            index = PermissionIndex.of(permissions);
+            permissionIndex = index;
+        }
+        return index;
+    }
+
+    public PermissionIndex getRoleIndex() {
+        PermissionIndex index = roleIndex;
+        if (index == null) {
+            index = PermissionIndex.of(roles);
+            roleIndex = index;
+        }
+        return index;
+    }
+
+}
@@ -0,0 +1,54 @@
+package org.example.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 限流拒绝记录
+ *
+ * @author example
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitRejection implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 拒绝时间
+     */
+    private Date time;
+
+    /**
+     * 限流器名称(类名#方法名)
+     */
+    private String limiter;
+
+    /**
+     * 限流模式
+     */
+    private String mode;
+
+    /**
+     * 限流key
+     */
+    private String key;
+
+    /**
+     * 请求地址
+     */
+    private String requestUri;
+
+    /**
+     * 客户端IP
+     */
+    private String clientIp;
+
+}
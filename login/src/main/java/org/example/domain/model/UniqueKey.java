@@ -0,0 +1,23 @@
+package org.example.domain.model;
+
+import lombok.Data;
+
+/**
+ * 唯一键(重建布隆过滤器时从数据库流式读取)
+ *
+ * @author example
+ */
+@Data
+public class UniqueKey {
+
+    /**
+     * 租户ID
+     */
+    private String tenantId;
+
+    /**
+     * 唯一字段值
+     */
+    private String value;
+
+}
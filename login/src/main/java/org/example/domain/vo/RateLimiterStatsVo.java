@@ -0,0 +1,64 @@
+package org.example.domain.vo;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 限流器统计视图
+ *
+ * @author example
+ */
+@Data
+public class RateLimiterStatsVo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 限流器名称(类名#方法名)
+     */
+    private String limiter;
+
+    /**
+     * 限流模式
+     */
+    private String mode;
+
+    /**
+     * 放行次数
+     */
+    private long allowed;
+
+    /**
+     * 拒绝次数
+     */
+    private long rejected;
+
+    /**
+     * 本地租借令牌命中次数
+     */
+    private long localHits;
+
+    /**
+     * Redis判定平均耗时(毫秒)
+     */
+    private double redisMeanMs;
+
+    /**
+     * Redis判定最大耗时(毫秒，近期)
+     */
+    private double redisMaxMs;
+
+    /**
+     * 限流切面总平均耗时(毫秒，含key解析)
+     */
+    private double acquireMeanMs;
+
+    /**
+     * 限流切面总最大耗时(毫秒，近期)
+     */
+    private double acquireMaxMs;
+
+}
@@ -27,6 +27,21 @@ public class SimpleMenuVo implements Serializable {
      */
     private String menuType;
     
+    /**
+     * 父菜单ID
+     */
+    private Long parentId;
+    
+    /**
+     * 显示顺序
+     */
+    private Integer orderNum;
+    
+    /**
+     * 菜单图标
+     */
+    private String icon;
+    
     /**
      * 无参构造函数
      */
@@ -0,0 +1,14 @@
+package org.example.exception;
+
+/**
+ * 服务繁忙异常类，对应 HTTP 429
+ *
+ * @author example
+ */
+public class TooManyRequestsException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public TooManyRequestsException(String msg) {
+        super(msg);
+    }
+}
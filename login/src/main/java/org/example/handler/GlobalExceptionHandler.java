@@ -1,9 +1,12 @@
 package org.example.handler;
 
+import org.example.constant.HttpStatus;
+import org.example.exception.TooManyRequestsException;
 import org.example.utils.R;
 import org.example.exception.CaptchaException;
 import org.example.exception.CaptchaExpireException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 /**
@@ -38,6 +41,15 @@ public class GlobalExceptionHandler {
         return R.fail(e.getMessage());
     }
 
+    /**
+     * 服务繁忙
+     */
+    @ResponseStatus(org.springframework.http.HttpStatus.TOO_MANY_REQUESTS)
+    @ExceptionHandler(TooManyRequestsException.class)
+    public R<Void> handleTooManyRequestsException(TooManyRequestsException e) {
+        return R.fail(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+    }
+
     /**
      * StackOverflowError异常
      */
@@ -0,0 +1,215 @@
+package org.example.log;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.properties.AuditLogProperties;
+import org.example.domain.em.QueueFullPolicy;
+import org.example.domain.entity.SysLogininfor;
+import org.example.domain.entity.SysOperLog;
+import org.example.domain.entity.SysUser;
+import org.example.mapper.SysLogininforMapper;
+import org.example.mapper.SysOperLogMapper;
+import org.example.mapper.SysUserMapper;
+import org.example.utils.TenantHelper;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 审计日志写入管道
+ * <p>
+ * 登录日志、操作日志、最后登录IP/时间更新都先写入有界无锁环形缓冲区，请求线程不访问数据库；
+ * 单个后台线程取出后按类型合并，登录/操作日志使用多值INSERT，同一用户的登录信息只保留最新一次后单条UPDATE。
+ * 缓冲区已满时按配置丢弃或短暂等待，审计写入失败只记录错误，不影响业务。
+ *
+ * @author example
+ */
+@Slf4j
+@Component
+public class AuditLogPipeline {
+
+    private final AuditLogProperties properties;
+    private final SysLogininforMapper logininforMapper;
+    private final SysOperLogMapper operLogMapper;
+    private final SysUserMapper userMapper;
+
+    private final RingBuffer<Object> buffer;
+
+    private final Counter dropped;
+    private final Timer logininforFlush;
+    private final Timer operLogFlush;
+    private final Timer loginUpdateFlush;
+
+    private volatile boolean running;
+
+    private Thread writer;
+
+    public AuditLogPipeline(AuditLogProperties properties, SysLogininforMapper logininforMapper, SysOperLogMapper operLogMapper,
+                            SysUserMapper userMapper, MeterRegistry registry) {
+        this.properties = properties;
+        this.logininforMapper = logininforMapper;
+        this.operLogMapper = operLogMapper;
+        this.userMapper = userMapper;
+        this.buffer = new RingBuffer<>(properties.getBufferSize());
+        Gauge.builder("audit.queue.depth", buffer, RingBuffer::size)
+            .description("审计日志缓冲区待写入条数")
+            .register(registry);
+        this.dropped = Counter.builder("audit.dropped")
+            .description("缓冲区已满被丢弃的审计日志条数")
+            .register(registry);
+        this.logininforFlush = flushTimer(registry, "logininfor");
+        this.operLogFlush = flushTimer(registry, "oper_log");
+        this.loginUpdateFlush = flushTimer(registry, "login_update");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::run, "audit-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("审计日志写入线程已启动，缓冲区容量 {}", buffer.capacity());
+    }
+
+    /**
+     * 停止时写完缓冲区中剩余的日志
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * 记录登录日志
+     */
+    public void recordLogininfor(SysLogininfor logininfor) {
+        offer(logininfor);
+    }
+
+    /**
+     * 记录操作日志
+     */
+    public void recordOperLog(SysOperLog operLog) {
+        offer(operLog);
+    }
+
+    /**
+     * 记录用户最后登录IP与时间
+     */
+    public void recordLogin(Long userId, String loginIp, LocalDateTime loginDate) {
+        SysUser user = new SysUser();
+        user.setUserId(userId);
+        user.setLoginIp(loginIp);
+        user.setLoginDate(loginDate);
+        offer(user);
+    }
+
+    private void offer(Object event) {
+        if (!running) {
+            return;
+        }
+        if (buffer.offer(event)) {
+            if (buffer.size() >= properties.getBatchSize()) {
+                LockSupport.unpark(writer);
+            }
+            return;
+        }
+        if (properties.getFullPolicy() == QueueFullPolicy.BLOCK) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getBlockTimeout());
+            LockSupport.unpark(writer);
+            while (System.nanoTime() < deadline) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+                if (buffer.offer(event)) {
+                    return;
+                }
+            }
+        }
+        dropped.increment();
+    }
+
+    private void run() {
+        int batchSize = properties.getBatchSize();
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushInterval());
+        List<Object> batch = new ArrayList<>(batchSize);
+        while (running || buffer.size() > 0) {
+            Object event;
+            while (batch.size() < batchSize && (event = buffer.poll()) != null) {
+                batch.add(event);
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+            }
+            // 未攒满一批时等待，攒满后由生产者唤醒
+            if (running && batch.size() < batchSize) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+            batch.clear();
+        }
+    }
+
+    private void flush(List<Object> batch) {
+        List<SysLogininfor> logininfors = new ArrayList<>();
+        List<SysOperLog> operLogs = new ArrayList<>();
+        Map<Long, SysUser> logins = new LinkedHashMap<>();
+        for (Object event : batch) {
+            if (event instanceof SysLogininfor logininfor) {
+                logininfors.add(logininfor);
+            } else if (event instanceof SysOperLog operLog) {
+                operLogs.add(operLog);
+            } else if (event instanceof SysUser user) {
+                logins.put(user.getUserId(), user);
+            }
+        }
+        if (!logininfors.isEmpty()) {
+            write("登录日志", logininfors.size(), logininforFlush, () -> logininforMapper.insertBatch(logininfors));
+        }
+        if (!operLogs.isEmpty()) {
+            write("操作日志", operLogs.size(), operLogFlush, () -> operLogMapper.insertBatch(operLogs));
+        }
+        if (!logins.isEmpty()) {
+            // 按用户ID更新，不需要租户条件
+            write("登录信息", logins.size(), loginUpdateFlush,
+                () -> TenantHelper.ignore(() -> {
+                    userMapper.updateLoginInfoBatch(new ArrayList<>(logins.values()));
+                }));
+        }
+    }
+
+    private void write(String name, int size, Timer timer, Runnable action) {
+        try {
+            timer.record(action);
+        } catch (Exception e) {
+            log.error("批量写入{}失败，丢弃 {} 条", name, size, e);
+        }
+    }
+
+    private boolean isEnabled() {
+        return Boolean.TRUE.equals(properties.getEnabled());
+    }
+
+    private static Timer flushTimer(MeterRegistry registry, String type) {
+        return Timer.builder("audit.flush")
+            .description("审计日志批量写入耗时")
+            .tag("type", type)
+            .register(registry);
+    }
+
+}
@@ -0,0 +1,37 @@
+package org.example.log;
+
+import org.example.domain.em.BusinessType;
+
+import java.lang.annotation.*;
+
+/**
+ * 操作日志记录注解，日志由 {@link AuditLogPipeline} 异步批量写入
+ *
+ * @author Lion Li
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Log {
+
+    /**
+     * 模块
+     */
+    String title() default "";
+
+    /**
+     * 功能
+     */
+    BusinessType businessType() default BusinessType.OTHER;
+
+    /**
+     * 是否保存请求的参数
+     */
+    boolean isSaveRequestData() default true;
+
+    /**
+     * 是否保存响应的参数
+     */
+    boolean isSaveResponseData() default true;
+
+}
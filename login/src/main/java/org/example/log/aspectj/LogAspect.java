@@ -0,0 +1,153 @@
+package org.example.log.aspectj;
+
+import cn.dev33.satoken.stp.StpUtil;
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.example.constant.TenantConstants;
+import org.example.domain.entity.SysOperLog;
+import org.example.log.AuditLogPipeline;
+import org.example.log.Log;
+import org.example.utils.LoginHelper;
+import org.example.utils.R;
+import org.example.utils.ServletUtils;
+import org.example.utils.StringUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 操作日志记录处理，日志在请求线程上组装后交给 {@link AuditLogPipeline} 异步批量写入
+ *
+ * @author Lion Li
+ */
+@Slf4j
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class LogAspect {
+
+    /**
+     * 请求参数、返回参数、错误消息的最大长度
+     */
+    private static final int MAX_LENGTH = 2000;
+
+    /**
+     * 请求参数中不记录的敏感属性
+     */
+    private static final Set<String> EXCLUDE_PROPERTIES = Set.of("password", "oldPassword", "newPassword", "confirmPassword");
+
+    private final AuditLogPipeline auditLogPipeline;
+
+    @Around("@annotation(controllerLog)")
+    public Object doAround(ProceedingJoinPoint point, Log controllerLog) throws Throwable {
+        long start = System.currentTimeMillis();
+        Object result = null;
+        Throwable error = null;
+        try {
+            result = point.proceed();
+            return result;
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            try {
+                auditLogPipeline.recordOperLog(buildOperLog(point, controllerLog, result, error, start));
+            } catch (Exception e) {
+                log.error("记录操作日志失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    private SysOperLog buildOperLog(ProceedingJoinPoint point, Log controllerLog, Object result, Throwable error, long start) {
+        HttpServletRequest request = ServletUtils.getRequest();
+        SysOperLog operLog = new SysOperLog();
+        operLog.setTitle(controllerLog.title());
+        operLog.setBusinessType(controllerLog.businessType().ordinal());
+        operLog.setMethod(point.getTarget().getClass().getName() + "." + point.getSignature().getName() + "()");
+        operLog.setOperTime(new Date(start));
+        operLog.setCostTime(System.currentTimeMillis() - start);
+        operLog.setStatus(error == null ? 0 : 1);
+        if (error != null) {
+            operLog.setErrorMsg(StringUtils.substring(error.getMessage(), 0, MAX_LENGTH));
+        } else if (result instanceof R<?> r && r.getCode() != R.SUCCESS) {
+            // 控制器捕获异常后返回 R.fail，同样记为失败
+            operLog.setStatus(1);
+            operLog.setErrorMsg(StringUtils.substring(r.getMsg(), 0, MAX_LENGTH));
+        }
+        if (request != null) {
+            operLog.setRequestMethod(request.getMethod());
+            operLog.setOperUrl(StringUtils.substring(request.getRequestURI(), 0, 255));
+            operLog.setOperIp(ServletUtils.getClientIP());
+        }
+        operLog.setTenantId(TenantConstants.DEFAULT_TENANT_ID);
+        if (StpUtil.isLogin()) {
+            operLog.setTenantId(StringUtils.blankToDefault(LoginHelper.getTenantId(), TenantConstants.DEFAULT_TENANT_ID));
+            operLog.setOperName(LoginHelper.getUsername());
+        }
+        if (controllerLog.isSaveRequestData()) {
+            operLog.setOperParam(StringUtils.substring(argsToJson(point.getArgs()), 0, MAX_LENGTH));
+        }
+        if (controllerLog.isSaveResponseData() && result != null) {
+            operLog.setJsonResult(StringUtils.substring(JSONUtil.toJsonStr(result), 0, MAX_LENGTH));
+        }
+        return operLog;
+    }
+
+    private String argsToJson(Object[] args) {
+        List<Object> params = new ArrayList<>(args.length);
+        for (Object arg : args) {
+            if (arg == null || isFilterObject(arg)) {
+                continue;
+            }
+            params.add(arg);
+        }
+        if (params.isEmpty()) {
+            return "";
+        }
+        JSONArray json = JSONUtil.parseArray(params);
+        removeSensitive(json);
+        return JSONUtil.toJsonStr(json.size() == 1 ? json.get(0) : json);
+    }
+
+    /**
+     * 请求、响应、上传文件与校验结果不记录
+     */
+    private static boolean isFilterObject(Object arg) {
+        if (arg instanceof MultipartFile[]) {
+            return true;
+        }
+        if (arg instanceof Collection<?> collection) {
+            return !collection.isEmpty() && collection.iterator().next() instanceof MultipartFile;
+        }
+        return arg instanceof ServletRequest || arg instanceof ServletResponse
+            || arg instanceof MultipartFile || arg instanceof BindingResult;
+    }
+
+    /**
+     * 逐层删除敏感属性
+     */
+    private static void removeSensitive(Object json) {
+        if (json instanceof JSONObject object) {
+            EXCLUDE_PROPERTIES.forEach(object::remove);
+            object.values().forEach(LogAspect::removeSensitive);
+        } else if (json instanceof JSONArray array) {
+            array.forEach(LogAspect::removeSensitive);
+        }
+    }
+
+}
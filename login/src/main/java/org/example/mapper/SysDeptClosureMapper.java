@@ -0,0 +1,43 @@
+package org.example.mapper;
+
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 部门闭包表 数据层
+ * <p>
+ * sys_dept_closure 保存每个部门与其所有祖先(含自身，深度为0)的关系，
+ * 查询某部门的全部下级部门即为按 ancestor_id 的索引范围查找。
+ * 部门ID全局唯一，表中不含租户字段(已加入 tenant.excludeTables)，租户隔离与逻辑删除由关联的 sys_dept 过滤；
+ * 部门逻辑删除时路径保留
+ *
+ * @author example
+ */
+public interface SysDeptClosureMapper {
+
+    /**
+     * 新增部门的路径：继承父部门的全部祖先，并加入自身
+     *
+     * @param deptId   新增的部门ID
+     * @param parentId 父部门ID
+     * @return 插入的记录数
+     */
+    int insertDeptPaths(@Param("deptId") Long deptId, @Param("parentId") Long parentId);
+
+    /**
+     * 断开子树(含自身)与原有上级部门的路径
+     *
+     * @param deptId 子树根部门ID
+     * @return 删除的记录数
+     */
+    int deleteSubtreeAncestorPaths(@Param("deptId") Long deptId);
+
+    /**
+     * 将子树(含自身)挂接到新的父部门下
+     *
+     * @param deptId   子树根部门ID
+     * @param parentId 新的父部门ID
+     * @return 插入的记录数
+     */
+    int insertSubtreeAncestorPaths(@Param("deptId") Long deptId, @Param("parentId") Long parentId);
+
+}
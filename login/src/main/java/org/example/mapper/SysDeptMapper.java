@@ -97,6 +97,17 @@ public interface SysDeptMapper extends BaseMapper<SysDept> {
      */
     void updateDeptStatusNormal(@Param("deptIds") Long[] deptIds);
 
+    /**
+     * 批量修改子部门的祖级列表，将前缀 oldAncestors 替换为 newAncestors
+     *
+     * @param deptId       被修改的部门ID
+     * @param newAncestors 新的祖级列表
+     * @param oldAncestors 旧的祖级列表
+     * @return 结果
+     */
+    int updateDeptChildrenAncestors(@Param("deptId") Long deptId, @Param("newAncestors") String newAncestors,
+                                    @Param("oldAncestors") String oldAncestors);
+
     /**
      * 删除部门管理信息
      *
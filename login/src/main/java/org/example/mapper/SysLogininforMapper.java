@@ -0,0 +1,26 @@
+package org.example.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.example.domain.entity.SysLogininfor;
+
+import java.util.List;
+
+/**
+ * 系统访问日志情况信息 数据层
+ *
+ * @author Lion Li
+ */
+@Mapper
+public interface SysLogininforMapper extends BaseMapper<SysLogininfor> {
+
+    /**
+     * 批量新增访问记录(单条多值INSERT)
+     *
+     * @param list 访问记录
+     * @return 结果
+     */
+    int insertBatch(@Param("list") List<SysLogininfor> list);
+
+}
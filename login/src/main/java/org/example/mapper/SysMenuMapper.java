@@ -58,6 +58,14 @@ public interface SysMenuMapper extends BaseMapper<SysMenu> {
      */
     List<SysMenu> selectMenuTreeByUserId(Long userId);
 
+    /**
+     * 根据角色ID集合查询菜单
+     *
+     * @param roleIds 角色ID集合
+     * @return 菜单列表
+     */
+    List<SysMenu> selectMenuTreeByRoleIds(@Param("roleIds") List<Long> roleIds);
+
     /**
      * 根据角色ID查询菜单树信息
      *
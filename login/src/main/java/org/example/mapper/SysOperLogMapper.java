@@ -0,0 +1,26 @@
+package org.example.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.example.domain.entity.SysOperLog;
+
+import java.util.List;
+
+/**
+ * 操作日志 数据层
+ *
+ * @author Lion Li
+ */
+@Mapper
+public interface SysOperLogMapper extends BaseMapper<SysOperLog> {
+
+    /**
+     * 批量新增操作日志(单条多值INSERT)
+     *
+     * @param list 操作日志
+     * @return 结果
+     */
+    int insertBatch(@Param("list") List<SysOperLog> list);
+
+}
@@ -39,6 +39,17 @@ public interface SysUserMapper extends BaseMapper<SysUser> {
      * 更新用户信息
      */
     int updateUser(SysUser user);
+
+    /**
+     * 批量更新最后登录IP与时间(单条 CASE WHEN 更新)
+     */
+    int updateLoginInfoBatch(@Param("users") List<SysUser> users);
+
+    /**
+     * 密码未被修改时更新为新的密码哈希
+     */
+    int updatePasswordIfUnchanged(@Param("userId") Long userId, @Param("oldPassword") String oldPassword,
+                                  @Param("newPassword") String newPassword);
     
     /**
      * 批量逻辑删除用户（设置 del_flag='2'）
@@ -20,7 +20,7 @@ public interface SysUserRoleMapper {
      * @param roleId 角色ID
      * @return 关联到指定角色的用户ID列表
      */
-    // List<Long> selectUserIdsByRoleId(Long roleId);
+    List<Long> selectUserIdsByRoleId(Long roleId);
 
     /**
      * 根据用户ID删除用户角色关联
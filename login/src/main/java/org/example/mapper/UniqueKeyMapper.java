@@ -0,0 +1,25 @@
+package org.example.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+import org.example.domain.em.UniqueKeyType;
+import org.example.domain.model.UniqueKey;
+
+/**
+ * 唯一键 数据层
+ *
+ * @author example
+ */
+@Mapper
+public interface UniqueKeyMapper {
+
+    /**
+     * 流式读取指定类型的全部唯一键
+     *
+     * @param type    唯一键类型(表名、列名均来自枚举常量)
+     * @param handler 逐条处理
+     */
+    void selectUniqueKeys(@Param("type") UniqueKeyType type, ResultHandler<UniqueKey> handler);
+
+}
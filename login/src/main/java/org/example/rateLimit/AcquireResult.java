@@ -0,0 +1,29 @@
+package org.example.rateLimit;
+
+/**
+ * 限流判定结果
+ *
+ * @author example
+ */
+public enum AcquireResult {
+
+    /**
+     * 放行，令牌来自本地租借，未访问Redis
+     */
+    LOCAL,
+
+    /**
+     * 放行，经Redis判定
+     */
+    REDIS,
+
+    /**
+     * 被限流
+     */
+    REJECTED;
+
+    public boolean isAllowed() {
+        return this != REJECTED;
+    }
+
+}
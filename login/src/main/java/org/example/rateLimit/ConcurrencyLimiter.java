@@ -0,0 +1,68 @@
+package org.example.rateLimit;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import lombok.extern.slf4j.Slf4j;
+import org.example.utils.RedisUtils;
+import org.redisson.api.RPermitExpirableSemaphore;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 并发数限制器
+ * <p>
+ * 基于Redis可过期信号量，请求开始时获取许可、结束时释放；许可带租期，
+ * 节点宕机或请求卡死时许可在租期后自动归还，不会永久占用。
+ *
+ * @author example
+ */
+@Slf4j
+@Component
+public class ConcurrencyLimiter {
+
+    /**
+     * 本节点已设置过许可数的key
+     */
+    private final LRUCache<String, Integer> configured = CacheUtil.newLRUCache(10000);
+
+    /**
+     * 尝试获取许可，不等待
+     *
+     * @param key       限流key
+     * @param permits   最大并发数
+     * @param leaseTime 许可租期(秒)
+     * @return 许可ID，获取失败返回null
+     */
+    public String tryAcquire(String key, int permits, int leaseTime) {
+        RPermitExpirableSemaphore semaphore = RedisUtils.getClient().getPermitExpirableSemaphore(key);
+        if (!Integer.valueOf(permits).equals(configured.get(key, false))) {
+            // 已存在的信号量许可数与注解配置不一致时(如调整了 count)按配置重设，已借出的许可保持不变
+            if (!semaphore.trySetPermits(permits) && semaphore.getPermits() != permits) {
+                semaphore.setPermits(permits);
+            }
+            configured.put(key, permits);
+        }
+        try {
+            return semaphore.tryAcquire(0, leaseTime, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * 释放许可，许可已过期时忽略
+     *
+     * @param key      限流key
+     * @param permitId 许可ID
+     */
+    public void release(String key, String permitId) {
+        try {
+            RedisUtils.getClient().getPermitExpirableSemaphore(key).release(permitId);
+        } catch (Exception e) {
+            log.debug("释放并发许可失败，key: {}, {}", key, e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+package org.example.rateLimit;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.properties.RateLimiterProperties;
+import org.example.utils.RedisUtils;
+import org.example.utils.StringUtils;
+import org.redisson.api.RRateLimiter;
+import org.redisson.api.RateType;
+import org.redisson.client.RedisException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 本地租借 + Redis 两级限流器
+ * <p>
+ * 每个限流key在本地维护一个令牌桶，令牌从Redis {@link RRateLimiter} 中按批租借，本地消费不访问Redis；
+ * 本地令牌用完或过期时再租借一批，同一个key同时只有一个请求租借，其余请求在租借期间逐个向Redis获取，
+ * 避免并发租借互相覆盖、把已从全局扣除的令牌丢弃；批量租借失败(全局剩余不足一批)时退回单个令牌的Redis限流。
+ * 租借的令牌只在一个限流周期内有效，未用完的令牌随之作废，全局限流只会偏严、不会放宽。
+ * 限流策略(trySetRate)每个key只在本地首次使用时设置一次，策略过期被清除后在获取令牌报错时重新设置。
+ *
+ * @author example
+ */
+@Slf4j
+@Component
+public class LeasedRateLimiter {
+
+    /**
+     * Redisson限流策略不存在时的报错信息
+     */
+    private static final String NOT_INITIALIZED = "RateLimiter is not initialized";
+
+    private final RateLimiterProperties properties;
+
+    private final LRUCache<String, LocalBucket> buckets;
+
+    public LeasedRateLimiter(RateLimiterProperties properties) {
+        this.properties = properties;
+        this.buckets = CacheUtil.newLRUCache(properties.getLocalMaxSize());
+    }
+
+    /**
+     * 尝试获取一个令牌
+     *
+     * @param key          限流key
+     * @param rateType     限流类型
+     * @param rate         速率
+     * @param rateInterval 速率间隔(秒)
+     * @param timeout      限流策略存活时间(秒)
+     * @return 判定结果
+     */
+    public AcquireResult tryAcquire(String key, RateType rateType, int rate, int rateInterval, int timeout) {
+        long now = System.currentTimeMillis();
+        LocalBucket bucket = buckets.get(key, false, LocalBucket::new);
+        int leaseSize = leaseSize(rate);
+        if (leaseSize >= 2 && bucket.tryTake(now)) {
+            return AcquireResult.LOCAL;
+        }
+        RRateLimiter rateLimiter = RedisUtils.getClient().getRateLimiter(key);
+        if (!bucket.configured) {
+            rateLimiter.trySetRate(rateType, rate, Duration.ofSeconds(rateInterval), Duration.ofSeconds(timeout));
+            bucket.configured = true;
+        }
+        if (leaseSize >= 2 && bucket.refilling.compareAndSet(false, true)) {
+            try {
+                if (acquire(rateLimiter, leaseSize, rateType, rate, rateInterval, timeout)) {
+                    // 当前请求消耗一个，其余放入本地
+                    bucket.grant(leaseSize - 1, now + rateInterval * 1000L);
+                    log.debug("限流key {} 租借令牌 {} 个", key, leaseSize);
+                    return AcquireResult.REDIS;
+                }
+            } finally {
+                bucket.refilling.set(false);
+            }
+        }
+        // 未启用租借或全局剩余不足一批，逐个获取
+        return acquire(rateLimiter, 1, rateType, rate, rateInterval, timeout) ? AcquireResult.REDIS : AcquireResult.REJECTED;
+    }
+
+    /**
+     * 获取令牌，限流策略已过期被清除时重新设置后重试一次
+     */
+    private boolean acquire(RRateLimiter rateLimiter, int permits, RateType rateType, int rate, int rateInterval, int timeout) {
+        try {
+            return rateLimiter.tryAcquire(permits);
+        } catch (RedisException e) {
+            if (!StringUtils.contains(e.getMessage(), NOT_INITIALIZED)) {
+                throw e;
+            }
+            rateLimiter.trySetRate(rateType, rate, Duration.ofSeconds(rateInterval), Duration.ofSeconds(timeout));
+            return rateLimiter.tryAcquire(permits);
+        }
+    }
+
+    private int leaseSize(int rate) {
+        if (!Boolean.TRUE.equals(properties.getLeaseEnabled())) {
+            return 1;
+        }
+        return Math.min(rate / Math.max(properties.getLeaseDivisor(), 1), properties.getMaxLeaseSize());
+    }
+
+    /**
+     * 本地令牌桶，无锁消费
+     */
+    private static final class LocalBucket {
+
+        private final AtomicReference<Lease> lease = new AtomicReference<>();
+
+        /**
+         * 是否有请求正在租借
+         */
+        private final AtomicBoolean refilling = new AtomicBoolean();
+
+        /**
+         * 本节点是否已设置过限流策略
+         */
+        private volatile boolean configured;
+
+        private boolean tryTake(long now) {
+            Lease current = lease.get();
+            return current != null && now < current.expireAt() && current.remaining().getAndDecrement() > 0;
+        }
+
+        private void grant(int permits, long expireAt) {
+            lease.set(new Lease(new AtomicInteger(permits), expireAt));
+        }
+    }
+
+    /**
+     * 一次租借的令牌，到期后剩余令牌作废
+     */
+    private record Lease(AtomicInteger remaining, long expireAt) {
+    }
+
+}
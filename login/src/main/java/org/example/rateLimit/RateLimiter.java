@@ -1,5 +1,6 @@
 package org.example.rateLimit;
 
+import org.example.domain.em.LimitMode;
 import org.example.domain.em.LimitType;
 
 import java.lang.annotation.*;
@@ -15,12 +16,12 @@ public @interface RateLimiter {
     String key() default "";
 
     /**
-     * 限流时间,单位秒
+     * 限流时间,单位秒（并发数限制模式下为单个请求最长占用时间）
      */
     int time() default 60;
 
     /**
-     * 限流次数
+     * 限流次数（并发数限制模式下为最大并发数）
      */
     int count() default 100;
 
@@ -29,6 +30,11 @@ public @interface RateLimiter {
      */
     LimitType limitType() default LimitType.DEFAULT;
 
+    /**
+     * 限流模式
+     */
+    LimitMode mode() default LimitMode.TOKEN_BUCKET;
+
     /**
      * 提示消息 支持国际化 格式为 {code}
      */
@@ -0,0 +1,33 @@
+package org.example.rateLimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 限流 actuator 端点(/actuator/ratelimiter)，返回各限流器统计与最近的拒绝记录
+ *
+ * @author example
+ */
+@Component
+@Endpoint(id = "ratelimiter")
+@RequiredArgsConstructor
+public class RateLimiterEndpoint {
+
+    private static final int REJECTION_LIMIT = 50;
+
+    private final RateLimiterMetrics rateLimiterMetrics;
+
+    @ReadOperation
+    public Map<String, Object> rateLimiter() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("limiters", rateLimiterMetrics.stats());
+        result.put("rejections", rateLimiterMetrics.recentRejections(REJECTION_LIMIT));
+        return result;
+    }
+
+}
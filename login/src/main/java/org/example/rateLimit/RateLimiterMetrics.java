@@ -0,0 +1,172 @@
+package org.example.rateLimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.config.properties.RateLimiterProperties;
+import org.example.domain.em.LimitMode;
+import org.example.domain.model.RateLimitRejection;
+import org.example.domain.vo.RateLimiterStatsVo;
+import org.example.utils.ServletUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 限流指标
+ * <p>
+ * 按限流器(类名#方法名，而非具体限流key，避免按IP限流时指标数量无限增长)注册 Micrometer 指标：
+ * <ul>
+ *     <li>rate.limiter.requests 判定次数，result 标签为 local(本地租借命中) / redis / rejected</li>
+ *     <li>rate.limiter.redis 访问Redis判定的耗时</li>
+ *     <li>rate.limiter.acquire 限流切面的总耗时，即限流给每个请求增加的延迟</li>
+ * </ul>
+ * 被拒绝的请求按采样率写入固定大小的环形缓冲区，只保留最近的记录。
+ *
+ * @author example
+ */
+@Component
+public class RateLimiterMetrics {
+
+    private final MeterRegistry registry;
+
+    private final double sampleRate;
+
+    private final Map<String, LimiterMeters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * 最近的拒绝记录
+     */
+    private final AtomicReferenceArray<RateLimitRejection> rejections;
+
+    /**
+     * 已写入的拒绝记录总数，对缓冲区大小取模即写入位置
+     */
+    private final AtomicLong rejectionSequence = new AtomicLong();
+
+    public RateLimiterMetrics(MeterRegistry registry, RateLimiterProperties properties) {
+        this.registry = registry;
+        this.sampleRate = properties.getRejectionSampleRate();
+        this.rejections = new AtomicReferenceArray<>(Math.max(properties.getRejectionBufferSize(), 1));
+    }
+
+    /**
+     * 记录一次限流判定
+     *
+     * @param limiter      限流器名称
+     * @param mode         限流模式
+     * @param key          限流key
+     * @param result       判定结果
+     * @param redisNanos   判定耗时(纳秒)，本地命中时不计入Redis耗时
+     * @param acquireNanos 切面总耗时(纳秒)
+     */
+    public void record(String limiter, LimitMode mode, String key, AcquireResult result, long redisNanos, long acquireNanos) {
+        LimiterMeters m = meters.computeIfAbsent(limiter + ":" + mode, k -> new LimiterMeters(limiter, mode));
+        switch (result) {
+            case LOCAL -> m.local.increment();
+            case REDIS -> m.redis.increment();
+            default -> m.rejected.increment();
+        }
+        if (result != AcquireResult.LOCAL) {
+            m.redisTimer.record(redisNanos, TimeUnit.NANOSECONDS);
+        }
+        m.acquireTimer.record(acquireNanos, TimeUnit.NANOSECONDS);
+        if (result == AcquireResult.REJECTED && sample()) {
+            int index = (int) (rejectionSequence.getAndIncrement() % rejections.length());
+            rejections.set(index, new RateLimitRejection(new Date(), limiter, mode.name(), key,
+                ServletUtils.getRequest().getRequestURI(), ServletUtils.getClientIP()));
+        }
+    }
+
+    /**
+     * 各限流器的统计
+     */
+    public List<RateLimiterStatsVo> stats() {
+        List<RateLimiterStatsVo> list = new ArrayList<>(meters.size());
+        for (LimiterMeters m : meters.values()) {
+            RateLimiterStatsVo vo = new RateLimiterStatsVo();
+            vo.setLimiter(m.limiter);
+            vo.setMode(m.mode.name());
+            vo.setLocalHits((long) m.local.count());
+            vo.setAllowed((long) (m.local.count() + m.redis.count()));
+            vo.setRejected((long) m.rejected.count());
+            vo.setRedisMeanMs(m.redisTimer.mean(TimeUnit.MILLISECONDS));
+            vo.setRedisMaxMs(m.redisTimer.max(TimeUnit.MILLISECONDS));
+            vo.setAcquireMeanMs(m.acquireTimer.mean(TimeUnit.MILLISECONDS));
+            vo.setAcquireMaxMs(m.acquireTimer.max(TimeUnit.MILLISECONDS));
+            list.add(vo);
+        }
+        return list;
+    }
+
+    /**
+     * 最近的拒绝记录，按时间倒序
+     *
+     * @param limit 最多返回条数，限制在 0 到缓冲区大小之间
+     */
+    public List<RateLimitRejection> recentRejections(int limit) {
+        int size = Math.max(0, Math.min(limit, rejections.length()));
+        long end = rejectionSequence.get();
+        long start = Math.max(end - size, 0);
+        List<RateLimitRejection> list = new ArrayList<>((int) (end - start));
+        for (long i = end - 1; i >= start; i--) {
+            RateLimitRejection rejection = rejections.get((int) (i % rejections.length()));
+            if (rejection != null) {
+                list.add(rejection);
+            }
+        }
+        return list;
+    }
+
+    private boolean sample() {
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * 单个限流器的指标
+     */
+    private final class LimiterMeters {
+
+        private final String limiter;
+        private final LimitMode mode;
+        private final Counter local;
+        private final Counter redis;
+        private final Counter rejected;
+        private final Timer redisTimer;
+        private final Timer acquireTimer;
+
+        private LimiterMeters(String limiter, LimitMode mode) {
+            this.limiter = limiter;
+            this.mode = mode;
+            String modeTag = mode.name().toLowerCase();
+            this.local = counter(limiter, modeTag, "local");
+            this.redis = counter(limiter, modeTag, "redis");
+            this.rejected = counter(limiter, modeTag, "rejected");
+            this.redisTimer = Timer.builder("rate.limiter.redis")
+                .description("限流Redis判定耗时")
+                .tags("limiter", limiter, "mode", modeTag)
+                .register(registry);
+            this.acquireTimer = Timer.builder("rate.limiter.acquire")
+                .description("限流切面总耗时")
+                .tags("limiter", limiter, "mode", modeTag)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        }
+
+        private Counter counter(String limiter, String mode, String result) {
+            return Counter.builder("rate.limiter.requests")
+                .description("限流判定次数")
+                .tags("limiter", limiter, "mode", mode, "result", result)
+                .register(registry);
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package org.example.rateLimit;
+
+import org.example.utils.RedisUtils;
+import org.redisson.api.RScript;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 滑动窗口限流器
+ * <p>
+ * 每个限流key对应一个有序集合，成员为一次请求，分值为请求时间(毫秒)。
+ * 清理窗口外的请求、计数、记录本次请求在同一个Lua脚本中完成，一次往返，时间以Redis服务端为准。
+ *
+ * @author example
+ */
+@Component
+public class SlidingWindowRateLimiter {
+
+    /**
+     * KEYS[1] 限流key；ARGV[1] 窗口(毫秒)，ARGV[2] 窗口内最大请求数，ARGV[3] 请求唯一标识
+     * 返回 1 代表放行，0 代表被限流
+     */
+    private static final String SLIDING_WINDOW_SCRIPT =
+        "if redis.replicate_commands then redis.replicate_commands() end " +
+        "local time = redis.call('time') " +
+        "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+        "local window = tonumber(ARGV[1]) " +
+        "redis.call('zremrangebyscore', KEYS[1], 0, now - window) " +
+        "if redis.call('zcard', KEYS[1]) >= tonumber(ARGV[2]) then return 0 end " +
+        "redis.call('zadd', KEYS[1], now, now .. '-' .. ARGV[3]) " +
+        "redis.call('pexpire', KEYS[1], window) " +
+        "return 1";
+
+    /**
+     * 尝试记录一次请求
+     *
+     * @param key    限流key
+     * @param count  窗口内最大请求数
+     * @param window 窗口大小(秒)
+     * @return 是否放行
+     */
+    public boolean tryAcquire(String key, int count, int window) {
+        Long result = RedisUtils.getClient().getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+            SLIDING_WINDOW_SCRIPT, RScript.ReturnType.INTEGER, Collections.singletonList(key),
+            String.valueOf(window * 1000L), String.valueOf(count), Long.toHexString(ThreadLocalRandom.current().nextLong()));
+        return result != null && result == 1L;
+    }
+
+}
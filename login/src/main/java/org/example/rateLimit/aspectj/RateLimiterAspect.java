@@ -1,14 +1,22 @@
 package org.example.rateLimit.aspectj;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.example.constant.Constants;
+import org.example.domain.em.LimitMode;
 import org.example.domain.em.LimitType;
 import org.example.exception.ServiceException;
+import org.example.rateLimit.AcquireResult;
+import org.example.rateLimit.ConcurrencyLimiter;
+import org.example.rateLimit.LeasedRateLimiter;
 import org.example.rateLimit.RateLimiter;
+import org.example.rateLimit.RateLimiterMetrics;
+import org.example.rateLimit.SlidingWindowRateLimiter;
 import org.example.utils.*;
 import org.redisson.api.RateType;
 import org.springframework.context.expression.BeanFactoryResolver;
@@ -19,19 +27,46 @@ import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParserContext;
 import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+@Slf4j
 @Aspect
 @Component
+@RequiredArgsConstructor
 public class RateLimiterAspect {
 
     /**
-     * 定义spel表达式解析器
+     * 本地租借 + Redis 两级限流器
      */
-    private final ExpressionParser parser = new SpelExpressionParser();
+    private final LeasedRateLimiter leasedRateLimiter;
+
+    /**
+     * 滑动窗口限流器
+     */
+    private final SlidingWindowRateLimiter slidingWindowRateLimiter;
+
+    /**
+     * 并发数限制器
+     */
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    /**
+     * 限流指标
+     */
+    private final RateLimiterMetrics rateLimiterMetrics;
+
+    /**
+     * 定义spel表达式解析器，可编译的表达式在多次解释执行后编译为字节码
+     */
+    private final ExpressionParser parser = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.MIXED, RateLimiterAspect.class.getClassLoader()));
     /**
      * 定义spel解析模版
      */
@@ -41,27 +76,51 @@ public class RateLimiterAspect {
      */
     private final ParameterNameDiscoverer pnd = new DefaultParameterNameDiscoverer();
 
+    /**
+     * 每个方法预先解析好的限流key
+     */
+    private final Map<Method, KeyPlan> keyPlans = new ConcurrentHashMap<>();
+
+    private volatile BeanFactoryResolver beanResolver;
 
-    @Before("@annotation(rateLimiter)")
-    public void doBefore(JoinPoint point, RateLimiter rateLimiter) {
+    @Around("@annotation(rateLimiter)")
+    public Object doAround(ProceedingJoinPoint point, RateLimiter rateLimiter) throws Throwable {
         int time = rateLimiter.time();
         int count = rateLimiter.count();
-        int timeout = rateLimiter.timeout();
+        LimitMode mode = rateLimiter.mode();
+        String combineKey;
+        String permitId = null;
         try {
-            String combineKey = getCombineKey(rateLimiter, point);
-            RateType rateType = RateType.OVERALL;
-            if (rateLimiter.limitType() == LimitType.CLUSTER) {
-                rateType = RateType.PER_CLIENT;
-            }
-            long number = RedisUtils.rateLimiter(combineKey, rateType, count, time, timeout);
-            if (number == -1) {
+            long start = System.nanoTime();
+            Method targetMethod = ((MethodSignature) point.getSignature()).getMethod();
+            KeyPlan plan = keyPlans.computeIfAbsent(targetMethod, m -> compile(m, rateLimiter));
+            combineKey = getCombineKey(plan, rateLimiter, targetMethod, point);
+            long acquireStart = System.nanoTime();
+            AcquireResult result = switch (mode) {
+                case SLIDING_WINDOW -> slidingWindowRateLimiter.tryAcquire(combineKey, count, time)
+                    ? AcquireResult.REDIS : AcquireResult.REJECTED;
+                case CONCURRENCY -> {
+                    permitId = concurrencyLimiter.tryAcquire(combineKey, count, time);
+                    yield permitId != null ? AcquireResult.REDIS : AcquireResult.REJECTED;
+                }
+                default -> {
+                    RateType rateType = RateType.OVERALL;
+                    if (rateLimiter.limitType() == LimitType.CLUSTER) {
+                        rateType = RateType.PER_CLIENT;
+                    }
+                    yield leasedRateLimiter.tryAcquire(combineKey, rateType, count, time, rateLimiter.timeout());
+                }
+            };
+            long end = System.nanoTime();
+            rateLimiterMetrics.record(plan.name(), mode, combineKey, result, end - acquireStart, end - start);
+            if (!result.isAllowed()) {
                 String message = rateLimiter.message();
                 if (StringUtils.startsWith(message, "{") && StringUtils.endsWith(message, "}")) {
                     message = MessageUtils.message(StringUtils.substring(message, 1, message.length() - 1));
                 }
                 throw new ServiceException(message);
             }
-            System.out.println("限制令牌 => " + count + ", 剩余令牌 => " + number + ", 缓存key => '" + combineKey + "'");
+            log.debug("限流模式 => {}, 限制次数 => {}, 缓存key => '{}'", mode, count, combineKey);
         } catch (Exception e) {
             if (e instanceof ServiceException) {
                 throw e;
@@ -69,36 +128,70 @@ public class RateLimiterAspect {
                 throw new RuntimeException("服务器限流异常，请稍候再试", e);
             }
         }
+        if (permitId == null) {
+            return point.proceed();
+        }
+        try {
+            return point.proceed();
+        } finally {
+            concurrencyLimiter.release(combineKey, permitId);
+        }
     }
 
-    private String getCombineKey(RateLimiter rateLimiter, JoinPoint point) {
-        String key = rateLimiter.key();
-        // 判断 key 不为空 和 不是表达式
-        if (StringUtils.isNotBlank(key) && StringUtils.containsAny(key, "#")) {
-            MethodSignature signature = (MethodSignature) point.getSignature();
-            Method targetMethod = signature.getMethod();
-            Object[] args = point.getArgs();
+    private String getCombineKey(KeyPlan plan, RateLimiter rateLimiter, Method targetMethod, JoinPoint point) {
+        String key = plan.constantKey();
+        if (plan.expression() != null) {
             MethodBasedEvaluationContext context =
-                    new MethodBasedEvaluationContext(null, targetMethod, args, pnd);
-            context.setBeanResolver(new BeanFactoryResolver(SpringUtils.getBeanFactory()));
-            Expression expression;
-            if (StringUtils.startsWith(key, parserContext.getExpressionPrefix())
-                    && StringUtils.endsWith(key, parserContext.getExpressionSuffix())) {
-                expression = parser.parseExpression(key, parserContext);
-            } else {
-                expression = parser.parseExpression(key);
-            }
-            key = expression.getValue(context, String.class);
+                    new MethodBasedEvaluationContext(null, targetMethod, point.getArgs(), pnd);
+            context.setBeanResolver(getBeanResolver());
+            key = plan.expression().getValue(context, String.class);
         }
-        StringBuilder stringBuffer = new StringBuilder(Constants.RATE_LIMIT_KEY);
-        stringBuffer.append(ServletUtils.getRequest().getRequestURI()).append(":");
+        String prefix = Constants.RATE_LIMIT_KEY + ServletUtils.getRequest().getRequestURI() + ":";
         if (rateLimiter.limitType() == LimitType.IP) {
             // 获取请求ip
-            stringBuffer.append(ServletUtils.getClientIP()).append(":");
+            return prefix + ServletUtils.getClientIP() + ":" + key;
         } else if (rateLimiter.limitType() == LimitType.CLUSTER) {
             // 获取客户端实例id
-            stringBuffer.append(RedisUtils.getClient().getId()).append(":");
+            return prefix + RedisUtils.getClient().getId() + ":" + key;
         }
-        return stringBuffer.append(key).toString();
+        return prefix + key;
+    }
+
+    /**
+     * 解析限流key，key 不为空且为表达式时预先解析，否则作为常量
+     */
+    private KeyPlan compile(Method method, RateLimiter rateLimiter) {
+        String name = method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+        String key = rateLimiter.key();
+        if (StringUtils.isBlank(key) || !StringUtils.containsAny(key, "#")) {
+            return new KeyPlan(name, key, null);
+        }
+        Expression expression;
+        if (StringUtils.startsWith(key, parserContext.getExpressionPrefix())
+                && StringUtils.endsWith(key, parserContext.getExpressionSuffix())) {
+            expression = parser.parseExpression(key, parserContext);
+        } else {
+            expression = parser.parseExpression(key);
+        }
+        return new KeyPlan(name, null, expression);
+    }
+
+    private BeanFactoryResolver getBeanResolver() {
+        BeanFactoryResolver resolver = beanResolver;
+        if (resolver == null) {
+            resolver = new BeanFactoryResolver(SpringUtils.getBeanFactory());
+            beanResolver = resolver;
+        }
+        return resolver;
+    }
+
+    /**
+     * 限流key解析结果
+     *
+     * @param name        限流器名称(类名#方法名)，作为指标标签
+     * @param constantKey 常量key，表达式为空时使用
+     * @param expression  解析后的表达式
+     */
+    private record KeyPlan(String name, String constantKey, Expression expression) {
     }
 }
@@ -1,6 +1,8 @@
 package org.example.runner;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.service.ISysDictTypeService;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
@@ -11,11 +13,20 @@ import org.springframework.stereotype.Component;
  * @author System
  */
 @Slf4j
+@RequiredArgsConstructor
 @Component("systemInitRunner")
 public class SystemInitRunner implements ApplicationRunner {
 
+    private final ISysDictTypeService dictTypeService;
+
     @Override
     public void run(ApplicationArguments args) throws Exception {
+        try {
+            // 预热字典本地缓存，失败时不影响启动，访问时按类型懒加载
+            dictTypeService.loadingDictCache();
+        } catch (Exception e) {
+            log.warn("字典缓存预热失败: {}", e.getMessage());
+        }
         log.info("系统初始化完成");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package org.example.service;
+
+import cn.hutool.core.thread.ExecutorBuilder;
+import cn.hutool.core.thread.ThreadUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.properties.AuthLoadProperties;
+import org.example.exception.ServiceException;
+import org.example.utils.TenantHelper;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 登录后用户数据并行加载
+ * <p>
+ * 登录、获取用户信息时相互独立的查询提交到有界线程池并行执行，请求线程同时处理自身的工作(如写入token)，
+ * 总耗时由各查询之和降为最慢的一个。任务执行时带上提交线程的动态租户，队列满时退化为在请求线程中顺序执行。
+ * 每个请求有总的时间预算，等待超过预算时返回失败，不会无限占用请求线程。
+ * 任务中只应执行数据库、缓存查询，不应依赖当前请求(Servlet、Sa-Token上下文)。
+ *
+ * @author example
+ */
+@Slf4j
+@Service
+public class AuthLoadExecutor {
+
+    private static final String TIMEOUT_MESSAGE = "加载用户信息超时，请稍后再试";
+
+    private final AuthLoadProperties properties;
+
+    private final ThreadPoolExecutor executor;
+
+    public AuthLoadExecutor(AuthLoadProperties properties) {
+        this.properties = properties;
+        int threads = Math.max(properties.getThreads(), 1);
+        this.executor = ExecutorBuilder.create()
+            .setCorePoolSize(threads)
+            .setMaxPoolSize(threads)
+            .setWorkQueue(new ArrayBlockingQueue<>(Math.max(properties.getQueueCapacity(), 1)))
+            .setThreadFactory(ThreadUtil.newNamedThreadFactory("auth-load-", true))
+            .setHandler(new ThreadPoolExecutor.CallerRunsPolicy())
+            .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 本次请求的截止时间(System.nanoTime)
+     */
+    public long deadline() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getTimeout());
+    }
+
+    /**
+     * 提交加载任务
+     *
+     * @param task 加载逻辑
+     * @return 加载结果
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        // 在提交线程中解析动态租户(可能来自登录会话)，工作线程只通过ThreadLocal读取
+        String tenantId = TenantHelper.getDynamic();
+        return CompletableFuture.supplyAsync(() -> {
+            // 队列满时在提交线程中执行，结束后恢复原值
+            String previous = TenantHelper.getThreadDynamic();
+            TenantHelper.setThreadDynamic(tenantId);
+            try {
+                return task.get();
+            } finally {
+                TenantHelper.setThreadDynamic(previous);
+            }
+        }, executor);
+    }
+
+    /**
+     * 在截止时间前等待加载结果
+     *
+     * @param future   加载任务
+     * @param deadline 截止时间，见 {@link #deadline()}
+     * @return 加载结果
+     */
+    public <T> T await(CompletableFuture<T> future, long deadline) {
+        try {
+            return future.get(Math.max(deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            log.warn("用户数据加载超过时间预算 {}ms", properties.getTimeout());
+            throw new ServiceException(TIMEOUT_MESSAGE);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ServiceException(e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException(TIMEOUT_MESSAGE);
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+package org.example.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.constant.GlobalConstants;
+import org.example.domain.entity.SysDictData;
+import org.example.domain.event.DictChangedEvent;
+import org.example.domain.model.DictSnapshot;
+import org.example.domain.vo.SysDictDataVo;
+import org.example.mapper.SysDictDataMapper;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.BaseStatusListener;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 字典本地缓存
+ * <p>
+ * 每个字典类型在进程内保存一份不可变快照({@link DictSnapshot})，启动时全量加载，未命中时按类型懒加载。
+ * 字典变更在事务提交后删除本地快照，并通过Redis topic通知其他节点删除，下次访问时重新加载。
+ *
+ * @author example
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DictCacheService {
+
+    /**
+     * 全部字典失效的通知内容
+     */
+    private static final String ALL_MESSAGE = "*";
+
+    private final SysDictDataMapper dictDataMapper;
+    private final RedissonClient redissonClient;
+
+    private final Map<String, DictSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * 本地快照失效次数，全量加载写入后若发生变化则撤销写入
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * 订阅失效通知，(重新)订阅成功时清空本地快照，避免断线期间遗漏通知
+     */
+    @PostConstruct
+    public void subscribe() {
+        RTopic topic = redissonClient.getTopic(GlobalConstants.DICT_CACHE_TOPIC, StringCodec.INSTANCE);
+        topic.addListener(String.class, (channel, message) -> evictLocal(message));
+        topic.addListener(new BaseStatusListener() {
+            @Override
+            public void onSubscribe(String channel) {
+                evictLocal(ALL_MESSAGE);
+            }
+        });
+    }
+
+    /**
+     * 获取字典快照，不存在的字典类型返回空快照
+     *
+     * @param dictType 字典类型
+     * @return 字典快照
+     */
+    public DictSnapshot get(String dictType) {
+        DictSnapshot snapshot = snapshots.get(dictType);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        return snapshots.computeIfAbsent(dictType, this::load);
+    }
+
+    /**
+     * 一次查询加载全部字典快照
+     * 加载期间发生失效时撤销本次写入，相应字典类型在下次访问时懒加载
+     */
+    public void loadAll() {
+        long evicted = evictions.get();
+        LambdaQueryWrapper<SysDictData> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(SysDictData::getStatus, "0")
+               .orderByAsc(SysDictData::getDictType)
+               .orderByAsc(SysDictData::getDictSort)
+               .orderByAsc(SysDictData::getDictCode);
+        Map<String, List<SysDictDataVo>> grouped = new HashMap<>();
+        for (SysDictData data : dictDataMapper.selectList(wrapper)) {
+            grouped.computeIfAbsent(data.getDictType(), k -> new ArrayList<>()).add(convertToVo(data));
+        }
+        grouped.forEach((dictType, datas) -> snapshots.put(dictType, new DictSnapshot(datas)));
+        if (evictions.get() != evicted) {
+            grouped.keySet().forEach(snapshots::remove);
+            log.info("字典缓存加载期间发生变更，已丢弃本次加载结果");
+            return;
+        }
+        log.info("字典缓存加载完成，共 {} 个字典类型", grouped.size());
+    }
+
+    /**
+     * 字典变更事件，事务提交后失效本地快照并通知其他节点(无事务时立即执行)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDictChanged(DictChangedEvent event) {
+        String message = event.isAll() ? ALL_MESSAGE : event.getDictType();
+        evictLocal(message);
+        try {
+            redissonClient.getTopic(GlobalConstants.DICT_CACHE_TOPIC, StringCodec.INSTANCE).publish(message);
+        } catch (Exception e) {
+            log.error("字典缓存失效通知发送失败，字典类型: {}", message, e);
+        }
+    }
+
+    private void evictLocal(String message) {
+        evictions.incrementAndGet();
+        if (ALL_MESSAGE.equals(message)) {
+            snapshots.clear();
+        } else {
+            snapshots.remove(message);
+        }
+    }
+
+    private DictSnapshot load(String dictType) {
+        LambdaQueryWrapper<SysDictData> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(SysDictData::getDictType, dictType)
+               .eq(SysDictData::getStatus, "0")
+               .orderByAsc(SysDictData::getDictSort)
+               .orderByAsc(SysDictData::getDictCode);
+        List<SysDictData> list = dictDataMapper.selectList(wrapper);
+        if (list.isEmpty()) {
+            return DictSnapshot.EMPTY;
+        }
+        return new DictSnapshot(list.stream().map(this::convertToVo).toList());
+    }
+
+    private SysDictDataVo convertToVo(SysDictData entity) {
+        SysDictDataVo vo = new SysDictDataVo();
+        BeanUtils.copyProperties(entity, vo);
+        return vo;
+    }
+
+}
@@ -68,6 +68,14 @@ public interface ISysMenuService {
      */
     List<SysMenu> selectMenuTreeByUserId(Long userId);
 
+    /**
+     * 根据用户ID查询前端路由
+     *
+     * @param userId 用户ID
+     * @return 路由列表
+     */
+    List<org.example.domain.vo.RouterVo> selectRoutersByUserId(Long userId);
+
     /**
      * 根据角色ID查询菜单树信息
      *
@@ -1,6 +1,7 @@
 package org.example.service;
 
 import org.example.domain.bo.SysRoleBo;
+import org.example.domain.model.OnlineUserCleanJob;
 import org.example.domain.vo.SysRoleVo;
 import org.example.domain.PageQuery;
 import org.example.domain.TableDataInfo;
@@ -200,7 +201,27 @@ public interface ISysRoleService {
      */
     int insertAuthUsers(Long roleId, Long[] userIds);
 
-    void cleanOnlineUserByRole(Long roleId);
+    /**
+     * 后台注销拥有指定角色的在线用户
+     *
+     * @param roleId 角色ID
+     * @return 注销任务，角色未绑定用户时返回null
+     */
+    OnlineUserCleanJob cleanOnlineUserByRole(Long roleId);
 
-    void cleanOnlineUser(List<Long> userIds);
+    /**
+     * 后台注销指定用户的在线登录
+     *
+     * @param userIds 用户ID集合
+     * @return 注销任务，用户为空时返回null
+     */
+    OnlineUserCleanJob cleanOnlineUser(List<Long> userIds);
+
+    /**
+     * 查询在线用户注销任务状态
+     *
+     * @param jobId 任务ID
+     * @return 任务状态，不存在、已过期或不属于当前租户时返回null
+     */
+    OnlineUserCleanJob getCleanOnlineJob(String jobId);
 }
\ No newline at end of file
@@ -0,0 +1,194 @@
+package org.example.service;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import lombok.extern.slf4j.Slf4j;
+import org.example.utils.RedisUtils;
+import org.redisson.api.RScript;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 登录失败计数器
+ * <p>
+ * 每次登录尝试先占用一次计数，递增与设置过期时间在同一个Lua脚本中完成，返回计数与剩余锁定时间，一次往返即可判断是否锁定；
+ * 认证成功后异步清除计数。Redis不可用时退回本地计数：按时间分桶，每桶为容量固定的LRU，过期的桶整体丢弃，
+ * 大量不同用户名的尝试只会挤掉最久未访问的计数，内存占用有上限。
+ *
+ * @author example
+ */
+@Slf4j
+@Component
+public class LoginFailCounter {
+
+    /**
+     * KEYS[1] 计数key；ARGV[1] 最大重试次数，ARGV[2] 锁定时间(毫秒)
+     * 返回 {计数, 剩余时间(毫秒)}，已锁定后的尝试只递增不续期
+     */
+    private static final String ATTEMPT_SCRIPT =
+        "local count = redis.call('incr', KEYS[1]) " +
+        "if count <= tonumber(ARGV[1]) then redis.call('pexpire', KEYS[1], ARGV[2]) end " +
+        "return {count, redis.call('pttl', KEYS[1])}";
+
+    /**
+     * KEYS[1] 计数key；计数仍存在时才递减，已过期或已清除的计数不会被减成负数、也不会变成永不过期的key
+     */
+    private static final String CANCEL_SCRIPT =
+        "if redis.call('exists', KEYS[1]) == 1 then return redis.call('decr', KEYS[1]) end " +
+        "return 0";
+
+    /**
+     * 本地计数时间桶数量，覆盖一个锁定时间
+     */
+    private static final int BUCKETS = 10;
+
+    private final long lockMillis;
+
+    private final long bucketMillis;
+
+    private final int bucketMaxSize;
+
+    private final AtomicReferenceArray<Bucket> buckets = new AtomicReferenceArray<>(BUCKETS);
+
+    public LoginFailCounter(@Value("${user.password.lockTime:10}") int lockTime,
+                            @Value("${user.password.localMaxSize:10000}") int localMaxSize) {
+        this.lockMillis = TimeUnit.MINUTES.toMillis(lockTime);
+        this.bucketMillis = Math.max(1L, lockMillis / BUCKETS);
+        this.bucketMaxSize = Math.max(1, localMaxSize / BUCKETS);
+    }
+
+    /**
+     * 记录一次登录尝试
+     *
+     * @param key      计数key
+     * @param maxCount 最大重试次数
+     * @return 计数(包含本次)与剩余锁定时间
+     */
+    public Attempt attempt(String key, int maxCount) {
+        try {
+            List<Object> result = RedisUtils.getClient().getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+                ATTEMPT_SCRIPT, RScript.ReturnType.MULTI, Collections.singletonList(key),
+                String.valueOf(maxCount), String.valueOf(lockMillis));
+            return new Attempt(((Long) result.get(0)).intValue(), Math.max(0L, (Long) result.get(1)));
+        } catch (Exception e) {
+            log.warn("Redis不可用，登录失败计数使用本地存储: {}", e.getMessage());
+            return new Attempt(incrementLocal(key), lockMillis);
+        }
+    }
+
+    /**
+     * 认证成功，清除计数
+     *
+     * @param key 计数key
+     */
+    public void reset(String key) {
+        removeLocal(key);
+        try {
+            RedisUtils.getClient().getBucket(key, StringCodec.INSTANCE).deleteAsync();
+        } catch (Exception e) {
+            log.warn("清除登录失败计数失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 撤销本次占用的计数(认证过程出现非密码错误的异常时)
+     *
+     * @param key 计数key
+     */
+    public void cancel(String key) {
+        decrementLocal(key);
+        try {
+            RedisUtils.getClient().getScript(StringCodec.INSTANCE).evalAsync(RScript.Mode.READ_WRITE,
+                CANCEL_SCRIPT, RScript.ReturnType.INTEGER, Collections.singletonList(key));
+        } catch (Exception e) {
+            log.warn("撤销登录失败计数失败: {}", e.getMessage());
+        }
+    }
+
+    private int incrementLocal(String key) {
+        long now = System.currentTimeMillis();
+        long epoch = now / bucketMillis;
+        int index = (int) (epoch % BUCKETS);
+        Bucket bucket = buckets.get(index);
+        while (bucket == null || bucket.epoch != epoch) {
+            Bucket fresh = new Bucket(epoch, bucketMaxSize);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                bucket = fresh;
+            } else {
+                bucket = buckets.get(index);
+            }
+        }
+        bucket.counts.get(key, false, AtomicInteger::new).incrementAndGet();
+
+        // 累加锁定时间内所有桶的计数
+        int total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            Bucket b = buckets.get(i);
+            if (b != null && epoch - b.epoch < BUCKETS) {
+                AtomicInteger count = b.counts.get(key, false);
+                if (count != null) {
+                    total += count.get();
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 撤销本地计数：从最新的时间桶开始，找到第一个仍有计数的桶减一
+     */
+    private void decrementLocal(String key) {
+        long epoch = System.currentTimeMillis() / bucketMillis;
+        for (int i = 0; i < BUCKETS; i++) {
+            Bucket bucket = buckets.get((int) ((epoch - i) % BUCKETS));
+            if (bucket == null || bucket.epoch != epoch - i) {
+                continue;
+            }
+            AtomicInteger count = bucket.counts.get(key, false);
+            if (count != null && count.getAndUpdate(c -> c > 0 ? c - 1 : c) > 0) {
+                return;
+            }
+        }
+    }
+
+    private void removeLocal(String key) {
+        for (int i = 0; i < BUCKETS; i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null) {
+                bucket.counts.remove(key);
+            }
+        }
+    }
+
+    /**
+     * 一次登录尝试的计数结果
+     *
+     * @param count     计数(包含本次)
+     * @param ttlMillis 剩余锁定时间(毫秒)
+     */
+    public record Attempt(int count, long ttlMillis) {
+    }
+
+    /**
+     * 本地计数时间桶
+     */
+    private static final class Bucket {
+
+        private final long epoch;
+
+        private final LRUCache<String, AtomicInteger> counts;
+
+        private Bucket(long epoch, int capacity) {
+            this.epoch = epoch;
+            this.counts = CacheUtil.newLRUCache(capacity);
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+package org.example.service;
+
+import cn.hutool.core.collection.ListUtil;
+import cn.hutool.core.thread.ExecutorBuilder;
+import cn.hutool.core.thread.ThreadUtil;
+import cn.hutool.core.util.IdUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.constant.GlobalConstants;
+import org.example.domain.event.PermissionChangedEvent;
+import org.example.domain.model.OnlineUserCleanJob;
+import org.example.utils.LoginHelper;
+import org.example.utils.RedisUtils;
+import org.example.utils.SpringUtils;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 在线用户批量注销
+ * <p>
+ * 角色变更后需要让大量用户的权限立即生效时，在后台线程中按批次失效权限快照并注销token，不阻塞管理端请求。
+ * 任务状态保存在Redis中，任意节点都可以查询进度。
+ *
+ * @author example
+ */
+@Slf4j
+@Service
+public class OnlineUserCleanService {
+
+    /**
+     * 每批处理的用户数
+     */
+    private static final int BATCH_SIZE = 1000;
+
+    /**
+     * 任务状态保留时间
+     */
+    private static final Duration JOB_TTL = Duration.ofHours(1);
+
+    /**
+     * 单线程依次执行，排队任务数有上限
+     */
+    private final ExecutorService executor = ExecutorBuilder.create()
+        .setCorePoolSize(1)
+        .setMaxPoolSize(1)
+        .setWorkQueue(new LinkedBlockingQueue<>(100))
+        .setThreadFactory(ThreadUtil.newNamedThreadFactory("online-clean-", true))
+        .build();
+
+    /**
+     * 提交批量注销任务
+     *
+     * @param tenantId 租户ID
+     * @param roleId   触发任务的角色ID，可为空
+     * @param userIds  需要注销的用户ID
+     * @return 任务状态
+     */
+    public OnlineUserCleanJob submit(String tenantId, Long roleId, List<Long> userIds) {
+        OnlineUserCleanJob job = new OnlineUserCleanJob();
+        job.setJobId(IdUtil.fastSimpleUUID());
+        job.setTenantId(tenantId);
+        job.setRoleId(roleId);
+        job.setUserCount(userIds.size());
+        job.setStatus(OnlineUserCleanJob.STATUS_WAITING);
+        job.setSubmitTime(System.currentTimeMillis());
+        save(job);
+        log.info("在线用户批量注销任务 {} 已提交，用户 {} 个", job.getJobId(), job.getUserCount());
+        try {
+            executor.execute(() -> run(job, List.copyOf(userIds)));
+        } catch (RejectedExecutionException e) {
+            job.setStatus(OnlineUserCleanJob.STATUS_FAILED);
+            job.setMessage("排队任务过多，请稍后重试");
+            save(job);
+        }
+        return job;
+    }
+
+    /**
+     * 查询任务状态
+     *
+     * @param jobId 任务ID
+     * @return 任务状态，不存在或已过期时返回null
+     */
+    public OnlineUserCleanJob getJob(String jobId) {
+        return RedisUtils.<OnlineUserCleanJob>getCacheObject(GlobalConstants.ONLINE_CLEAN_JOB_KEY + jobId).get();
+    }
+
+    private void run(OnlineUserCleanJob job, List<Long> userIds) {
+        long start = System.currentTimeMillis();
+        job.setStatus(OnlineUserCleanJob.STATUS_RUNNING);
+        save(job);
+        try {
+            for (List<Long> batch : ListUtil.partition(userIds, BATCH_SIZE)) {
+                // 失效权限快照(无事务，立即执行)，再批量注销token
+                SpringUtils.context().publishEvent(PermissionChangedEvent.ofUsers(job.getTenantId(), batch));
+                job.setTokenCount(job.getTokenCount() + LoginHelper.logoutByUserIds(batch));
+                job.setProcessedUsers(job.getProcessedUsers() + batch.size());
+                job.setElapsed(System.currentTimeMillis() - start);
+                save(job);
+            }
+            job.setStatus(OnlineUserCleanJob.STATUS_SUCCESS);
+        } catch (Exception e) {
+            log.error("在线用户批量注销失败，任务: {}", job.getJobId(), e);
+            job.setStatus(OnlineUserCleanJob.STATUS_FAILED);
+            job.setMessage(e.getMessage());
+        }
+        job.setElapsed(System.currentTimeMillis() - start);
+        save(job);
+        log.info("在线用户批量注销任务 {} 结束，用户 {} 个，token {} 个，耗时 {}ms", job.getJobId(),
+            job.getProcessedUsers(), job.getTokenCount(), job.getElapsed());
+    }
+
+    private void save(OnlineUserCleanJob job) {
+        RedisUtils.setCacheObject(GlobalConstants.ONLINE_CLEAN_JOB_KEY + job.getJobId(), job, JOB_TTL);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+}
@@ -0,0 +1,214 @@
+package org.example.service;
+
+import cn.hutool.core.thread.ExecutorBuilder;
+import cn.hutool.core.thread.ThreadUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.properties.PasswordHashProperties;
+import org.example.exception.ServiceException;
+import org.example.exception.TooManyRequestsException;
+import org.example.utils.StringUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 密码哈希服务
+ * <p>
+ * BCrypt 校验、生成在固定大小(默认CPU核数)的专用线程池中执行，不占用请求线程的CPU时间；
+ * 等待队列有上限，队列满或等待超时立即返回429，撞库等突发流量不会拖垮其他接口。
+ * 启动时实测本机单次哈希耗时并给出工作因子建议；可选在登录成功时将旧工作因子的哈希升级为当前配置。
+ *
+ * @author example
+ */
+@Slf4j
+@Service
+public class PasswordHashService {
+
+    private static final String BUSY_MESSAGE = "登录请求过多，请稍后再试";
+
+    private final PasswordHashProperties properties;
+
+    private final BCryptPasswordEncoder encoder;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timer waitTimer;
+    private final Timer matchTimer;
+    private final Timer encodeTimer;
+    private final Counter rejected;
+
+    /**
+     * 启动校准测得的单次哈希耗时(毫秒)
+     */
+    private volatile double calibratedMillis;
+
+    public PasswordHashService(PasswordHashProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.encoder = new BCryptPasswordEncoder(properties.getStrength());
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        this.executor = ExecutorBuilder.create()
+            .setCorePoolSize(threads)
+            .setMaxPoolSize(threads)
+            .setWorkQueue(new ArrayBlockingQueue<>(Math.max(properties.getQueueCapacity(), 1)))
+            .setThreadFactory(ThreadUtil.newNamedThreadFactory("password-hash-", true))
+            .setHandler(new ThreadPoolExecutor.AbortPolicy())
+            .build();
+        this.waitTimer = Timer.builder("password.hash.wait").description("密码哈希排队耗时").register(registry);
+        this.matchTimer = Timer.builder("password.hash.time").description("密码哈希计算耗时").tag("op", "matches").register(registry);
+        this.encodeTimer = Timer.builder("password.hash.time").description("密码哈希计算耗时").tag("op", "encode").register(registry);
+        this.rejected = Counter.builder("password.hash.rejected").description("哈希线程池繁忙被拒绝的次数").register(registry);
+        Gauge.builder("password.hash.queue.size", executor, e -> e.getQueue().size())
+            .description("密码哈希等待队列长度").register(registry);
+        Gauge.builder("password.hash.calibrated", this, s -> s.calibratedMillis)
+            .description("启动校准测得的单次哈希耗时(毫秒)").register(registry);
+    }
+
+    /**
+     * 校验密码
+     *
+     * @param rawPassword     原始密码
+     * @param encodedPassword 加密后的密码
+     * @return 是否匹配
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (StringUtils.isBlank(rawPassword) || StringUtils.isBlank(encodedPassword)) {
+            return false;
+        }
+        return execute(matchTimer, () -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 加密密码
+     *
+     * @param rawPassword 原始密码
+     * @return 加密后的密码
+     */
+    public String encode(String rawPassword) {
+        if (StringUtils.isBlank(rawPassword)) {
+            throw new IllegalArgumentException("密码不能为空");
+        }
+        return execute(encodeTimer, () -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * 登录成功后按需升级密码哈希：未开启或工作因子与配置一致时不处理。
+     * 重新哈希在线程池空闲时异步执行，线程池繁忙时跳过，下次登录再升级。
+     *
+     * @param rawPassword     原始密码
+     * @param encodedPassword 当前的密码哈希
+     * @param onRehashed      新哈希的保存方法
+     */
+    public void rehashIfNeeded(String rawPassword, String encodedPassword, Consumer<String> onRehashed) {
+        if (!Boolean.TRUE.equals(properties.getRehashOnLogin()) || strengthOf(encodedPassword) == properties.getStrength()) {
+            return;
+        }
+        if (executor.getQueue().remainingCapacity() < executor.getQueue().size()) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    onRehashed.accept(encodeTimer.record(() -> encoder.encode(rawPassword)));
+                } catch (Exception e) {
+                    log.warn("密码哈希升级失败: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException ignored) {
+            // 繁忙时跳过
+        }
+    }
+
+    /**
+     * 启动后实测本机单次哈希耗时，并按每增加1工作因子耗时翻倍估算建议值
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void calibrate() {
+        int rounds = properties.getCalibrationRounds();
+        if (rounds <= 0) {
+            return;
+        }
+        // 第一次包含类加载与JIT，不计入
+        encoder.encode("calibration");
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            encoder.encode("calibration");
+        }
+        calibratedMillis = (System.nanoTime() - start) / 1_000_000.0 / rounds;
+        int suggested = properties.getStrength()
+            + (int) Math.floor(Math.log(properties.getTargetMillis() / calibratedMillis) / Math.log(2));
+        suggested = Math.max(4, Math.min(31, suggested));
+        log.info("BCrypt 工作因子 {} 单次耗时 {} ms，{} 个哈希线程约每秒 {} 次；目标 {} ms 建议工作因子 {}",
+            properties.getStrength(), String.format("%.1f", calibratedMillis), executor.getCorePoolSize(),
+            (long) (executor.getCorePoolSize() * 1000 / calibratedMillis), properties.getTargetMillis(), suggested);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T execute(Timer timer, Supplier<T> task) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return timer.record(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException(BUSY_MESSAGE);
+        }
+        try {
+            return future.get(properties.getWaitTimeout(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new TooManyRequestsException(BUSY_MESSAGE);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceException("密码校验被中断");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ServiceException("密码校验失败");
+        }
+    }
+
+    /**
+     * 从 $2a$10$... 格式的哈希中解析工作因子，无法解析时返回-1
+     */
+    private static int strengthOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return -1;
+        }
+        int index = encodedPassword.indexOf('$', 1);
+        if (index < 0 || index + 3 > encodedPassword.length()) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(index + 1, index + 3));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+}
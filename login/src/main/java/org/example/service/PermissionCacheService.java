@@ -0,0 +1,278 @@
+package org.example.service;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import cn.hutool.core.util.StrUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.properties.PermissionCacheProperties;
+import org.example.constant.GlobalConstants;
+import org.example.constant.TenantConstants;
+import org.example.domain.event.PermissionChangedEvent;
+import org.example.domain.model.PermissionSnapshot;
+import org.redisson.api.RAtomicLongAsync;
+import org.redisson.api.RBatch;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.BaseStatusListener;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 用户权限缓存
+ * <p>
+ * 按 租户+用户 缓存不可变的权限快照，读取顺序为 本地缓存 -> Redis -> 数据库。
+ * 用户授权变更时递增用户权限版本号并删除对应用户的快照；角色、菜单变更时递增租户权限版本号({@link PermissionVersionService})，版本落后的快照全部视为失效。
+ * 加载快照前先读取两个版本号，回写前版本号已变化的快照直接丢弃，避免并发加载把失效前查询到的旧数据写回缓存。
+ * 失效通过Redis topic广播到所有节点，事件在事务提交后处理，避免读到未提交的数据。
+ *
+ * @author example
+ */
+@Slf4j
+@Service
+public class PermissionCacheService {
+
+    /**
+     * 用户快照失效消息类型，消息格式为 {租户}|u|{用户ID,...}
+     */
+    private static final String USER_MESSAGE = "u";
+
+    private static final char MESSAGE_SEPARATOR = PermissionVersionService.MESSAGE_SEPARATOR;
+
+    private final ISysRoleService roleService;
+    private final ISysMenuService menuService;
+    private final PermissionVersionService versionService;
+    private final RedissonClient redissonClient;
+    private final PermissionCacheProperties properties;
+
+    private final LRUCache<String, PermissionSnapshot> localCache;
+
+    /**
+     * 本节点处理过的用户快照失效次数，写入本地缓存后若发生变化则撤销写入
+     */
+    private final AtomicLong localEvictions = new AtomicLong();
+
+    public PermissionCacheService(ISysRoleService roleService, ISysMenuService menuService, PermissionVersionService versionService,
+                                  RedissonClient redissonClient, PermissionCacheProperties properties) {
+        this.roleService = roleService;
+        this.menuService = menuService;
+        this.versionService = versionService;
+        this.redissonClient = redissonClient;
+        this.properties = properties;
+        this.localCache = CacheUtil.newLRUCache(properties.getLocalMaxSize(), properties.getLocalTtl() * 1000L);
+    }
+
+    /**
+     * 订阅失效通知，(重新)订阅成功时清空本地缓存，避免断线期间遗漏通知
+     */
+    @PostConstruct
+    public void subscribe() {
+        if (!isEnabled()) {
+            return;
+        }
+        RTopic topic = redissonClient.getTopic(GlobalConstants.PERMISSION_CACHE_TOPIC, StringCodec.INSTANCE);
+        topic.addListener(String.class, (channel, message) -> onMessage(message));
+        topic.addListener(new BaseStatusListener() {
+            @Override
+            public void onSubscribe(String channel) {
+                localCache.clear();
+            }
+        });
+    }
+
+    /**
+     * 获取当前租户下指定用户的权限快照
+     *
+     * @param userId 用户ID
+     * @return 权限快照
+     */
+    public PermissionSnapshot getSnapshot(Long userId) {
+        if (!isEnabled()) {
+            return new PermissionSnapshot(menuService.selectMenuPermsByUserId(userId),
+                roleService.selectRolePermissionByUserId(userId), 0L, 0L);
+        }
+        String tenantId = versionService.currentTenantId();
+        String cacheKey = cacheKey(tenantId, userId);
+        PermissionSnapshot snapshot = localCache.get(cacheKey, false);
+        if (snapshot != null && !versionService.isStale(tenantId, snapshot.getVersion())) {
+            return snapshot;
+        }
+
+        // 一次往返同时读取快照、租户版本号与用户版本号
+        long evictions = localEvictions.get();
+        RBatch batch = redissonClient.createBatch();
+        batch.getBucket(GlobalConstants.PERMISSION_SNAPSHOT_KEY + cacheKey).getAsync();
+        batch.getAtomicLong(GlobalConstants.PERMISSION_VERSION_KEY + tenantId).getAsync();
+        batch.getAtomicLong(GlobalConstants.PERMISSION_USER_VERSION_KEY + cacheKey).getAsync();
+        List<?> responses = batch.execute().getResponses();
+        long version = (Long) responses.get(1);
+        long userVersion = (Long) responses.get(2);
+        versionService.update(tenantId, version);
+
+        if (responses.get(0) instanceof PermissionSnapshot cached
+                && cached.getVersion() == version && cached.getUserVersion() == userVersion) {
+            putLocal(cacheKey, cached, evictions);
+            return cached;
+        }
+
+        snapshot = new PermissionSnapshot(menuService.selectMenuPermsByUserId(userId),
+            roleService.selectRolePermissionByUserId(userId), version, userVersion);
+        writeBack(cacheKey, snapshot, evictions);
+        log.debug("用户 {} 权限快照已加载，权限 {} 条，角色 {} 条", userId,
+            snapshot.getPermissions().size(), snapshot.getRoles().size());
+        return snapshot;
+    }
+
+    /**
+     * 读取当前租户与用户的权限版本号，需在查询权限数据之前读取，保证写入的快照不会比数据新
+     *
+     * @param userId 用户ID
+     * @return 版本号
+     */
+    public Stamp currentStamp(Long userId) {
+        if (!isEnabled()) {
+            return new Stamp(0L, 0L, 0L);
+        }
+        long evictions = localEvictions.get();
+        String tenantId = versionService.currentTenantId();
+        try {
+            long userVersion = redissonClient.getAtomicLong(
+                GlobalConstants.PERMISSION_USER_VERSION_KEY + cacheKey(tenantId, userId)).get();
+            return new Stamp(versionService.getVersion(tenantId), userVersion, evictions);
+        } catch (Exception e) {
+            log.warn("用户 {} 权限版本号读取失败: {}", userId, e.getMessage());
+            // 版本号未知，预热时直接跳过
+            return new Stamp(-1L, -1L, evictions);
+        }
+    }
+
+    /**
+     * 写入已查询好的权限快照(登录时预热)，之后的首次鉴权无需再查询；期间用户权限发生变更时放弃写入
+     *
+     * @param userId      用户ID
+     * @param stamp       查询权限数据之前通过 {@link #currentStamp(Long)} 读取的版本号
+     * @param permissions 菜单权限
+     * @param roles       角色权限
+     */
+    public void prime(Long userId, Stamp stamp, Set<String> permissions, Set<String> roles) {
+        if (!isEnabled() || stamp.version() < 0) {
+            return;
+        }
+        String cacheKey = cacheKey(versionService.currentTenantId(), userId);
+        try {
+            writeBack(cacheKey, new PermissionSnapshot(permissions, roles, stamp.version(), stamp.userVersion()), stamp.evictions());
+        } catch (Exception e) {
+            log.warn("用户 {} 权限快照预热失败: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 权限变更事件，事务提交后失效对应缓存(无事务时立即执行)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPermissionChanged(PermissionChangedEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        String tenantId = StrUtil.blankToDefault(event.getTenantId(), TenantConstants.DEFAULT_TENANT_ID);
+        try {
+            if (event.isTenantWide()) {
+                versionService.increment(tenantId);
+            } else {
+                evictUsers(tenantId, event.getUserIds());
+            }
+        } catch (Exception e) {
+            log.error("权限缓存失效处理失败，租户: {}", tenantId, e);
+        }
+    }
+
+    /**
+     * 回写快照，用户版本号在加载期间发生变化时放弃写入
+     * <p>
+     * 先比较再写入仍存在极小的窗口，但读取时会校验用户版本号，窗口内写入的旧快照不会被使用
+     */
+    private void writeBack(String cacheKey, PermissionSnapshot snapshot, long evictions) {
+        long userVersion = redissonClient.getAtomicLong(GlobalConstants.PERMISSION_USER_VERSION_KEY + cacheKey).get();
+        if (userVersion != snapshot.getUserVersion()) {
+            log.debug("用户权限已变更，丢弃加载的快照: {}", cacheKey);
+            return;
+        }
+        redissonClient.getBucket(GlobalConstants.PERMISSION_SNAPSHOT_KEY + cacheKey)
+            .set(snapshot, Duration.ofSeconds(properties.getRedisTtl()));
+        putLocal(cacheKey, snapshot, evictions);
+    }
+
+    /**
+     * 写入本地缓存，写入后发现期间处理过失效通知则撤销，避免覆盖通知已删除的条目
+     */
+    private void putLocal(String cacheKey, PermissionSnapshot snapshot, long evictions) {
+        localCache.put(cacheKey, snapshot);
+        if (localEvictions.get() != evictions) {
+            localCache.remove(cacheKey);
+        }
+    }
+
+    /**
+     * 递增用户权限版本号并删除快照，版本号先于删除递增，正在加载的旧快照回写时会被丢弃
+     */
+    private void evictUsers(String tenantId, List<Long> userIds) {
+        RBatch batch = redissonClient.createBatch();
+        for (Long userId : userIds) {
+            String cacheKey = cacheKey(tenantId, userId);
+            RAtomicLongAsync userVersion = batch.getAtomicLong(GlobalConstants.PERMISSION_USER_VERSION_KEY + cacheKey);
+            userVersion.incrementAndGetAsync();
+            userVersion.expireAsync(Duration.ofSeconds(properties.getRedisTtl()));
+            batch.getBucket(GlobalConstants.PERMISSION_SNAPSHOT_KEY + cacheKey).deleteAsync();
+        }
+        removeLocal(tenantId, userIds);
+        batch.getTopic(GlobalConstants.PERMISSION_CACHE_TOPIC, StringCodec.INSTANCE).publishAsync(
+            tenantId + MESSAGE_SEPARATOR + USER_MESSAGE + MESSAGE_SEPARATOR + StrUtil.join(",", userIds));
+        batch.execute();
+    }
+
+    private void onMessage(String message) {
+        List<String> parts = StrUtil.split(message, MESSAGE_SEPARATOR);
+        if (parts.size() != 3) {
+            return;
+        }
+        String tenantId = parts.get(0);
+        if (USER_MESSAGE.equals(parts.get(1))) {
+            removeLocal(tenantId, StrUtil.split(parts.get(2), ','));
+        }
+    }
+
+    /**
+     * 删除本地快照，先递增失效计数再删除，与 {@link #putLocal} 配合保证不会留下旧快照
+     */
+    private void removeLocal(String tenantId, List<?> userIds) {
+        localEvictions.incrementAndGet();
+        for (Object userId : userIds) {
+            localCache.remove(tenantId + ":" + userId);
+        }
+    }
+
+    private boolean isEnabled() {
+        return Boolean.TRUE.equals(properties.getEnabled());
+    }
+
+    private static String cacheKey(String tenantId, Long userId) {
+        return tenantId + ":" + userId;
+    }
+
+    /**
+     * 加载权限数据前读取的版本号
+     *
+     * @param version     租户权限版本号，小于0代表读取失败
+     * @param userVersion 用户权限版本号
+     * @param evictions   本节点已处理的失效次数
+     */
+    public record Stamp(long version, long userVersion, long evictions) {
+    }
+
+}
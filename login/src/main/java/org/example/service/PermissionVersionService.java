@@ -0,0 +1,112 @@
+package org.example.service;
+
+import cn.hutool.core.util.StrUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.constant.GlobalConstants;
+import org.example.constant.TenantConstants;
+import org.example.utils.TenantHelper;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.BaseStatusListener;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 租户权限版本号
+ * <p>
+ * 角色、菜单变更时递增，权限快照、菜单路由树等派生缓存记录生成时的版本号，落后于当前版本即视为失效。
+ * 版本号保存在Redis中，变更通过topic广播，各节点在本地保存已知的最新版本，校验时无需访问Redis。
+ *
+ * @author example
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PermissionVersionService {
+
+    /**
+     * 版本变更消息类型，消息格式为 {租户}|v|{版本号}
+     */
+    public static final String VERSION_MESSAGE = "v";
+
+    public static final char MESSAGE_SEPARATOR = '|';
+
+    private final RedissonClient redissonClient;
+
+    /**
+     * 各租户已知的最新权限版本号
+     */
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    /**
+     * 订阅版本变更通知，(重新)订阅成功时丢弃本地版本，避免断线期间遗漏通知
+     */
+    @PostConstruct
+    public void subscribe() {
+        RTopic topic = redissonClient.getTopic(GlobalConstants.PERMISSION_CACHE_TOPIC, StringCodec.INSTANCE);
+        topic.addListener(String.class, (channel, message) -> onMessage(message));
+        topic.addListener(new BaseStatusListener() {
+            @Override
+            public void onSubscribe(String channel) {
+                versions.clear();
+            }
+        });
+    }
+
+    /**
+     * 当前租户ID，未启用多租户时使用默认租户
+     */
+    public String currentTenantId() {
+        return StrUtil.blankToDefault(TenantHelper.getTenantId(), TenantConstants.DEFAULT_TENANT_ID);
+    }
+
+    /**
+     * 获取租户当前的权限版本号，本地未知时从Redis读取
+     */
+    public long getVersion(String tenantId) {
+        return versions.computeIfAbsent(tenantId,
+            k -> redissonClient.getAtomicLong(GlobalConstants.PERMISSION_VERSION_KEY + k).get());
+    }
+
+    /**
+     * 指定版本号是否已落后于租户当前版本
+     */
+    public boolean isStale(String tenantId, long version) {
+        return version < getVersion(tenantId);
+    }
+
+    /**
+     * 记录从Redis读取到的版本号
+     */
+    public void update(String tenantId, long version) {
+        versions.merge(tenantId, version, Math::max);
+    }
+
+    /**
+     * 递增租户权限版本号并通知所有节点
+     *
+     * @return 新版本号
+     */
+    public long increment(String tenantId) {
+        long version = redissonClient.getAtomicLong(GlobalConstants.PERMISSION_VERSION_KEY + tenantId).incrementAndGet();
+        update(tenantId, version);
+        redissonClient.getTopic(GlobalConstants.PERMISSION_CACHE_TOPIC, StringCodec.INSTANCE)
+            .publish(tenantId + MESSAGE_SEPARATOR + VERSION_MESSAGE + MESSAGE_SEPARATOR + version);
+        log.info("租户 {} 权限版本更新为 {}", tenantId, version);
+        return version;
+    }
+
+    private void onMessage(String message) {
+        List<String> parts = StrUtil.split(message, MESSAGE_SEPARATOR);
+        if (parts.size() == 3 && VERSION_MESSAGE.equals(parts.get(1))) {
+            update(parts.get(0), Long.parseLong(parts.get(2)));
+        }
+    }
+
+}
@@ -1,10 +1,9 @@
 package org.example.service;
 
 import cn.dev33.satoken.stp.StpInterface;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.example.domain.vo.SysRoleVo;
+import org.example.config.satoken.PermissionIndex;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -16,7 +15,7 @@ import java.util.stream.Collectors;
 /**
  * 自定义权限验证接口扩展
  * 实现基于角色的访问控制(RBAC)机制
- * 从真实数据库获取用户角色和权限信息
+ * 用户角色和权限信息经 {@link PermissionCacheService} 缓存，未命中时从数据库获取
  *
  * @author example
  */
@@ -24,50 +23,42 @@ import java.util.stream.Collectors;
 @Slf4j
 public class SaPermissionImpl implements StpInterface {
     
-    private final ISysRoleService roleService;
-    private final ISysMenuService menuService;
-    
-    public SaPermissionImpl(ISysRoleService roleService, ISysMenuService menuService) {
-        this.roleService = roleService;
-        this.menuService = menuService;
-        System.err.println("=== SaPermissionImpl 构造函数被调用 ===");
-        log.error("=== SaPermissionImpl 构造函数被调用 ===");
+    private final PermissionCacheService permissionCacheService;
+
+    /**
+     * 默认权限与角色的编译索引
+     */
+    private final PermissionIndex defaultPermissionIndex;
+    private final PermissionIndex defaultRoleIndex;
+
+    public SaPermissionImpl(PermissionCacheService permissionCacheService) {
+        this.permissionCacheService = permissionCacheService;
+        this.defaultPermissionIndex = PermissionIndex.of(getDefaultPermissions());
+        this.defaultRoleIndex = PermissionIndex.of(getDefaultRoles());
     }
 
     /**
      * 返回一个账号所拥有的权限码集合
-     * 从数据库查询用户的菜单权限
+     * 优先读取权限缓存，未命中时从数据库查询用户的菜单权限
+     * 返回快照中已编译的 {@link PermissionIndex}，鉴权时无需复制列表与逐条匹配
      */
     @Override
     public List<String> getPermissionList(Object loginId, String loginType) {
-        // 检查loginId是否有效
-        if (loginId == null || StringUtils.isBlank(loginId.toString())) {
-            log.warn("getPermissionList: loginId is null or blank, returning default permissions.");
-            return getDefaultPermissions();
+        Long userId = parseUserId(loginId);
+        if (userId == null) {
+            return defaultPermissionIndex;
         }
-
         try {
-            // 解析loginId获取用户ID
-            Long userId = Long.parseLong(loginId.toString());
-            log.info("获取用户 {} 的权限列表", userId);
-            
-            // 从数据库查询权限（服务层返回Set）
-            Set<String> permsSet = menuService.selectMenuPermsByUserId(userId);
-            
+            PermissionIndex permissions = permissionCacheService.getSnapshot(userId).getPermissionIndex();
             // 如果权限为空，则返回默认权限
-            if (permsSet == null || permsSet.isEmpty()) {
-                log.warn("用户 {} 的权限列表为空，返回默认权限", userId);
-                return getDefaultPermissions();
+            if (permissions.isEmpty()) {
+                log.debug("用户 {} 的权限列表为空，返回默认权限", userId);
+                return defaultPermissionIndex;
             }
-            
-            log.info("用户 {} 的权限列表获取成功，共 {} 条", userId, permsSet.size());
-            return new ArrayList<>(permsSet);
-        } catch (NumberFormatException e) {
-            log.error("getPermissionList: Invalid loginId format: {}", loginId, e);
-            return getDefaultPermissions();
+            return permissions;
         } catch (Exception e) {
             log.error("获取用户权限列表时发生异常", e);
-            return getDefaultPermissions();
+            return defaultPermissionIndex;
         }
     }
 
@@ -76,34 +67,39 @@ public class SaPermissionImpl implements StpInterface {
      */
     @Override
     public List<String> getRoleList(Object loginId, String loginType) {
-        // 检查loginId是否有效
-        if (loginId == null || StringUtils.isBlank(loginId.toString())) {
-            log.warn("getRoleList: loginId is null or blank, returning default roles.");
-            return getDefaultRoles();
+        Long userId = parseUserId(loginId);
+        if (userId == null) {
+            return defaultRoleIndex;
         }
-
         try {
-            // 解析loginId获取用户ID
-            Long userId = Long.parseLong(loginId.toString());
-            log.info("获取用户 {} 的角色列表", userId);
-            
-            // 从数据库查询角色（服务层返回Set）
-            Set<String> rolesSet = roleService.selectRolePermissionByUserId(userId);
-            
+            PermissionIndex roles = permissionCacheService.getSnapshot(userId).getRoleIndex();
             // 如果角色为空，则返回默认角色
-            if (rolesSet == null || rolesSet.isEmpty()) {
-                log.warn("用户 {} 的角色列表为空，返回默认角色", userId);
-                return getDefaultRoles();
+            if (roles.isEmpty()) {
+                log.debug("用户 {} 的角色列表为空，返回默认角色", userId);
+                return defaultRoleIndex;
             }
-            
-            log.info("用户 {} 的角色列表获取成功，共 {} 条", userId, rolesSet.size());
-            return new ArrayList<>(rolesSet);
-        } catch (NumberFormatException e) {
-            log.error("getRoleList: Invalid loginId format: {}", loginId, e);
-            return getDefaultRoles();
+            return roles;
         } catch (Exception e) {
             log.error("获取用户角色列表时发生异常", e);
-            return getDefaultRoles();
+            return defaultRoleIndex;
+        }
+    }
+
+    /**
+     * 解析loginId获取用户ID，用户id在loginId的最后一部分(如 sys_user:1)
+     */
+    private Long parseUserId(Object loginId) {
+        // 检查loginId是否有效
+        if (loginId == null || StringUtils.isBlank(loginId.toString())) {
+            log.warn("loginId is null or blank, returning defaults.");
+            return null;
+        }
+        String value = loginId.toString();
+        try {
+            return Long.parseLong(value.substring(value.lastIndexOf(':') + 1));
+        } catch (NumberFormatException e) {
+            log.error("Invalid loginId format: {}", loginId);
+            return null;
         }
     }
 
@@ -1,22 +1,30 @@
 package org.example.service;
 
+import cn.hutool.http.useragent.UserAgent;
+import cn.hutool.http.useragent.UserAgentUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.example.constant.Constants;
+import org.example.constant.TenantConstants;
+import org.example.domain.entity.SysLogininfor;
 import org.example.domain.entity.SysUser;
 import org.example.domain.model.LoginUser;
 import org.example.exception.UserException;
 import jakarta.annotation.Resource;
+import org.example.log.AuditLogPipeline;
+import org.example.utils.ServletUtils;
+import org.example.utils.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * 登录校验方法
@@ -27,11 +35,10 @@ import java.util.Map;
 public class SysLoginService {
 
     @Resource
-    private RedisTemplate<String, Object> redisTemplate;
-    
-    // 内存存储，当Redis不可用时使用
-    private final Map<String, Integer> loginFailStore = new ConcurrentHashMap<>();
-    private final Map<String, Long> loginFailTimeStore = new ConcurrentHashMap<>();
+    private LoginFailCounter loginFailCounter;
+
+    @Resource
+    private AuditLogPipeline auditLogPipeline;
 
     @Value("${user.password.maxRetryCount:5}")
     private int maxRetryCount;
@@ -77,78 +84,50 @@ public class SysLoginService {
 
     /**
      * 登录校验
+     * <p>
+     * 每次尝试只访问一次Redis：先占用一次失败计数并取得锁定状态，认证成功后再异步清除计数。
+     *
+     * @param tenantId      租户ID
+     * @param username      用户名
+     * @param authenticator 认证逻辑，认证失败时返回null
+     * @return 认证结果
      */
-    public void checkLogin(String tenantId, String username, boolean passwordError) {
+    public <T> T checkLogin(String tenantId, String username, Supplier<T> authenticator) {
         String errorKey = Constants.PWD_ERR_CNT_KEY + username;
         String loginFail = Constants.LOGIN_FAIL;
-
-        // 获取用户登录错误次数，默认为0
-        Integer errorNumber = getFailCount(errorKey);
-        if (errorNumber == null) {
-            errorNumber = 0;
-        }
+        LoginFailCounter.Attempt attempt = loginFailCounter.attempt(errorKey, maxRetryCount);
 
         // 锁定时间内登录 则踢出
-        if (errorNumber >= maxRetryCount) {
-            recordLoginInfo(tenantId, username, loginFail, 
+        if (attempt.count() > maxRetryCount) {
+            long remaining = Math.max(1L, TimeUnit.MILLISECONDS.toMinutes(attempt.ttlMillis() + 59_999L));
+            recordLoginInfo(tenantId, username, loginFail,
                 String.format("密码输入错误%s次，帐户锁定%s分钟", maxRetryCount, lockTime));
-            throw new UserException("user.password.retry.limit.exceed", maxRetryCount, lockTime);
+            throw new UserException("密码输入错误%s次，帐户锁定，请%s分钟后重试", maxRetryCount, remaining);
         }
 
-        if (passwordError) {
-            // 错误次数递增
-            errorNumber++;
-            setFailCount(errorKey, errorNumber);
-            // 达到规定错误次数 则锁定登录
-            if (errorNumber >= maxRetryCount) {
-                recordLoginInfo(tenantId, username, loginFail, 
-                    String.format("密码输入错误%s次，帐户锁定%s分钟", maxRetryCount, lockTime));
-                throw new UserException("user.password.retry.limit.exceed", maxRetryCount, lockTime);
-            } else {
-                // 未达到规定错误次数
-                recordLoginInfo(tenantId, username, loginFail, 
-                    String.format("密码输入错误%s次", errorNumber));
-                throw new UserException("user.password.retry.limit.count", errorNumber);
-            }
-        } else {
-            // 登录成功 清空错误次数
-            clearFailCount(errorKey);
-        }
-    }
-
-    private Integer getFailCount(String key) {
+        T result;
         try {
-            return (Integer) redisTemplate.opsForValue().get(key);
-        } catch (Exception e) {
-            // Redis不可用时使用内存存储
-            Long expireTime = loginFailTimeStore.get(key);
-            if (expireTime != null && System.currentTimeMillis() > expireTime) {
-                loginFailStore.remove(key);
-                loginFailTimeStore.remove(key);
-                return null;
-            }
-            return loginFailStore.get(key);
+            result = authenticator.get();
+        } catch (RuntimeException e) {
+            // 非密码错误(如服务繁忙)不计入失败次数
+            loginFailCounter.cancel(errorKey);
+            throw e;
         }
-    }
-
-    private void setFailCount(String key, int count) {
-        try {
-            redisTemplate.opsForValue().set(key, count, Duration.ofMinutes(lockTime));
-        } catch (Exception e) {
-            // Redis不可用时使用内存存储
-            loginFailStore.put(key, count);
-            loginFailTimeStore.put(key, System.currentTimeMillis() + lockTime * 60 * 1000);
+        if (result != null) {
+            // 登录成功 清空错误次数
+            loginFailCounter.reset(errorKey);
+            return result;
         }
-    }
 
-    private void clearFailCount(String key) {
-        try {
-            redisTemplate.delete(key);
-        } catch (Exception e) {
-            // Redis不可用时使用内存存储
-            loginFailStore.remove(key);
-            loginFailTimeStore.remove(key);
+        // 达到规定错误次数 则锁定登录
+        if (attempt.count() >= maxRetryCount) {
+            recordLoginInfo(tenantId, username, loginFail,
+                String.format("密码输入错误%s次，帐户锁定%s分钟", maxRetryCount, lockTime));
+            throw new UserException("密码输入错误%s次，帐户锁定%s分钟", maxRetryCount, lockTime);
         }
+        // 未达到规定错误次数
+        recordLoginInfo(tenantId, username, loginFail, String.format("密码输入错误%s次", attempt.count()));
+        throw new UserException("用户名或密码错误，还可尝试%s次", maxRetryCount - attempt.count());
     }
 
     /**
@@ -222,8 +201,36 @@ public class SysLoginService {
      * @param message  消息内容
      */
     public void recordLoginInfo(String tenantId, String username, String status, String message) {
-        System.out.println("租户:" + tenantId + ", 用户:" + username + ", 状态:" + status + ", 消息:" + message);
-        // 这里可以记录到数据库或日志文件
+        SysLogininfor logininfor = new SysLogininfor();
+        logininfor.setTenantId(StringUtils.blankToDefault(tenantId, TenantConstants.DEFAULT_TENANT_ID));
+        logininfor.setUserName(username);
+        logininfor.setMsg(StringUtils.substring(message, 0, 255));
+        logininfor.setLoginTime(new Date());
+        // 请求信息需在请求线程上读取
+        HttpServletRequest request = ServletUtils.getRequest();
+        if (request != null) {
+            UserAgent userAgent = UserAgentUtil.parse(request.getHeader("User-Agent"));
+            logininfor.setIpaddr(ServletUtils.getClientIP());
+            if (userAgent != null) {
+                logininfor.setBrowser(userAgent.getBrowser().getName());
+                logininfor.setOs(userAgent.getOs().getName());
+            }
+        }
+        if (StringUtils.equalsAny(status, Constants.LOGIN_SUCCESS, Constants.LOGOUT, Constants.REGISTER)) {
+            logininfor.setStatus(Constants.SUCCESS);
+        } else if (Constants.LOGIN_FAIL.equals(status)) {
+            logininfor.setStatus(Constants.FAIL);
+        }
+        auditLogPipeline.recordLogininfor(logininfor);
+    }
+
+    /**
+     * 记录登录成功后的最后登录IP与时间(异步写入)
+     *
+     * @param userId 用户ID
+     */
+    public void recordLoginUser(Long userId) {
+        auditLogPipeline.recordLogin(userId, ServletUtils.getClientIP(), LocalDateTime.now());
     }
 
     /**
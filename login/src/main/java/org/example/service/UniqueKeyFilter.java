@@ -0,0 +1,539 @@
+package org.example.service;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+import cn.hutool.core.thread.ThreadUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.properties.UniqueKeyFilterProperties;
+import org.example.constant.GlobalConstants;
+import org.example.constant.TenantConstants;
+import org.example.domain.em.UniqueKeyType;
+import org.example.domain.model.UniqueKey;
+import org.example.mapper.UniqueKeyMapper;
+import org.example.utils.StringUtils;
+import org.example.utils.TenantHelper;
+import org.redisson.api.RBatch;
+import org.redisson.api.RLock;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 唯一键布隆过滤器
+ * <p>
+ * 为用户名、角色名称、岗位编码、字典类型维护Redis位图布隆过滤器，判定为一定不存在的值直接跳过数据库查询，
+ * 抵御随机用户名的撞库与注册请求。每个租户一个位图，另有一个包含全部租户数据的全局位图，
+ * 未设置动态租户时(SQL不拼接租户条件)使用全局位图。
+ * <p>
+ * 位图按代(generation)存放：查询与新增各为一个Lua脚本，脚本内读取当前代号，一次往返且与重建切换互斥。
+ * 重建时先登记新代号，此后的新增同时写入新旧两代，等待进行中的事务提交后再从数据库流式加载，完成后原子切换。
+ * 布隆过滤器无法删除元素，删除的数据只会让对应的值继续走数据库，累计删除达到阈值后重建。
+ * 新增写入失败时把该类型标记为未就绪(本节点与Redis各一份)，查询一律判定为可能存在，直到失败之后开始的重建完成。
+ * <p>
+ * 写入、重建与查询前统一去除首尾空白并转为小写，数据库按不区分大小写的排序规则比较时，视为相同的值落在相同的位上。
+ * 位图大小与哈希次数由配置计算并写入key，修改容量或误判率后所有节点需一起重启。
+ *
+ * @author example
+ */
+@Slf4j
+@Service
+public class UniqueKeyFilter {
+
+    /**
+     * 全局位图的作用域名
+     */
+    private static final String GLOBAL_SCOPE = "*";
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    /**
+     * 未就绪时重建失败或未拿到锁的重试间隔(秒)
+     */
+    private static final long REBUILD_RETRY_SECONDS = 30;
+
+    /**
+     * KEYS[1] 当前代号，KEYS[2] 未就绪标记；ARGV[1] key前缀，ARGV[2] 作用域，ARGV[3..] 位下标
+     * 返回 -1 代表未构建或未就绪，0 代表一定不存在，1 代表可能存在
+     */
+    private static final String CONTAINS_SCRIPT =
+        "if redis.call('exists', KEYS[2]) == 1 then return -1 end " +
+        "local gen = redis.call('get', KEYS[1]) " +
+        "if not gen then return -1 end " +
+        "local key = ARGV[1] .. gen .. ':' .. ARGV[2] " +
+        "for i = 3, #ARGV do " +
+        "  if redis.call('getbit', key, ARGV[i]) == 0 then return 0 end " +
+        "end " +
+        "return 1";
+
+    /**
+     * KEYS[1] 当前代号，KEYS[2] 重建中的代号；ARGV[1] key前缀，ARGV[2] 作用域数量n，ARGV[3..2+n] 作用域，其余为位下标
+     * 同时写入当前代与重建中的代，返回写入的代数
+     */
+    private static final String ADD_SCRIPT =
+        "local gens = {} " +
+        "local gen = redis.call('get', KEYS[1]) " +
+        "if gen then table.insert(gens, gen) end " +
+        "local building = redis.call('get', KEYS[2]) " +
+        "if building and building ~= gen then table.insert(gens, building) end " +
+        "local n = tonumber(ARGV[2]) " +
+        "for _, g in ipairs(gens) do " +
+        "  for s = 3, 2 + n do " +
+        "    redis.call('sadd', ARGV[1] .. g .. ':scopes', ARGV[s]) " +
+        "    local key = ARGV[1] .. g .. ':' .. ARGV[s] " +
+        "    for i = 3 + n, #ARGV do redis.call('setbit', key, ARGV[i], 1) end " +
+        "  end " +
+        "end " +
+        "return #gens";
+
+    /**
+     * KEYS[1] 当前代号，KEYS[2] 重建中的代号，KEYS[3] 删除计数，KEYS[4] 未就绪标记；
+     * ARGV[1] key前缀，ARGV[2] 新代号，ARGV[3] 1 切换 0 放弃，ARGV[4] 重建开始时的未就绪标记
+     * 切换时删除被替换的旧代位图，未就绪标记在重建期间没有变化时一并清除；放弃时删除新代位图
+     */
+    private static final String SWAP_SCRIPT =
+        "local drop = ARGV[2] " +
+        "if ARGV[3] == '1' then " +
+        "  drop = redis.call('get', KEYS[1]) " +
+        "  redis.call('set', KEYS[1], ARGV[2]) " +
+        "  redis.call('set', KEYS[3], 0) " +
+        "  if redis.call('get', KEYS[4]) == ARGV[4] then redis.call('del', KEYS[4]) end " +
+        "end " +
+        "redis.call('del', KEYS[2]) " +
+        "if drop then " +
+        "  local scopes = ARGV[1] .. drop .. ':scopes' " +
+        "  for _, s in ipairs(redis.call('smembers', scopes)) do redis.call('unlink', ARGV[1] .. drop .. ':' .. s) end " +
+        "  redis.call('unlink', scopes) " +
+        "end " +
+        "return 1";
+
+    private final UniqueKeyMapper uniqueKeyMapper;
+    private final RedissonClient redissonClient;
+    private final UniqueKeyFilterProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 位图大小(位)
+     */
+    private final long bitSize;
+
+    /**
+     * 哈希次数
+     */
+    private final int hashIterations;
+
+    private final Map<UniqueKeyType, Meters> meters = new EnumMap<>(UniqueKeyType.class);
+
+    /**
+     * 本节点写入失败的类型及失败次数，重建完成且期间没有新的失败时移除
+     */
+    private final Map<UniqueKeyType, Long> notReady = new ConcurrentHashMap<>();
+
+    /**
+     * 已提交尚未开始执行的重建，避免重复排队
+     */
+    private final Set<UniqueKeyType> queued = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService rebuildExecutor =
+        Executors.newSingleThreadScheduledExecutor(ThreadUtil.newNamedThreadFactory("unique-filter-rebuild-", true));
+
+    public UniqueKeyFilter(UniqueKeyMapper uniqueKeyMapper, RedissonClient redissonClient,
+                           UniqueKeyFilterProperties properties, MeterRegistry meterRegistry) {
+        this.uniqueKeyMapper = uniqueKeyMapper;
+        this.redissonClient = redissonClient;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        long n = Math.max(1, properties.getExpectedInsertions());
+        double p = properties.getFalseProbability();
+        // Redis位图最大 2^32 位
+        this.bitSize = Math.min((long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2))), (1L << 32) - 1);
+        this.hashIterations = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+        for (UniqueKeyType type : UniqueKeyType.values()) {
+            meters.put(type, new Meters(type));
+        }
+    }
+
+    /**
+     * 启动完成后构建尚不存在的过滤器
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        if (!isEnabled()) {
+            return;
+        }
+        for (UniqueKeyType type : UniqueKeyType.values()) {
+            if (!redissonClient.getBucket(genKey(type), StringCodec.INSTANCE).isExists()) {
+                rebuildAsync(type);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * 值在当前作用域内是否可能存在
+     *
+     * @param type  唯一键类型
+     * @param value 唯一字段值
+     * @return false 代表一定不存在，可跳过数据库查询；过滤器未构建、未就绪或不可用时返回 true
+     */
+    public boolean mightContain(UniqueKeyType type, String value) {
+        if (!isEnabled() || StringUtils.isBlank(value)) {
+            return true;
+        }
+        Meters m = meters.get(type);
+        if (notReady.containsKey(type)) {
+            m.unavailable.increment();
+            return true;
+        }
+        try {
+            List<Object> args = new ArrayList<>(hashIterations + 2);
+            args.add(prefix(type));
+            args.add(lookupScope(type));
+            for (long offset : offsets(value)) {
+                args.add(String.valueOf(offset));
+            }
+            Long result = redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_ONLY, CONTAINS_SCRIPT,
+                RScript.ReturnType.INTEGER, List.of(genKey(type), dirtyKey(type)), args.toArray());
+            if (result != null && result == 0L) {
+                m.absent.increment();
+                return false;
+            }
+            (result != null && result == 1L ? m.present : m.unavailable).increment();
+        } catch (Exception e) {
+            m.unavailable.increment();
+            log.warn("唯一键过滤器 {} 查询失败，退回数据库: {}", type, e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * 过滤器判定可能存在但数据库中不存在，计入误判
+     *
+     * @param type 唯一键类型
+     */
+    public void recordFalsePositive(UniqueKeyType type) {
+        if (isEnabled()) {
+            meters.get(type).falsePositive.increment();
+        }
+    }
+
+    /**
+     * 新增唯一键，应在写入数据库之前调用，保证数据可见时过滤器中一定存在
+     *
+     * @param type     唯一键类型
+     * @param tenantId 数据所属租户，为空时取当前动态租户或默认租户
+     * @param value    唯一字段值
+     */
+    public void put(UniqueKeyType type, String tenantId, String value) {
+        if (!isEnabled() || StringUtils.isBlank(value)) {
+            return;
+        }
+        List<Object> args = new ArrayList<>(hashIterations + 4);
+        args.add(prefix(type));
+        if (type.isTenantScoped()) {
+            args.add("2");
+            args.add(GLOBAL_SCOPE);
+            args.add(StringUtils.blankToDefault(tenantId,
+                StringUtils.blankToDefault(TenantHelper.getDynamic(), TenantConstants.DEFAULT_TENANT_ID)));
+        } else {
+            args.add("1");
+            args.add(GLOBAL_SCOPE);
+        }
+        for (long offset : offsets(value)) {
+            args.add(String.valueOf(offset));
+        }
+        try {
+            redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, ADD_SCRIPT,
+                RScript.ReturnType.INTEGER, List.of(genKey(type), buildingKey(type)), args.toArray());
+        } catch (Exception e) {
+            // 写入失败时该值可能漏判，重建完成前所有节点都不再以过滤器结果跳过数据库查询
+            log.error("唯一键过滤器 {} 写入失败，重建前停用过滤: {}", type, e.getMessage());
+            markNotReady(type);
+            rebuildAsync(type);
+        }
+    }
+
+    /**
+     * 记录删除的数据条数，达到阈值后重建
+     *
+     * @param type  唯一键类型
+     * @param count 删除条数
+     */
+    public void markRemoved(UniqueKeyType type, int count) {
+        if (!isEnabled() || count <= 0) {
+            return;
+        }
+        try {
+            long stale = redissonClient.getAtomicLong(staleKey(type)).addAndGet(count);
+            if (stale >= properties.getRebuildAfterDeletes() && stale - count < properties.getRebuildAfterDeletes()) {
+                rebuildAsync(type);
+            }
+        } catch (Exception e) {
+            log.warn("唯一键过滤器 {} 删除计数失败: {}", type, e.getMessage());
+        }
+    }
+
+    /**
+     * 异步重建
+     *
+     * @param type 唯一键类型
+     */
+    public void rebuildAsync(UniqueKeyType type) {
+        if (queued.add(type)) {
+            rebuildExecutor.execute(() -> runRebuild(type));
+        }
+    }
+
+    private void runRebuild(UniqueKeyType type) {
+        queued.remove(type);
+        boolean rebuilt = false;
+        try {
+            rebuilt = rebuild(type);
+        } catch (Exception e) {
+            log.error("唯一键过滤器 {} 重建失败", type, e);
+        }
+        // 未就绪的类型必须完成一次重建才能恢复，Redis不可用或其他节点正在重建时稍后重试
+        if (!rebuilt && notReady.containsKey(type) && !rebuildExecutor.isShutdown() && queued.add(type)) {
+            rebuildExecutor.schedule(() -> runRebuild(type), REBUILD_RETRY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 从数据库重建过滤器，多节点同时触发时只有一个节点执行
+     *
+     * @param type 唯一键类型
+     * @return 是否执行了重建
+     */
+    public boolean rebuild(UniqueKeyType type) throws InterruptedException {
+        RLock lock = redissonClient.getLock(prefix(type) + "lock");
+        if (!lock.tryLock()) {
+            return false;
+        }
+        String prefix = prefix(type);
+        String gen = null;
+        boolean completed = false;
+        try {
+            // 只有在此之前的写入失败会被本次重建覆盖
+            Long localMark = notReady.get(type);
+            String dirtyMark = (String) redissonClient.getBucket(dirtyKey(type), StringCodec.INSTANCE).get();
+            gen = String.valueOf(redissonClient.getAtomicLong(prefix + "seq").incrementAndGet());
+            long start = System.nanoTime();
+            // 登记新代后新增开始双写，等待已在途的写入提交后再读取数据库
+            redissonClient.getBucket(buildingKey(type), StringCodec.INSTANCE).set(gen);
+            TimeUnit.MILLISECONDS.sleep(properties.getRebuildGrace());
+
+            long total = load(type, prefix, gen);
+            swap(type, gen, true, dirtyMark);
+            completed = true;
+            if (localMark != null) {
+                notReady.remove(type, localMark);
+            }
+
+            long elapsed = System.nanoTime() - start;
+            meters.get(type).rebuild.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("唯一键过滤器 {} 重建完成，{} 条，位图 {} 位，哈希 {} 次，耗时 {}ms",
+                type, total, bitSize, hashIterations, TimeUnit.NANOSECONDS.toMillis(elapsed));
+            return true;
+        } finally {
+            if (!completed && gen != null) {
+                // 放弃本次重建，清理已写入的新代位图
+                swap(type, gen, false, null);
+            }
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 估算当前误判率，按全局位图中置位的比例计算 (置位比例 ^ 哈希次数)
+     *
+     * @param type 唯一键类型
+     * @return 误判率，未构建时返回 NaN
+     */
+    public double estimateFalsePositiveRate(UniqueKeyType type) {
+        if (!isEnabled()) {
+            return Double.NaN;
+        }
+        try {
+            String gen = (String) redissonClient.getBucket(genKey(type), StringCodec.INSTANCE).get();
+            if (gen == null) {
+                return Double.NaN;
+            }
+            long cardinality = redissonClient.getBitSet(prefix(type) + gen + ":" + GLOBAL_SCOPE).cardinality();
+            return Math.pow((double) cardinality / bitSize, hashIterations);
+        } catch (Exception e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * 从数据库流式加载全部唯一键写入新代位图
+     *
+     * @return 加载条数
+     */
+    private long load(UniqueKeyType type, String prefix, String gen) {
+        long[] total = {0};
+        Map<String, List<long[]>> pending = new HashMap<>();
+        TenantHelper.ignore(() -> {
+            uniqueKeyMapper.selectUniqueKeys(type, context -> {
+                UniqueKey key = context.getResultObject();
+                long[] offsets = offsets(key.getValue());
+                pending.computeIfAbsent(GLOBAL_SCOPE, k -> new ArrayList<>()).add(offsets);
+                if (type.isTenantScoped()) {
+                    String tenantId = StringUtils.blankToDefault(key.getTenantId(), TenantConstants.DEFAULT_TENANT_ID);
+                    pending.computeIfAbsent(tenantId, k -> new ArrayList<>()).add(offsets);
+                }
+                if (++total[0] % LOAD_BATCH_SIZE == 0) {
+                    flush(prefix, gen, pending);
+                }
+            });
+        });
+        flush(prefix, gen, pending);
+        return total[0];
+    }
+
+    private void flush(String prefix, String gen, Map<String, List<long[]>> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        RBatch batch = redissonClient.createBatch();
+        for (Map.Entry<String, List<long[]>> entry : pending.entrySet()) {
+            String scope = entry.getKey();
+            batch.getSet(prefix + gen + ":scopes", StringCodec.INSTANCE).addAsync(scope);
+            for (long[] offsets : entry.getValue()) {
+                for (long offset : offsets) {
+                    batch.getBitSet(prefix + gen + ":" + scope).setAsync(offset);
+                }
+            }
+        }
+        batch.execute();
+        pending.clear();
+    }
+
+    private void swap(UniqueKeyType type, String gen, boolean commit, String dirtyMark) {
+        redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, SWAP_SCRIPT,
+            RScript.ReturnType.INTEGER, List.of(genKey(type), buildingKey(type), staleKey(type), dirtyKey(type)),
+            prefix(type), gen, commit ? "1" : "0", StringUtils.defaultString(dirtyMark));
+    }
+
+    /**
+     * 标记为未就绪，Redis标记写入失败时至少本节点停用过滤
+     */
+    private void markNotReady(UniqueKeyType type) {
+        notReady.merge(type, 1L, Long::sum);
+        try {
+            redissonClient.getAtomicLong(dirtyKey(type)).incrementAndGet();
+        } catch (Exception e) {
+            log.warn("唯一键过滤器 {} 未就绪标记写入失败: {}", type, e.getMessage());
+        }
+    }
+
+    /**
+     * 唯一字段值规范化，写入、重建、查询都经过这里
+     * <p>
+     * 规范化只能把数据库视为相同的值合并，合并得更多只会增加误判，不会漏判
+     */
+    static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 双重哈希计算各位下标
+     */
+    long[] offsets(String value) {
+        long[] hash = MurmurHash.hash128(normalize(value).getBytes(StandardCharsets.UTF_8));
+        long[] offsets = new long[hashIterations];
+        for (int i = 0; i < hashIterations; i++) {
+            offsets[i] = Math.floorMod(hash[0] + i * hash[1], bitSize);
+        }
+        return offsets;
+    }
+
+    /**
+     * 查询作用域，与SQL是否拼接租户条件保持一致
+     */
+    private String lookupScope(UniqueKeyType type) {
+        if (!type.isTenantScoped()) {
+            return GLOBAL_SCOPE;
+        }
+        String tenantId = TenantHelper.getDynamic();
+        return tenantId == null ? GLOBAL_SCOPE : tenantId;
+    }
+
+    /**
+     * key前缀，使用hash tag保证同一类型的key落在同一个slot，容量参数变化后自动使用新的key
+     */
+    private String prefix(UniqueKeyType type) {
+        return GlobalConstants.UNIQUE_KEY_FILTER_KEY + "{" + type.name().toLowerCase() + ":" + bitSize + ":" + hashIterations + "}:";
+    }
+
+    private String genKey(UniqueKeyType type) {
+        return prefix(type) + "gen";
+    }
+
+    private String buildingKey(UniqueKeyType type) {
+        return prefix(type) + "building";
+    }
+
+    private String staleKey(UniqueKeyType type) {
+        return prefix(type) + "stale";
+    }
+
+    private String dirtyKey(UniqueKeyType type) {
+        return prefix(type) + "dirty";
+    }
+
+    private boolean isEnabled() {
+        return Boolean.TRUE.equals(properties.getEnabled());
+    }
+
+    /**
+     * 各类型的监控指标
+     */
+    private final class Meters {
+
+        private final Counter absent;
+        private final Counter present;
+        private final Counter falsePositive;
+        private final Counter unavailable;
+        private final Timer rebuild;
+
+        private Meters(UniqueKeyType type) {
+            String name = type.name().toLowerCase();
+            absent = lookupCounter(name, "absent");
+            present = lookupCounter(name, "present");
+            falsePositive = lookupCounter(name, "false_positive");
+            unavailable = lookupCounter(name, "unavailable");
+            rebuild = Timer.builder("unique.filter.rebuild").tag("type", name).register(meterRegistry);
+            Gauge.builder("unique.filter.fpp.estimated", UniqueKeyFilter.this, f -> f.estimateFalsePositiveRate(type))
+                .tag("type", name).register(meterRegistry);
+        }
+
+        private Counter lookupCounter(String type, String result) {
+            return Counter.builder("unique.filter.lookup").tag("type", type).tag("result", result).register(meterRegistry);
+        }
+    }
+
+}
@@ -11,13 +11,9 @@ import org.example.service.ISysUserService;
 import org.example.utils.LoginHelper;
 import org.springframework.stereotype.Service;
 
+import org.example.captcha.CaptchaVerifier;
 import org.example.config.properties.CaptchaProperties;
-import org.example.constant.Constants;
-import org.example.exception.CaptchaException;
-import org.example.exception.CaptchaExpireException;
-import org.example.utils.RedisUtils;
 import org.example.utils.StringUtils;
-import org.redisson.api.RBucket;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -30,6 +26,9 @@ public class AuthServiceImpl implements IAuthService {
 
     @Autowired
     private CaptchaProperties captchaProperties;
+
+    @Autowired
+    private CaptchaVerifier captchaVerifier;
     
     @Autowired
     private ISysUserService userService;
@@ -91,24 +90,7 @@ public class AuthServiceImpl implements IAuthService {
 
     @Override
     public void validateCaptcha(String code, String uuid) {
-        // 先检查验证码和uuid是否为空
-        if (StringUtils.isBlank(code)) {
-            throw new CaptchaException("验证码不能为空");
-        }
-        if (StringUtils.isBlank(uuid)) {
-            throw new CaptchaException("验证码标识不能为空");
-        }
-        
-        String verifyKey = Constants.CAPTCHA_CODE_KEY + uuid;
-        RBucket<String> captchaBucket = RedisUtils.getCacheObject(verifyKey);
-        String captcha = captchaBucket.get();
-        RedisUtils.deleteObject(verifyKey);
-        if (captcha == null) {
-            throw new CaptchaExpireException("验证码已失效");
-        }
-        if (!code.equalsIgnoreCase(captcha)) {
-            throw new CaptchaException("验证码错误");
-        }
+        captchaVerifier.validate(code, uuid);
     }
 
 }
\ No newline at end of file
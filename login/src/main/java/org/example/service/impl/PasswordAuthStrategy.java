@@ -2,25 +2,26 @@ package org.example.service.impl;
 
 import cn.dev33.satoken.stp.StpUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.example.captcha.CaptchaVerifier;
 import org.example.config.properties.CaptchaProperties;
 import org.example.constant.Constants;
 import org.example.domain.entity.LoginUser;
 import org.example.domain.entity.SysUser;
 import org.example.domain.model.PasswordLoginBody;
 import org.example.domain.vo.LoginVo;
-import org.example.exception.CaptchaException;
-import org.example.exception.CaptchaExpireException;
+import org.example.service.AuthLoadExecutor;
 import org.example.service.IAuthStrategy;
 import org.example.service.ISysUserService;
 import org.example.service.ISysRoleService;
 import org.example.service.ISysMenuService;
+import org.example.service.PermissionCacheService;
+import org.example.service.SysLoginService;
 import org.example.utils.LoginHelper;
-import org.example.utils.RedisUtils;
-import org.example.utils.StringUtils;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import org.redisson.api.RBucket;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -36,6 +37,12 @@ public class PasswordAuthStrategy implements IAuthStrategy {
     @Autowired
     private CaptchaProperties captchaProperties;
 
+    @Autowired
+    private CaptchaVerifier captchaVerifier;
+
+    @Autowired
+    private SysLoginService loginService;
+
     @Autowired
     private ISysUserService sysUserService;
     
@@ -45,6 +52,12 @@ public class PasswordAuthStrategy implements IAuthStrategy {
     @Autowired
     private ISysMenuService sysMenuService;
 
+    @Autowired
+    private PermissionCacheService permissionCacheService;
+
+    @Autowired
+    private AuthLoadExecutor authLoadExecutor;
+
     @Override
     public LoginVo login(PasswordLoginBody loginBody) {
         log.info("开始登录流程，用户名: {}", loginBody.getUsername());
@@ -52,53 +65,69 @@ public class PasswordAuthStrategy implements IAuthStrategy {
         // 验证码校验（如果开启）- 兼容null，默认关闭
         if (Boolean.TRUE.equals(captchaProperties.getEnable())) {
             log.info("验证码功能已开启，开始校验验证码");
-            validateCaptcha(loginBody.getCode(), loginBody.getUuid());
+            captchaVerifier.validate(loginBody.getCode(), loginBody.getUuid());
         } else {
             log.info("验证码功能已关闭或未配置，跳过验证码校验");
         }
 
         try {
             log.info("开始验证用户名密码");
-            // 使用数据库验证用户
-            SysUser sysUser = sysUserService.validateUserPasswordAndGetUser(loginBody.getUsername(), loginBody.getPassword());
-            if (sysUser != null) {
-                log.info("用户验证成功，用户ID: {}, 用户类型: {}", sysUser.getUserId(), sysUser.getUserType());
-                
-                // 构建登录用户信息
-                LoginUser loginUser = buildLoginUser(sysUser);
-                log.info("构建登录用户信息完成，LoginId: {}", loginUser.getLoginId());
-                
-                // 使用Sa-Token进行登录
-                log.info("开始调用Sa-Token登录");
-                LoginHelper.login(loginUser);
-                log.info("Sa-Token登录完成");
-                
-                // 获取token值
-                log.info("开始获取token值");
-                String tokenValue = StpUtil.getTokenValue();
-                log.info("获取到token值: {}", tokenValue);
-                
-                // 获取用户权限和角色
-                log.info("开始获取用户权限和角色");
-                List<String> permissions = new ArrayList<>(sysMenuService.selectMenuPermsByUserId(sysUser.getUserId()));
-                List<String> roles = new ArrayList<>(sysRoleService.selectRolePermissionByUserId(sysUser.getUserId()));
-                log.info("获取到权限数量: {}, 角色数量: {}", permissions.size(), roles.size());
-                
-                // 构建返回结果
-                LoginVo loginVo = new LoginVo();
-                loginVo.setAccessToken(tokenValue);
-                loginVo.setExpireIn(StpUtil.getTokenTimeout());
-                loginVo.setClientId(loginUser.getClientKey());
-                loginVo.setUser(sysUser);
-                loginVo.setPermissions(permissions);
-                loginVo.setRoles(roles);
-                
-                log.info("用户 {} 使用Sa-Token登录成功", loginBody.getUsername());
-                return loginVo;
-            } else {
-                log.error("用户验证失败，用户名或密码错误");
-                throw new org.example.exception.UserException("用户名或密码错误");
+            // 使用数据库验证用户，失败次数达到上限时锁定
+            SysUser sysUser = loginService.checkLogin(loginBody.getTenantId(), loginBody.getUsername(),
+                () -> sysUserService.validateUserPasswordAndGetUser(loginBody.getUsername(), loginBody.getPassword()));
+            log.info("用户验证成功，用户ID: {}, 用户类型: {}", sysUser.getUserId(), sysUser.getUserType());
+            Long userId = sysUser.getUserId();
+
+            // 权限、角色查询与Sa-Token登录相互独立，并行执行；版本号先于权限数据读取
+            long deadline = authLoadExecutor.deadline();
+            PermissionCacheService.Stamp permissionStamp = permissionCacheService.currentStamp(userId);
+            CompletableFuture<Set<String>> permissionsFuture = authLoadExecutor.submit(() -> sysMenuService.selectMenuPermsByUserId(userId));
+            CompletableFuture<Set<String>> rolesFuture = authLoadExecutor.submit(() -> sysRoleService.selectRolePermissionByUserId(userId));
+            
+            // 构建登录用户信息
+            LoginUser loginUser = buildLoginUser(sysUser);
+            log.info("构建登录用户信息完成，LoginId: {}", loginUser.getLoginId());
+            
+            // 使用Sa-Token进行登录
+            log.info("开始调用Sa-Token登录");
+            LoginHelper.login(loginUser);
+            log.info("Sa-Token登录完成");
+            
+            // 获取token值
+            String tokenValue = StpUtil.getTokenValue();
+            
+            // 获取用户权限和角色，超时或查询失败时注销刚签发的token，不记录登录成功
+            Set<String> permissionSet;
+            Set<String> roleSet;
+            try {
+                permissionSet = authLoadExecutor.await(permissionsFuture, deadline);
+                roleSet = authLoadExecutor.await(rolesFuture, deadline);
+            } catch (RuntimeException e) {
+                rolesFuture.cancel(false);
+                StpUtil.logoutByTokenValue(tokenValue);
+                throw e;
             }
+            // 登录日志与最后登录信息异步写入
+            loginService.recordLoginInfo(sysUser.getTenantId(), sysUser.getUserName(), Constants.LOGIN_SUCCESS, "登录成功");
+            loginService.recordLoginUser(userId);
+            
+            // 预热权限缓存，登录后的首次鉴权无需再查询
+            permissionCacheService.prime(userId, permissionStamp, permissionSet, roleSet);
+            List<String> permissions = new ArrayList<>(permissionSet);
+            List<String> roles = new ArrayList<>(roleSet);
+            log.info("获取到权限数量: {}, 角色数量: {}", permissions.size(), roles.size());
+            
+            // 构建返回结果
+            LoginVo loginVo = new LoginVo();
+            loginVo.setAccessToken(tokenValue);
+            loginVo.setExpireIn(StpUtil.getTokenTimeout());
+            loginVo.setClientId(loginUser.getClientKey());
+            loginVo.setUser(sysUser);
+            loginVo.setPermissions(permissions);
+            loginVo.setRoles(roles);
+            
+            log.info("用户 {} 使用Sa-Token登录成功", loginBody.getUsername());
+            return loginVo;
         } catch (Exception e) {
             log.error("用户 {} 登录失败：{}", loginBody.getUsername(), e.getMessage(), e);
             throw e;
@@ -137,33 +166,4 @@ public class PasswordAuthStrategy implements IAuthStrategy {
     public String getStrategyType() {
         return "password";
     }
-
-
-
-    /**
-     * 验证码校验
-     *
-     * @param code 验证码
-     * @param uuid 唯一标识
-     */
-    private void validateCaptcha(String code, String uuid) {
-        // 先检查验证码和uuid是否为空
-        if (StringUtils.isBlank(code)) {
-            throw new CaptchaException("验证码不能为空");
-        }
-        if (StringUtils.isBlank(uuid)) {
-            throw new CaptchaException("验证码标识不能为空");
-        }
-        
-        String verifyKey = Constants.CAPTCHA_CODE_KEY + uuid;
-        RBucket<String> captchaBucket = RedisUtils.getCacheObject(verifyKey);
-        String captcha = captchaBucket.get();
-        RedisUtils.deleteObject(verifyKey);
-        if (captcha == null) {
-            throw new CaptchaExpireException("验证码已失效");
-        }
-        if (!code.equalsIgnoreCase(captcha)) {
-            throw new CaptchaException("验证码错误");
-        }
-    }
-}
\ No newline at end of file
+}
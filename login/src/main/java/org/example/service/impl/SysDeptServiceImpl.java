@@ -7,14 +7,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.domain.bo.SysDeptBo;
 import org.example.domain.entity.SysDept;
 import org.example.domain.vo.SysDeptVo;
+import org.example.mapper.SysDeptClosureMapper;
 import org.example.mapper.SysDeptMapper;
 import org.example.service.ISysDeptService;
 import org.example.utils.StringUtils;
+import org.example.utils.TreeBuildUtils;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,6 +31,7 @@ import java.util.stream.Collectors;
 public class SysDeptServiceImpl implements ISysDeptService {
 
     private final SysDeptMapper baseMapper;
+    private final SysDeptClosureMapper closureMapper;
 
     /**
      * 查询部门管理数据
@@ -64,15 +67,9 @@ public class SysDeptServiceImpl implements ISysDeptService {
      */
     @Override
     public List<SysDeptVo> buildDeptTree(List<SysDeptVo> depts) {
-        List<SysDeptVo> returnList = new ArrayList<>();
-        List<Long> tempList = depts.stream().map(SysDeptVo::getDeptId).collect(Collectors.toList());
-        for (SysDeptVo dept : depts) {
-            // 如果是顶级节点, 遍历该父节点的所有子节点
-            if (!tempList.contains(dept.getParentId())) {
-                recursionFn(depts, dept);
-                returnList.add(dept);
-            }
-        }
+        // 父节点不在列表中的部门作为顶级节点
+        List<SysDeptVo> returnList = TreeBuildUtils.build(depts, SysDeptVo::getDeptId, SysDeptVo::getParentId,
+            SysDeptVo::setChildren, TreeBuildUtils.byOrderNum(SysDeptVo::getOrderNum));
         if (returnList.isEmpty()) {
             returnList = depts;
         }
@@ -184,6 +181,7 @@ public class SysDeptServiceImpl implements ISysDeptService {
      * @return 结果
      */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public int insertDept(SysDeptBo bo) {
         SysDept dept = new SysDept();
         BeanUtils.copyProperties(bo, dept);
@@ -193,7 +191,9 @@ public class SysDeptServiceImpl implements ISysDeptService {
             throw new RuntimeException("部门停用，不允许新增");
         }
         dept.setAncestors(info.getAncestors() + "," + dept.getParentId());
-        return baseMapper.insertDept(dept);
+        int rows = baseMapper.insertDept(dept);
+        closureMapper.insertDeptPaths(dept.getDeptId(), dept.getParentId());
+        return rows;
     }
 
     /**
@@ -203,6 +203,7 @@ public class SysDeptServiceImpl implements ISysDeptService {
      * @return 结果
      */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public int updateDept(SysDeptBo bo) {
         SysDept dept = new SysDept();
         BeanUtils.copyProperties(bo, dept);
@@ -213,6 +214,11 @@ public class SysDeptServiceImpl implements ISysDeptService {
             String oldAncestors = oldDept.getAncestors();
             dept.setAncestors(newAncestors);
             updateDeptChildren(dept.getDeptId(), newAncestors, oldAncestors);
+            if (!newParentDept.getDeptId().equals(oldDept.getParentId())) {
+                // 子树整体挂接到新的父部门下
+                closureMapper.deleteSubtreeAncestorPaths(dept.getDeptId());
+                closureMapper.insertSubtreeAncestorPaths(dept.getDeptId(), newParentDept.getDeptId());
+            }
         }
         int result = baseMapper.updateDept(dept);
         if ("0".equals(dept.getStatus())) {
@@ -235,19 +241,17 @@ public class SysDeptServiceImpl implements ISysDeptService {
 
     /**
      * 修改子元素关系
+     * 单条语句按祖级前缀批量替换，语句数与子树规模无关
      *
      * @param deptId       被修改的部门ID
      * @param newAncestors 新的父ID集合
      * @param oldAncestors 旧的父ID集合
      */
     public void updateDeptChildren(Long deptId, String newAncestors, String oldAncestors) {
-        List<SysDept> children = baseMapper.selectList(null);
-        for (SysDept child : children) {
-            if (StringUtils.isNotEmpty(child.getAncestors()) && child.getAncestors().contains("," + deptId + ",")) {
-                child.setAncestors(child.getAncestors().replaceFirst(oldAncestors, newAncestors));
-                baseMapper.updateDept(child);
-            }
+        if (StringUtils.isEmpty(oldAncestors) || newAncestors.equals(oldAncestors)) {
+            return;
         }
+        baseMapper.updateDeptChildrenAncestors(deptId, newAncestors, oldAncestors);
     }
 
     /**
@@ -258,45 +262,10 @@ public class SysDeptServiceImpl implements ISysDeptService {
      */
     @Override
     public int deleteDeptById(Long deptId) {
+        // 部门为逻辑删除，闭包路径保留，查询时按部门的 del_flag 过滤
         return baseMapper.deleteDeptById(deptId);
     }
 
-    /**
-     * 递归列表
-     */
-    private void recursionFn(List<SysDeptVo> list, SysDeptVo t) {
-        // 得到子节点列表
-        List<SysDeptVo> childList = getChildList(list, t);
-        t.setChildren(childList);
-        for (SysDeptVo tChild : childList) {
-            if (hasChild(list, tChild)) {
-                recursionFn(list, tChild);
-            }
-        }
-    }
-
-    /**
-     * 得到子节点列表
-     */
-    private List<SysDeptVo> getChildList(List<SysDeptVo> list, SysDeptVo t) {
-        List<SysDeptVo> tlist = new ArrayList<>();
-        Iterator<SysDeptVo> it = list.iterator();
-        while (it.hasNext()) {
-            SysDeptVo n = it.next();
-            if (ObjectUtil.isNotNull(n.getParentId()) && n.getParentId().longValue() == t.getDeptId().longValue()) {
-                tlist.add(n);
-            }
-        }
-        return tlist;
-    }
-
-    /**
-     * 判断是否有子节点
-     */
-    private boolean hasChild(List<SysDeptVo> list, SysDeptVo t) {
-        return getChildList(list, t).size() > 0;
-    }
-
     /**
      * 转换为VO对象
      */
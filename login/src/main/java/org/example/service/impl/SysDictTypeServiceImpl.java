@@ -7,15 +7,20 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.domain.bo.SysDictTypeBo;
-import org.example.domain.entity.SysDictData;
+import org.example.domain.em.UniqueKeyType;
 import org.example.domain.entity.SysDictType;
+import org.example.domain.event.DictChangedEvent;
+import org.example.domain.model.DictSnapshot;
 import org.example.domain.vo.SysDictDataVo;
 import org.example.domain.vo.SysDictTypeVo;
 import org.example.mapper.SysDictDataMapper;
 import org.example.mapper.SysDictTypeMapper;
+import org.example.service.DictCacheService;
 import org.example.service.DictService;
 import org.example.service.ISysDictTypeService;
+import org.example.service.UniqueKeyFilter;
 import org.example.utils.RedisUtils;
+import org.example.utils.SpringUtils;
 import org.example.utils.StringUtils;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
@@ -37,6 +42,8 @@ public class SysDictTypeServiceImpl extends ServiceImpl<SysDictTypeMapper, SysDi
 
     private final SysDictTypeMapper dictTypeMapper;
     private final SysDictDataMapper dictDataMapper;
+    private final DictCacheService dictCacheService;
+    private final UniqueKeyFilter uniqueKeyFilter;
 
     /**
      * 字典缓存前缀
@@ -100,27 +107,23 @@ public class SysDictTypeServiceImpl extends ServiceImpl<SysDictTypeMapper, SysDi
                 dictDataMapper.deleteDictDataByType(dictType.getDictType());
                 // 删除字典类型
                 dictTypeMapper.deleteById(dictId);
+                uniqueKeyFilter.markRemoved(UniqueKeyType.DICT_TYPE, 1);
                 // 清除缓存
-                clearDictCache();
+                refreshCache(dictType.getDictType());
             }
         }
     }
 
     @Override
     public void loadingDictCache() {
-        List<SysDictType> dictTypeList = dictTypeMapper.selectList(null);
-        for (SysDictType dictType : dictTypeList) {
-            String cacheKey = DICT_CACHE_PREFIX + dictType.getDictType();
-            RedisUtils.setCacheObject(cacheKey, dictType, java.time.Duration.ofHours(24));
-        }
+        dictCacheService.loadAll();
     }
 
     @Override
     public void clearDictCache() {
-        // 清空所有字典缓存
-        RedisUtils.keys(DICT_CACHE_PREFIX + "*").forEach(key -> {
-            RedisUtils.deleteObject(key);
-        });
+        // 清空所有字典缓存，SCAN+UNLINK在后台执行，不阻塞当前请求
+        RedisUtils.deleteKeysByPatternAsync(DICT_CACHE_PREFIX + "*");
+        SpringUtils.context().publishEvent(new DictChangedEvent(null));
     }
 
     @Override
@@ -136,6 +139,7 @@ public class SysDictTypeServiceImpl extends ServiceImpl<SysDictTypeMapper, SysDi
         BeanUtils.copyProperties(bo, dictType);
         dictType.setCreateTime(LocalDateTime.now());
         
+        uniqueKeyFilter.put(UniqueKeyType.DICT_TYPE, null, dictType.getDictType());
         int result = dictTypeMapper.insert(dictType);
         if (result > 0) {
             refreshCache(dictType.getDictType());
@@ -156,11 +160,13 @@ public class SysDictTypeServiceImpl extends ServiceImpl<SysDictTypeMapper, SysDi
         BeanUtils.copyProperties(bo, dictType);
         dictType.setUpdateTime(LocalDateTime.now());
         
+        uniqueKeyFilter.put(UniqueKeyType.DICT_TYPE, null, dictType.getDictType());
         int result = dictTypeMapper.updateById(dictType);
         if (result > 0) {
             // 如果字典类型发生变化，需要同步更新字典数据
             if (!oldDictType.equals(dictType.getDictType())) {
                 dictDataMapper.updateDictDataType(oldDictType, dictType.getDictType());
+                refreshCache(oldDictType);
             }
             refreshCache(dictType.getDictType());
             return true;
@@ -170,6 +176,9 @@ public class SysDictTypeServiceImpl extends ServiceImpl<SysDictTypeMapper, SysDi
 
     @Override
     public boolean checkDictTypeUnique(SysDictTypeBo dictType) {
+        if (!uniqueKeyFilter.mightContain(UniqueKeyType.DICT_TYPE, dictType.getDictType())) {
+            return true;
+        }
         LambdaQueryWrapper<SysDictType> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(SysDictType::getDictType, dictType.getDictType());
         if (ObjectUtil.isNotNull(dictType.getDictId())) {
@@ -180,13 +189,8 @@ public class SysDictTypeServiceImpl extends ServiceImpl<SysDictTypeMapper, SysDi
 
     @Override
     public void refreshCache(String dictType) {
-        String cacheKey = DICT_CACHE_PREFIX + dictType;
-        RedisUtils.deleteObject(cacheKey);
-        
-        SysDictTypeVo dictTypeVo = selectDictTypeByType(dictType);
-        if (ObjectUtil.isNotNull(dictTypeVo)) {
-            RedisUtils.setCacheObject(cacheKey, dictTypeVo, java.time.Duration.ofHours(24));
-        }
+        // 事务提交后失效本地快照，下次访问时重新加载
+        SpringUtils.context().publishEvent(new DictChangedEvent(dictType));
     }
 
     /**
@@ -208,27 +212,14 @@ public class SysDictTypeServiceImpl extends ServiceImpl<SysDictTypeMapper, SysDi
         if (StringUtils.isBlank(dictType) || StringUtils.isBlank(dictValue)) {
             return "";
         }
-        
-        List<SysDictDataVo> datas = selectDictDataByTypeInternal(dictType);
-        if (ObjectUtil.isEmpty(datas)) {
-            return "";
-        }
-        
-        Map<String, String> map = datas.stream()
-            .filter(data -> "0".equals(data.getStatus()))
-            .collect(Collectors.toMap(
-                SysDictDataVo::getDictValue, 
-                SysDictDataVo::getDictLabel,
-                (existing, replacement) -> existing
-            ));
-        
+        DictSnapshot snapshot = dictCacheService.get(dictType);
         if (StringUtils.contains(dictValue, separator)) {
             return Arrays.stream(dictValue.split(separator))
-                .map(v -> map.getOrDefault(v.trim(), ""))
+                .map(v -> snapshot.getLabel(v.trim()))
                 .filter(StringUtils::isNotBlank)
                 .collect(Collectors.joining(separator));
         } else {
-            return map.getOrDefault(dictValue, "");
+            return snapshot.getLabel(dictValue);
         }
     }
 
@@ -237,27 +228,14 @@ public class SysDictTypeServiceImpl extends ServiceImpl<SysDictTypeMapper, SysDi
         if (StringUtils.isBlank(dictType) || StringUtils.isBlank(dictLabel)) {
             return "";
         }
-        
-        List<SysDictDataVo> datas = selectDictDataByTypeInternal(dictType);
-        if (ObjectUtil.isEmpty(datas)) {
-            return "";
-        }
-        
-        Map<String, String> map = datas.stream()
-            .filter(data -> "0".equals(data.getStatus()))
-            .collect(Collectors.toMap(
-                SysDictDataVo::getDictLabel, 
-                SysDictDataVo::getDictValue,
-                (existing, replacement) -> existing
-            ));
-        
+        DictSnapshot snapshot = dictCacheService.get(dictType);
         if (StringUtils.contains(dictLabel, separator)) {
             return Arrays.stream(dictLabel.split(separator))
-                .map(l -> map.getOrDefault(l.trim(), ""))
+                .map(l -> snapshot.getValue(l.trim()))
                 .filter(StringUtils::isNotBlank)
                 .collect(Collectors.joining(separator));
         } else {
-            return map.getOrDefault(dictLabel, "");
+            return snapshot.getValue(dictLabel);
         }
     }
 
@@ -266,20 +244,8 @@ public class SysDictTypeServiceImpl extends ServiceImpl<SysDictTypeMapper, SysDi
         if (StringUtils.isBlank(dictType)) {
             return new LinkedHashMap<>();
         }
-        
-        List<SysDictDataVo> list = selectDictDataByTypeInternal(dictType);
-        if (ObjectUtil.isEmpty(list)) {
-            return new LinkedHashMap<>();
-        }
-        
-        // 保证顺序
-        LinkedHashMap<String, String> map = new LinkedHashMap<>();
-        for (SysDictDataVo vo : list) {
-            if ("0".equals(vo.getStatus())) {
-                map.put(vo.getDictValue(), vo.getDictLabel());
-            }
-        }
-        return map;
+        // 快照中的映射不可变，按字典数据顺序排列
+        return dictCacheService.get(dictType).getLabels();
     }
 
     @Override
@@ -287,32 +253,6 @@ public class SysDictTypeServiceImpl extends ServiceImpl<SysDictTypeMapper, SysDi
         if (StringUtils.isBlank(dictType)) {
             return new ArrayList<>();
         }
-        return selectDictDataByTypeInternal(dictType);
-    }
-
-    /**
-     * 内部方法：根据字典类型查询字典数据
-     */
-    private List<SysDictDataVo> selectDictDataByTypeInternal(String dictType) {
-        LambdaQueryWrapper<SysDictData> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(SysDictData::getDictType, dictType)
-               .eq(SysDictData::getStatus, "0")
-               .orderByAsc(SysDictData::getDictSort)
-               .orderByAsc(SysDictData::getDictCode);
-        
-        List<SysDictData> list = dictDataMapper.selectList(wrapper);
-        return list.stream().map(this::convertDictDataToVo).collect(Collectors.toList());
-    }
-
-    /**
-     * 转换字典数据实体为VO
-     */
-    private SysDictDataVo convertDictDataToVo(SysDictData entity) {
-        if (entity == null) {
-            return null;
-        }
-        SysDictDataVo vo = new SysDictDataVo();
-        BeanUtils.copyProperties(entity, vo);
-        return vo;
+        return dictCacheService.get(dictType).getDatas();
     }
-}
\ No newline at end of file
+}
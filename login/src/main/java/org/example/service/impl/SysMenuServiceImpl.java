@@ -4,6 +4,8 @@ package org.example.service.impl;
 // import cn.hutool.core.convert.Convert;
 // import cn.hutool.core.lang.tree.Tree;
 // import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
@@ -12,6 +14,7 @@ import org.example.constant.Constants;
 import org.example.utils.StringUtils;
 import org.example.utils.MapstructUtils;
 import org.example.utils.LoginHelper;
+import org.example.utils.TreeBuildUtils;
 import cn.hutool.core.util.ObjectUtil;
 import org.example.domain.entity.SysMenu;
 import org.example.domain.entity.SysRole;
@@ -24,13 +27,17 @@ import org.example.domain.vo.SimpleMenuVo;
 import org.example.mapper.SysMenuMapper;
 import org.example.mapper.SysRoleMapper;
 import org.example.mapper.SysRoleMenuMapper;
+import org.example.mapper.SysUserRoleMapper;
 // import org.example.mapper.SysTenantPackageMapper;
 import org.example.service.ISysMenuService;
+import org.example.service.PermissionVersionService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * 菜单 业务层处理
@@ -44,8 +51,25 @@ public class SysMenuServiceImpl implements ISysMenuService {
     private final SysMenuMapper baseMapper;
     private final SysRoleMapper roleMapper;
     private final SysRoleMenuMapper roleMenuMapper;
+    private final SysUserRoleMapper userRoleMapper;
+    private final PermissionVersionService versionService;
     // private final SysTenantPackageMapper tenantPackageMapper;
 
+    /**
+     * 超级管理员的角色集合标识
+     */
+    private static final String SUPER_ADMIN_ROLE_SET = "*";
+
+    /**
+     * 菜单数据本地缓存存活时间(毫秒)，未经过本服务的菜单变更(如直接修改数据库)最迟在此时间后生效
+     */
+    private static final long MENU_TREE_TTL = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * 按 租户+角色集合 缓存的菜单数据
+     */
+    private final LRUCache<String, MenuTree> menuTreeCache = CacheUtil.newLRUCache(256, MENU_TREE_TTL);
+
     /**
      * 根据用户查询系统菜单列表
      *
@@ -54,33 +78,7 @@ public class SysMenuServiceImpl implements ISysMenuService {
      */
     @Override
     public List<SysMenuVo> selectMenuList(Long userId) {
-        System.out.println("=== selectMenuList 开始 ===");
-        System.out.println("userId: " + userId);
-        System.out.println("isSuperAdmin: " + LoginHelper.isSuperAdmin(userId));
-        
-        List<SysMenuVo> menuList;
-        // 管理员显示所有菜单信息
-        if (LoginHelper.isSuperAdmin(userId)) {
-            System.out.println("执行超级管理员查询路径");
-            // 超级管理员查询所有菜单
-            List<SysMenu> allMenus = baseMapper.selectList(new LambdaQueryWrapper<SysMenu>()
-                .orderByAsc(SysMenu::getParentId)
-                .orderByAsc(SysMenu::getOrderNum));
-            System.out.println("查询到的菜单数量: " + allMenus.size());
-            if (allMenus.size() > 0) {
-                System.out.println("第一个菜单: " + allMenus.get(0).getMenuName());
-            }
-            menuList = MapstructUtils.convert(allMenus, SysMenuVo.class);
-        } else {
-            System.out.println("执行普通用户查询路径");
-            // 普通用户根据角色权限查询菜单
-            List<SysMenu> userMenus = baseMapper.selectMenuTreeByUserId(userId);
-            System.out.println("用户菜单数量: " + userMenus.size());
-            menuList = MapstructUtils.convert(userMenus, SysMenuVo.class);
-        }
-        System.out.println("最终返回菜单数量: " + menuList.size());
-        System.out.println("=== selectMenuList 结束 ===");
-        return menuList;
+        return getMenuTree(userId).menus();
     }
 
     /**
@@ -130,6 +128,9 @@ public class SysMenuServiceImpl implements ISysMenuService {
             simpleMenu.setMenuId(menuVo.getMenuId());
             simpleMenu.setMenuName(menuVo.getMenuName());
             simpleMenu.setMenuType(menuVo.getMenuType());
+            simpleMenu.setParentId(menuVo.getParentId());
+            simpleMenu.setOrderNum(menuVo.getOrderNum());
+            simpleMenu.setIcon(menuVo.getIcon());
             simpleMenus.add(simpleMenu);
         }
         System.out.println("转换后的简单菜单数量: " + simpleMenus.size());
@@ -238,15 +239,58 @@ public class SysMenuServiceImpl implements ISysMenuService {
      */
     @Override
     public List<SysMenu> selectMenuTreeByUserId(Long userId) {
+        return getMenuTree(userId).tree();
+    }
+
+    /**
+     * 根据用户ID查询前端路由
+     *
+     * @param userId 用户ID
+     * @return 路由列表
+     */
+    @Override
+    public List<RouterVo> selectRoutersByUserId(Long userId) {
+        return getMenuTree(userId).routers();
+    }
+
+    /**
+     * 获取用户所属角色集合对应的菜单数据
+     * 同一租户下角色集合相同的用户共享同一份缓存，租户权限版本变更(角色变更)或缓存过期后重新构建
+     */
+    private MenuTree getMenuTree(Long userId) {
+        String tenantId = versionService.currentTenantId();
+        boolean superAdmin = LoginHelper.isSuperAdmin(userId);
+        List<Long> roleIds = superAdmin ? List.of() : userRoleMapper.selectRoleIdsByUserId(userId);
+        String roleKey = superAdmin ? SUPER_ADMIN_ROLE_SET : roleIds.stream().sorted().distinct()
+            .map(String::valueOf).collect(Collectors.joining(","));
+        String cacheKey = tenantId + ":" + roleKey;
+        MenuTree menuTree = menuTreeCache.get(cacheKey, false);
+        if (menuTree != null && !versionService.isStale(tenantId, menuTree.version())) {
+            return menuTree;
+        }
+        // 先取版本号再查询，构建期间发生的变更会使本次结果立即过期
+        long version = versionService.getVersion(tenantId);
+        List<SysMenuVo> menuList;
         List<SysMenu> menus;
-        if (LoginHelper.isSuperAdmin(userId)) {
-            // 超级管理员获取所有菜单
+        if (superAdmin) {
+            // 管理员显示所有菜单信息
+            menuList = MapstructUtils.convert(baseMapper.selectList(new LambdaQueryWrapper<SysMenu>()
+                .orderByAsc(SysMenu::getParentId)
+                .orderByAsc(SysMenu::getOrderNum)), SysMenuVo.class);
             menus = baseMapper.selectMenuTreeAll();
+        } else if (roleIds.isEmpty()) {
+            menuList = List.of();
+            menus = List.of();
         } else {
-            // 普通用户根据权限获取菜单
-            menus = baseMapper.selectMenuTreeByUserId(userId);
+            // 普通用户根据角色权限查询菜单
+            menus = baseMapper.selectMenuTreeByRoleIds(roleIds);
+            menuList = MapstructUtils.convert(menus, SysMenuVo.class);
         }
-        return getChildPerms(menus, 0L);
+        List<SysMenu> tree = getChildPerms(menus, 0L);
+        menuTree = new MenuTree(Collections.unmodifiableList(menuList), Collections.unmodifiableList(tree),
+            Collections.unmodifiableList(buildMenus(tree)), version);
+        menuTreeCache.put(cacheKey, menuTree);
+        return menuTree;
     }
 
     /**
@@ -302,7 +346,7 @@ public class SysMenuServiceImpl implements ISysMenuService {
         if (menus == null || menus.isEmpty()) {
             return new ArrayList<>();
         }
-        List<Object> treeSelect = new ArrayList<>();
+        List<Map<String, Object>> nodes = new ArrayList<>(menus.size());
         for (SysMenuVo menu : menus) {
             Map<String, Object> menuMap = new HashMap<>();
             menuMap.put("id", menu.getMenuId());
@@ -311,9 +355,16 @@ public class SysMenuServiceImpl implements ISysMenuService {
             menuMap.put("weight", menu.getOrderNum());
             menuMap.put("menuType", menu.getMenuType());
             menuMap.put("icon", menu.getIcon());
-            treeSelect.add(menuMap);
+            nodes.add(menuMap);
         }
-        return treeSelect;
+        // 父节点不在列表中的节点作为根节点，子节点挂载到children
+        List<Map<String, Object>> tree = TreeBuildUtils.build(nodes, node -> (Long) node.get("id"), node -> (Long) node.get("parentId"),
+            (node, children) -> {
+                if (!children.isEmpty()) {
+                    node.put("children", children);
+                }
+            }, TreeBuildUtils.byOrderNum(node -> (Integer) node.get("weight")));
+        return new ArrayList<>(tree);
     }
 
     /**
@@ -576,44 +627,11 @@ public class SysMenuServiceImpl implements ISysMenuService {
      * @return String
      */
     private List<SysMenu> getChildPerms(List<SysMenu> list, Long parentId) {
-        List<SysMenu> returnList = new ArrayList<>();
-        if (list != null) {
-            for (SysMenu t : list) {
-                // 一、根据传入的某个父节点ID,遍历该父节点的所有子节点
-                if (t.getParentId().equals(parentId)) {
-                    recursionFn(list, t);
-                    returnList.add(t);
-                }
-            }
-        }
-        return returnList;
-    }
-
-    /**
-     * 递归列表
-     */
-    private void recursionFn(List<SysMenu> list, SysMenu t) {
-        // 得到子节点列表
-        List<SysMenu> childList = new ArrayList<>();
-        for (SysMenu n : list) {
-            if (n.getParentId().equals(t.getMenuId())) {
-                childList.add(n);
-            }
-        }
-        t.setChildren(childList);
-        for (SysMenu tChild : childList) {
-            // 判断是否有子节点
-            boolean hasChild = false;
-            for (SysMenu n : list) {
-                if (n.getParentId().equals(tChild.getMenuId())) {
-                    hasChild = true;
-                    break;
-                }
-            }
-            if (hasChild) {
-                recursionFn(list, tChild);
-            }
+        if (list == null) {
+            return new ArrayList<>();
         }
+        return TreeBuildUtils.build(list, parentId, SysMenu::getMenuId, SysMenu::getParentId,
+            SysMenu::setChildren, TreeBuildUtils.byOrderNum(SysMenu::getOrderNum));
     }
 
     /**
@@ -624,15 +642,19 @@ public class SysMenuServiceImpl implements ISysMenuService {
      * @return 菜单树
      */
     private List<SysMenuVo> buildMenuTree(List<SysMenuVo> menuList, Long parentId) {
-        List<SysMenuVo> tree = new ArrayList<>();
-        for (SysMenuVo menu : menuList) {
-            if (parentId.equals(menu.getParentId())) {
-                List<SysMenuVo> children = buildMenuTree(menuList, menu.getMenuId());
-                menu.setChildren(children);
-                tree.add(menu);
-            }
-        }
-        return tree;
+        return TreeBuildUtils.build(menuList, parentId, SysMenuVo::getMenuId, SysMenuVo::getParentId,
+            SysMenuVo::setChildren, TreeBuildUtils.byOrderNum(SysMenuVo::getOrderNum));
+    }
+
+    /**
+     * 按角色集合缓存的菜单数据，构建后不再修改，调用方不得修改其中的菜单对象
+     *
+     * @param menus   菜单列表
+     * @param tree    菜单树
+     * @param routers 前端路由
+     * @param version 构建时的租户权限版本号
+     */
+    private record MenuTree(List<SysMenuVo> menus, List<SysMenu> tree, List<RouterVo> routers, long version) {
     }
 
-}
\ No newline at end of file
+}
@@ -2,11 +2,13 @@ package org.example.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import org.apache.commons.lang3.StringUtils;
+import org.example.domain.em.UniqueKeyType;
 import org.example.domain.entity.SysPost;
 import org.example.domain.bo.SysPostBo;
 import org.example.domain.vo.SysPostVo;
 import org.example.mapper.SysPostMapper;
 import org.example.service.ISysPostService;
+import org.example.service.UniqueKeyFilter;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 
@@ -23,9 +25,11 @@ import java.util.List;
 public class SysPostServiceImpl implements ISysPostService {
 
     private final SysPostMapper baseMapper;
+    private final UniqueKeyFilter uniqueKeyFilter;
 
-    public SysPostServiceImpl(SysPostMapper baseMapper) {
+    public SysPostServiceImpl(SysPostMapper baseMapper, UniqueKeyFilter uniqueKeyFilter) {
         this.baseMapper = baseMapper;
+        this.uniqueKeyFilter = uniqueKeyFilter;
     }
 
     /**
@@ -143,6 +147,9 @@ public class SysPostServiceImpl implements ISysPostService {
      */
     @Override
     public boolean checkPostCodeUnique(SysPostBo post) {
+        if (!uniqueKeyFilter.mightContain(UniqueKeyType.POST_CODE, post.getPostCode())) {
+            return true;
+        }
         Long postId = post.getPostId() == null ? -1L : post.getPostId();
         int count = baseMapper.checkPostCodeUnique(post.getPostCode(), postId);
         return count == 0;
@@ -182,6 +189,7 @@ public class SysPostServiceImpl implements ISysPostService {
         for (Long postId : postIds) {
             result += baseMapper.deleteById(postId);
         }
+        uniqueKeyFilter.markRemoved(UniqueKeyType.POST_CODE, result);
         return result;
     }
 
@@ -195,6 +203,7 @@ public class SysPostServiceImpl implements ISysPostService {
     public int insertPost(SysPostBo bo) {
         SysPost post = new SysPost();
         BeanUtils.copyProperties(bo, post);
+        uniqueKeyFilter.put(UniqueKeyType.POST_CODE, post.getTenantId(), post.getPostCode());
         return baseMapper.insert(post);
     }
 
@@ -208,6 +217,7 @@ public class SysPostServiceImpl implements ISysPostService {
     public int updatePost(SysPostBo bo) {
         SysPost post = new SysPost();
         BeanUtils.copyProperties(bo, post);
+        uniqueKeyFilter.put(UniqueKeyType.POST_CODE, post.getTenantId(), post.getPostCode());
         return baseMapper.updateById(post);
     }
 
@@ -1,5 +1,6 @@
 package org.example.service.impl;
 
+import cn.hutool.core.collection.CollUtil;
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
@@ -9,7 +10,10 @@ import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.example.domain.em.UniqueKeyType;
 import org.example.domain.entity.SysRole;
+import org.example.domain.model.OnlineUserCleanJob;
+import org.example.domain.event.PermissionChangedEvent;
 import org.example.domain.entity.SysRoleDept;
 import org.example.domain.entity.SysRoleMenu;
 import org.example.domain.entity.SysUserRole;
@@ -22,6 +26,10 @@ import org.example.mapper.SysRoleMapper;
 import org.example.mapper.SysRoleMenuMapper;
 import org.example.mapper.SysUserRoleMapper;
 import org.example.service.ISysRoleService;
+import org.example.service.OnlineUserCleanService;
+import org.example.service.UniqueKeyFilter;
+import org.example.utils.SpringUtils;
+import org.example.utils.TenantHelper;
 import java.time.LocalDateTime;
 // import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
@@ -42,12 +50,18 @@ public class SysRoleServiceImpl implements ISysRoleService {
     private final SysRoleMenuMapper roleMenuMapper;
     private final SysRoleDeptMapper roleDeptMapper;
     private final SysUserRoleMapper userRoleMapper;
+    private final OnlineUserCleanService onlineUserCleanService;
+    private final UniqueKeyFilter uniqueKeyFilter;
 
-    public SysRoleServiceImpl(SysRoleMapper baseMapper, SysRoleMenuMapper roleMenuMapper, SysRoleDeptMapper roleDeptMapper, SysUserRoleMapper userRoleMapper) {
+    public SysRoleServiceImpl(SysRoleMapper baseMapper, SysRoleMenuMapper roleMenuMapper, SysRoleDeptMapper roleDeptMapper,
+                              SysUserRoleMapper userRoleMapper, OnlineUserCleanService onlineUserCleanService,
+                              UniqueKeyFilter uniqueKeyFilter) {
         this.baseMapper = baseMapper;
         this.roleMenuMapper = roleMenuMapper;
         this.roleDeptMapper = roleDeptMapper;
         this.userRoleMapper = userRoleMapper;
+        this.onlineUserCleanService = onlineUserCleanService;
+        this.uniqueKeyFilter = uniqueKeyFilter;
     }
 
     /**
@@ -328,6 +342,9 @@ public class SysRoleServiceImpl implements ISysRoleService {
      */
     @Override
     public boolean checkRoleNameUnique(SysRoleBo role) {
+        if (!uniqueKeyFilter.mightContain(UniqueKeyType.ROLE_NAME, role.getRoleName())) {
+            return true;
+        }
         QueryWrapper<SysRole> wrapper = new QueryWrapper<>();
         wrapper.eq("role_name", role.getRoleName())
                .eq("del_flag", "0");
@@ -409,6 +426,7 @@ public class SysRoleServiceImpl implements ISysRoleService {
         role.setDelFlag("0");
         role.setCreateTime(LocalDateTime.now());
         
+        uniqueKeyFilter.put(UniqueKeyType.ROLE_NAME, role.getTenantId(), role.getRoleName());
         return baseMapper.insert(role);
     }
 
@@ -432,7 +450,13 @@ public class SysRoleServiceImpl implements ISysRoleService {
         role.setRemark(bo.getRemark());
         role.setUpdateTime(LocalDateTime.now());
         
-        return baseMapper.updateById(role);
+        uniqueKeyFilter.put(UniqueKeyType.ROLE_NAME, role.getTenantId(), role.getRoleName());
+        int rows = baseMapper.updateById(role);
+        if (rows > 0) {
+            // 角色权限字符变更影响该角色下全部用户
+            SpringUtils.context().publishEvent(PermissionChangedEvent.ofTenant(TenantHelper.getTenantId()));
+        }
+        return rows;
     }
 
     /**
@@ -497,7 +521,12 @@ public class SysRoleServiceImpl implements ISysRoleService {
         // roleMenuMapper.delete(new LambdaQueryWrapper<SysRoleMenu>().in(SysRoleMenu::getRoleId, Arrays.asList(roleIds)));
         // 删除角色与部门关联
         // roleDeptMapper.delete(new LambdaQueryWrapper<SysRoleDept>().in(SysRoleDept::getRoleId, Arrays.asList(roleIds)));
-        return baseMapper.deleteRoleByIds(roleIds);
+        int rows = baseMapper.deleteRoleByIds(roleIds);
+        uniqueKeyFilter.markRemoved(UniqueKeyType.ROLE_NAME, rows);
+        if (rows > 0) {
+            SpringUtils.context().publishEvent(PermissionChangedEvent.ofTenant(TenantHelper.getTenantId()));
+        }
+        return rows;
     }
 
     /**
@@ -514,6 +543,7 @@ public class SysRoleServiceImpl implements ISysRoleService {
         }
         int rows = userRoleMapper.deleteByRoleIdAndUserIds(roleId, userIds);
         // 可根据需要清理在线用户缓存：cleanOnlineUser(Arrays.asList(userIds));
+        SpringUtils.context().publishEvent(PermissionChangedEvent.ofUsers(TenantHelper.getTenantId(), userIds));
         return rows;
     }
 
@@ -544,16 +574,52 @@ public class SysRoleServiceImpl implements ISysRoleService {
         }
         int rows = userRoleMapper.insertBatch(list);
         // 可根据需要清理在线用户缓存：cleanOnlineUser(Arrays.asList(userIds));
+        SpringUtils.context().publishEvent(PermissionChangedEvent.ofUsers(TenantHelper.getTenantId(), userIds));
         return rows;
     }
 
+    /**
+     * 后台注销拥有指定角色的在线用户，一次查询得到角色下的全部用户
+     *
+     * @param roleId 角色ID
+     * @return 注销任务，角色未绑定用户时返回null
+     */
     @Override
-    public void cleanOnlineUserByRole(Long roleId) {
-        // 暂时不做处理，后续实现
+    public OnlineUserCleanJob cleanOnlineUserByRole(Long roleId) {
+        List<Long> userIds = userRoleMapper.selectUserIdsByRoleId(roleId);
+        // 如果角色未绑定用户 直接返回
+        if (CollUtil.isEmpty(userIds)) {
+            return null;
+        }
+        return onlineUserCleanService.submit(TenantHelper.getTenantId(), roleId, userIds);
     }
 
+    /**
+     * 后台注销指定用户的全部在线登录，同时失效其权限快照
+     *
+     * @param userIds 用户ID集合
+     * @return 注销任务，用户为空时返回null
+     */
+    @Override
+    public OnlineUserCleanJob cleanOnlineUser(List<Long> userIds) {
+        if (CollUtil.isEmpty(userIds)) {
+            return null;
+        }
+        return onlineUserCleanService.submit(TenantHelper.getTenantId(), null, userIds);
+    }
+
+    /**
+     * 查询在线用户注销任务，只能查询当前租户提交的任务
+     *
+     * @param jobId 任务ID
+     * @return 任务状态，不存在、已过期或不属于当前租户时返回null
+     */
     @Override
-    public void cleanOnlineUser(List<Long> userIds) {
-        // 暂时不做处理，后续实现
+    public OnlineUserCleanJob getCleanOnlineJob(String jobId) {
+        OnlineUserCleanJob job = onlineUserCleanService.getJob(jobId);
+        if (job == null || !Objects.equals(job.getTenantId(), TenantHelper.getTenantId())) {
+            return null;
+        }
+        return job;
     }
-}
\ No newline at end of file
+}
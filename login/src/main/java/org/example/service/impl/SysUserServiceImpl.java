@@ -1,16 +1,21 @@
 package org.example.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
+import org.example.domain.em.UniqueKeyType;
 import org.example.domain.entity.SysUser;
 import org.example.domain.entity.SysUserRole;
+import org.example.domain.event.PermissionChangedEvent;
 import org.example.domain.PageQuery;
 import org.example.domain.TableDataInfo;
 import org.example.mapper.SysUserMapper;
 import org.example.mapper.SysUserRoleMapper;
 import org.example.mapper.SysRoleMapper;
 import org.example.service.ISysUserService;
-import org.example.utils.EncryptUtils;
+import org.example.service.PasswordHashService;
+import org.example.service.UniqueKeyFilter;
+import org.example.utils.SpringUtils;
 import org.example.utils.StringUtils;
+import org.example.utils.TenantHelper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -39,6 +44,12 @@ public class SysUserServiceImpl implements ISysUserService {
     @Autowired
     private SysRoleMapper roleMapper;
 
+    @Autowired
+    private PasswordHashService passwordHashService;
+
+    @Autowired
+    private UniqueKeyFilter uniqueKeyFilter;
+
     /**
      * 通过用户名查询用户
      *
@@ -50,7 +61,15 @@ public class SysUserServiceImpl implements ISysUserService {
         if (StringUtils.isBlank(userName)) {
             return null;
         }
-        return userMapper.selectUserByUserName(userName);
+        // 一定不存在的用户名不访问数据库
+        if (!uniqueKeyFilter.mightContain(UniqueKeyType.USER_NAME, userName)) {
+            return null;
+        }
+        SysUser user = userMapper.selectUserByUserName(userName);
+        if (user == null) {
+            uniqueKeyFilter.recordFalsePositive(UniqueKeyType.USER_NAME);
+        }
+        return user;
     }
 
     /**
@@ -117,7 +136,13 @@ public class SysUserServiceImpl implements ISysUserService {
         if (StringUtils.isBlank(userName)) {
             return false;
         }
+        if (!uniqueKeyFilter.mightContain(UniqueKeyType.USER_NAME, userName)) {
+            return true;
+        }
         int count = userMapper.countByUserName(userName);
+        if (count == 0) {
+            uniqueKeyFilter.recordFalsePositive(UniqueKeyType.USER_NAME);
+        }
         return count == 0;
     }
 
@@ -148,7 +173,7 @@ public class SysUserServiceImpl implements ISysUserService {
         }
 
         // 使用BCrypt验证密码
-        boolean isValid = EncryptUtils.matchesPassword(password, user.getPassword());
+        boolean isValid = passwordHashService.matches(password, user.getPassword());
         if (isValid) {
             log.info("用户 {} 密码验证成功", userName);
         } else {
@@ -180,7 +205,7 @@ public class SysUserServiceImpl implements ISysUserService {
             return null;
         }
         
-        log.info("找到用户，用户ID: {}, 状态: {}, 密码哈希: {}", user.getUserId(), user.getStatus(), user.getPassword());
+        log.info("找到用户，用户ID: {}, 状态: {}", user.getUserId(), user.getStatus());
 
         // 检查用户状态
         if (!"0".equals(user.getStatus())) {
@@ -188,13 +213,18 @@ public class SysUserServiceImpl implements ISysUserService {
             return null;
         }
 
-        // 使用BCrypt验证密码
-        log.info("开始BCrypt密码验证，原始密码: {}, 哈希密码: {}", password, user.getPassword());
-        boolean isValid = EncryptUtils.matchesPassword(password, user.getPassword());
-        log.info("BCrypt密码验证结果: {}", isValid);
+        // 使用BCrypt验证密码，在专用线程池中执行
+        boolean isValid = passwordHashService.matches(password, user.getPassword());
         
         if (isValid) {
             log.info("用户 {} 密码验证成功", userName);
+            // 工作因子变更后透明升级密码哈希(需开启 password-hash.rehash-on-login)
+            Long userId = user.getUserId();
+            String oldPassword = user.getPassword();
+            passwordHashService.rehashIfNeeded(password, oldPassword, newPassword ->
+                TenantHelper.ignore(() -> {
+                    userMapper.updatePasswordIfUnchanged(userId, oldPassword, newPassword);
+                }));
             return user;
         } else {
             log.warn("用户 {} 密码验证失败", userName);
@@ -222,7 +252,7 @@ public class SysUserServiceImpl implements ISysUserService {
         }
 
         // 加密密码
-        String encryptedPassword = EncryptUtils.encryptPassword(user.getPassword());
+        String encryptedPassword = passwordHashService.encode(user.getPassword());
         user.setPassword(encryptedPassword);
 
         // 设置默认值
@@ -236,6 +266,8 @@ public class SysUserServiceImpl implements ISysUserService {
             user.setCreateTime(java.time.LocalDateTime.now());
         }
 
+        // 先写入过滤器，保证用户可见时一定能通过过滤
+        uniqueKeyFilter.put(UniqueKeyType.USER_NAME, user.getTenantId(), user.getUserName());
         try {
             int result = userMapper.insertUser(user);
             if (result > 0) {
@@ -261,6 +293,7 @@ public class SysUserServiceImpl implements ISysUserService {
     @Transactional(rollbackFor = Exception.class)
     public void insertUserAuth(Long userId, Long[] roleIds) {
         insertUserRole(userId, roleIds, true);
+        SpringUtils.context().publishEvent(PermissionChangedEvent.ofUsers(TenantHelper.getTenantId(), userId));
     }
 
     /**
@@ -520,11 +553,13 @@ public class SysUserServiceImpl implements ISysUserService {
         try {
             // 如果密码不为空，进行加密
             if (StringUtils.isNotBlank(user.getPassword())) {
-                String encryptedPassword = EncryptUtils.encryptPassword(user.getPassword());
+                String encryptedPassword = passwordHashService.encode(user.getPassword());
                 user.setPassword(encryptedPassword);
             }
             // 设置更新时间
             user.setUpdateTime(java.time.LocalDateTime.now());
+            // 用户名可能被修改
+            uniqueKeyFilter.put(UniqueKeyType.USER_NAME, user.getTenantId(), user.getUserName());
             int rows = userMapper.updateUser(user);
             if (rows > 0) {
                 log.info("用户 {} 更新成功", user.getUserName());
@@ -558,6 +593,8 @@ public class SysUserServiceImpl implements ISysUserService {
         // 逻辑删除用户
         int rows = userMapper.deleteUserByIds(userIds);
         log.info("已逻辑删除用户数量: {}", rows);
+        uniqueKeyFilter.markRemoved(UniqueKeyType.USER_NAME, rows);
+        SpringUtils.context().publishEvent(PermissionChangedEvent.ofUsers(TenantHelper.getTenantId(), userIds));
         return rows;
     }
 }
\ No newline at end of file
@@ -1,15 +1,26 @@
 package org.example.utils;
 
+import cn.dev33.satoken.SaManager;
 import cn.dev33.satoken.context.SaHolder;
 import cn.dev33.satoken.context.model.SaStorage;
+import cn.dev33.satoken.listener.SaTokenEventCenter;
 import cn.dev33.satoken.session.SaSession;
+import cn.dev33.satoken.stp.StpLogic;
 import cn.dev33.satoken.stp.StpUtil;
 import cn.hutool.core.util.ObjectUtil;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.config.satoken.TenantSaTokenDao;
+import org.example.domain.em.UserType;
 import org.example.domain.entity.LoginUser;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 登录鉴权助手
  * <p>
@@ -62,6 +73,90 @@ public class LoginHelper {
         StpUtil.logout();
     }
 
+    /**
+     * 批量获取账号的全部token
+     * 启用账号token索引时每批账号一次往返读取，否则逐个读取账号session中的token列表
+     *
+     * @param loginIds 账号集合
+     * @return 账号 -> token列表，没有token的账号不在结果中
+     */
+    public static Map<String, List<String>> getTokenValues(Collection<String> loginIds) {
+        if (SaManager.getSaTokenDao() instanceof TenantSaTokenDao dao) {
+            Map<String, List<String>> tokens = dao.getTokenValues(StpUtil.getLoginType(), loginIds);
+            if (tokens != null) {
+                return tokens;
+            }
+        }
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        for (String loginId : loginIds) {
+            List<String> tokens = StpUtil.getTokenValueListByLoginId(loginId);
+            if (!tokens.isEmpty()) {
+                result.put(loginId, tokens);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 注销指定用户在所有用户类型、所有设备上的登录
+     * 先通过账号token索引批量筛选出有登录的账号；使用多租户持久层时按批次流水线删除token、token-session、
+     * 活跃时间与账号session，删除完成后逐个触发 Sa-Token 的注销事件，与 {@link StpLogic#logout(Object)} 的结果一致；
+     * 其他持久层逐个账号调用 Sa-Token 注销
+     *
+     * @param userIds 用户ID集合
+     * @return 注销的token数量
+     */
+    public static int logoutByUserIds(Collection<Long> userIds) {
+        List<String> loginIds = new ArrayList<>(userIds.size() * UserType.values().length);
+        for (Long userId : userIds) {
+            for (UserType userType : UserType.values()) {
+                loginIds.add(userType.getUserType() + ":" + userId);
+            }
+        }
+        Map<String, List<String>> tokens = getTokenValues(loginIds);
+        if (SaManager.getSaTokenDao() instanceof TenantSaTokenDao dao) {
+            return logoutBatch(dao, tokens);
+        }
+        int count = 0;
+        for (Map.Entry<String, List<String>> entry : tokens.entrySet()) {
+            try {
+                StpUtil.logout(entry.getKey());
+                count += entry.getValue().size();
+            } catch (Exception e) {
+                log.debug("注销账号 {} 失败: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 流水线批量注销，每批key一次往返，注销事件在对应数据删除后触发
+     */
+    private static int logoutBatch(TenantSaTokenDao dao, Map<String, List<String>> tokens) {
+        StpLogic stpLogic = StpUtil.getStpLogic();
+        Map<String, Object> keys = new LinkedHashMap<>();
+        int count = 0;
+        for (Map.Entry<String, List<String>> entry : tokens.entrySet()) {
+            for (String tokenValue : entry.getValue()) {
+                keys.put(stpLogic.splicingKeyTokenValue(tokenValue), entry.getKey());
+                keys.put(stpLogic.splicingKeyTokenSession(tokenValue), null);
+                keys.put(stpLogic.splicingKeyLastActiveTime(tokenValue), null);
+                count++;
+            }
+            keys.put(stpLogic.splicingKeySession(entry.getKey()), null);
+        }
+        dao.deleteBatch(keys);
+
+        String loginType = stpLogic.getLoginType();
+        for (Map.Entry<String, List<String>> entry : tokens.entrySet()) {
+            for (String tokenValue : entry.getValue()) {
+                SaTokenEventCenter.doLogout(loginType, entry.getKey(), tokenValue);
+            }
+            SaTokenEventCenter.doLogoutSession(stpLogic.splicingKeySession(entry.getKey()));
+        }
+        return count;
+    }
+
     /**
      * 获取用户(多级缓存)
      */
@@ -1,19 +1,45 @@
 package org.example.utils;
 
 
+import cn.hutool.core.thread.ExecutorBuilder;
+import cn.hutool.core.thread.ThreadUtil;
 import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.*;
+import org.redisson.api.options.KeysScanOptions;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 
 
+@Slf4j
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 @SuppressWarnings(value = {"unchecked", "rawtypes"})
 public class RedisUtils {
 
     private static final RedissonClient CLIENT = SpringUtils.getBean(RedissonClient.class);
 
+    /**
+     * 批量删除时每批SCAN/UNLINK的key数量
+     */
+    public static final int DELETE_BATCH_SIZE = 500;
+
+    /**
+     * 异步批量删除使用的单线程执行器，任务排队依次执行，避免并发扫描
+     */
+    private static final ExecutorService DELETE_EXECUTOR = ExecutorBuilder.create()
+        .setCorePoolSize(1)
+        .setMaxPoolSize(1)
+        .setThreadFactory(ThreadUtil.newNamedThreadFactory("redis-delete-", true))
+        .build();
+
     public static <T> void setCacheObject(final String key, final T value, final Duration duration) {
         RBatch batch = CLIENT.createBatch();
         RBucketAsync<T> bucket = batch.getBucket(key);
@@ -66,6 +92,121 @@ public class RedisUtils {
         return keyList;
     }
 
+    /**
+     * 批量删除指定key，按批次合并为一次管道往返，使用UNLINK由Redis后台释放内存
+     *
+     * @param keys key集合
+     * @return 删除的数量
+     */
+    public static long deleteKeys(final Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return 0L;
+        }
+        RBatch batch = CLIENT.createBatch();
+        List<String> chunk = new ArrayList<>(Math.min(keys.size(), DELETE_BATCH_SIZE));
+        for (String key : keys) {
+            chunk.add(key);
+            if (chunk.size() == DELETE_BATCH_SIZE) {
+                batch.getKeys().unlinkAsync(chunk.toArray(new String[0]));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            batch.getKeys().unlinkAsync(chunk.toArray(new String[0]));
+        }
+        long deleted = 0L;
+        for (Object count : batch.execute().getResponses()) {
+            deleted += (Long) count;
+        }
+        return deleted;
+    }
+
+    /**
+     * 按模式批量删除key
+     * 使用SCAN游标分批遍历(不阻塞Redis)，每批扫描结果立即UNLINK，内存占用与key总数无关
+     *
+     * @param pattern 匹配模式
+     * @return 删除的数量
+     */
+    public static long deleteKeysByPattern(final String pattern) {
+        return deleteKeysByPattern(pattern, new DeleteProgress(pattern));
+    }
+
+    /**
+     * 按模式异步批量删除key，可通过返回的进度对象查看已扫描、已删除数量
+     *
+     * @param pattern 匹配模式
+     * @return 删除进度
+     */
+    public static DeleteProgress deleteKeysByPatternAsync(final String pattern) {
+        DeleteProgress progress = new DeleteProgress(pattern);
+        CompletableFuture.supplyAsync(() -> deleteKeysByPattern(pattern, progress), DELETE_EXECUTOR)
+            .whenComplete((deleted, e) -> {
+                if (e != null) {
+                    log.error("批量删除key失败, pattern: {}, 已删除: {}", pattern, progress.getDeleted(), e);
+                    progress.getFuture().completeExceptionally(e);
+                } else {
+                    progress.getFuture().complete(deleted);
+                }
+            });
+        return progress;
+    }
+
+    private static long deleteKeysByPattern(String pattern, DeleteProgress progress) {
+        long start = System.currentTimeMillis();
+        RKeys rKeys = CLIENT.getKeys();
+        Iterable<String> keys = rKeys.getKeys(KeysScanOptions.defaults().pattern(pattern).chunkSize(DELETE_BATCH_SIZE));
+        List<String> chunk = new ArrayList<>(DELETE_BATCH_SIZE);
+        for (String key : keys) {
+            chunk.add(key);
+            progress.scanned.incrementAndGet();
+            if (chunk.size() == DELETE_BATCH_SIZE) {
+                progress.deleted.addAndGet(rKeys.unlink(chunk.toArray(new String[0])));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            progress.deleted.addAndGet(rKeys.unlink(chunk.toArray(new String[0])));
+        }
+        log.debug("批量删除key完成, pattern: {}, 扫描: {}, 删除: {}, 耗时: {}ms", pattern,
+            progress.getScanned(), progress.getDeleted(), System.currentTimeMillis() - start);
+        return progress.getDeleted();
+    }
+
+    /**
+     * 批量删除进度
+     */
+    @Getter
+    public static final class DeleteProgress {
+
+        private final String pattern;
+
+        private final AtomicLong scanned = new AtomicLong();
+
+        private final AtomicLong deleted = new AtomicLong();
+
+        /**
+         * 完成时返回删除的数量
+         */
+        private final CompletableFuture<Long> future = new CompletableFuture<>();
+
+        private DeleteProgress(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public long getScanned() {
+            return scanned.get();
+        }
+
+        public long getDeleted() {
+            return deleted.get();
+        }
+
+        public boolean isDone() {
+            return future.isDone();
+        }
+    }
+
     /**
      * 限流
      *
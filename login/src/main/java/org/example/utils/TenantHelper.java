@@ -141,6 +141,24 @@ public class TenantHelper {
         return TEMP_DYNAMIC_TENANT.get();
     }
 
+    /**
+     * 获取当前线程的动态租户(只读取ThreadLocal)，用于向异步任务传递
+     */
+    public static String getThreadDynamic() {
+        return TEMP_DYNAMIC_TENANT.get();
+    }
+
+    /**
+     * 设置当前线程的动态租户(只写入ThreadLocal)，为空时清除
+     */
+    public static void setThreadDynamic(String tenantId) {
+        if (tenantId == null) {
+            TEMP_DYNAMIC_TENANT.remove();
+        } else {
+            TEMP_DYNAMIC_TENANT.set(tenantId);
+        }
+    }
+
     /**
      * 清除动态租户
      */
@@ -0,0 +1,113 @@
+package org.example.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 树结构组装工具类
+ * <p>
+ * 一次遍历建立 父ID -> 子节点 索引，再从根节点逐层(非递归)挂载子节点，整体为 O(n log n)(仅同级排序)。
+ * 同级节点按给定比较器稳定排序，比较结果相同时保持原列表中的顺序。
+ *
+ * @author example
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TreeBuildUtils {
+
+    /**
+     * 按排序号升序，排序号为空的排在最后
+     */
+    public static <T> Comparator<T> byOrderNum(Function<T, Integer> orderNumGetter) {
+        return Comparator.comparing(orderNumGetter, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    /**
+     * 构建树，父ID等于 rootParentId 的节点作为根节点
+     *
+     * @param nodes          节点列表
+     * @param rootParentId   根节点的父ID
+     * @param idGetter       节点ID
+     * @param parentIdGetter 父节点ID
+     * @param childrenSetter 设置子节点
+     * @param comparator     同级节点排序，为空时保持原顺序
+     * @return 根节点列表
+     */
+    public static <T, K> List<T> build(Collection<T> nodes, K rootParentId, Function<T, K> idGetter, Function<T, K> parentIdGetter,
+                                       BiConsumer<T, List<T>> childrenSetter, Comparator<? super T> comparator) {
+        return assemble(nodes, node -> Objects.equals(parentIdGetter.apply(node), rootParentId),
+            idGetter, parentIdGetter, childrenSetter, comparator);
+    }
+
+    /**
+     * 构建树，父节点不在列表中的节点作为根节点(适用于按条件筛选后的部分数据)
+     *
+     * @param nodes          节点列表
+     * @param idGetter       节点ID
+     * @param parentIdGetter 父节点ID
+     * @param childrenSetter 设置子节点
+     * @param comparator     同级节点排序，为空时保持原顺序
+     * @return 根节点列表
+     */
+    public static <T, K> List<T> build(Collection<T> nodes, Function<T, K> idGetter, Function<T, K> parentIdGetter,
+                                       BiConsumer<T, List<T>> childrenSetter, Comparator<? super T> comparator) {
+        Set<K> ids = new HashSet<>(nodes.size() * 2);
+        for (T node : nodes) {
+            ids.add(idGetter.apply(node));
+        }
+        return assemble(nodes, node -> !ids.contains(parentIdGetter.apply(node)),
+            idGetter, parentIdGetter, childrenSetter, comparator);
+    }
+
+    private static <T, K> List<T> assemble(Collection<T> nodes, Predicate<T> isRoot, Function<T, K> idGetter, Function<T, K> parentIdGetter,
+                                           BiConsumer<T, List<T>> childrenSetter, Comparator<? super T> comparator) {
+        List<T> roots = new ArrayList<>();
+        Map<K, List<T>> childrenIndex = new HashMap<>(nodes.size() * 2);
+        for (T node : nodes) {
+            if (isRoot.test(node)) {
+                roots.add(node);
+            } else {
+                K parentId = parentIdGetter.apply(node);
+                if (parentId != null) {
+                    childrenIndex.computeIfAbsent(parentId, k -> new ArrayList<>()).add(node);
+                }
+            }
+        }
+        sort(roots, comparator);
+        // 逐层挂载子节点，每个节点只会被访问一次
+        Deque<T> pending = new ArrayDeque<>(roots);
+        while (!pending.isEmpty()) {
+            T node = pending.poll();
+            List<T> children = childrenIndex.remove(idGetter.apply(node));
+            if (children == null) {
+                children = new ArrayList<>(0);
+            } else {
+                sort(children, comparator);
+                pending.addAll(children);
+            }
+            childrenSetter.accept(node, children);
+        }
+        return roots;
+    }
+
+    private static <T> void sort(List<T> list, Comparator<? super T> comparator) {
+        if (comparator != null && list.size() > 1) {
+            list.sort(comparator);
+        }
+    }
+
+}
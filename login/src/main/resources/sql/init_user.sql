@@ -24,7 +24,8 @@ CREATE TABLE `sys_user` (
   `update_time` datetime DEFAULT NULL COMMENT 'Update Time',
   `remark` varchar(500) DEFAULT NULL COMMENT 'Remark',
   PRIMARY KEY (`user_id`),
-  UNIQUE KEY `tenant_id` (`tenant_id`,`user_name`)
+  UNIQUE KEY `tenant_id` (`tenant_id`,`user_name`),
+  KEY `idx_sys_user_dept_id` (`dept_id`)
 ) ENGINE=InnoDB AUTO_INCREMENT=100 DEFAULT CHARSET=utf8mb4 COMMENT='User Information Table';
 
 -- ----------------------------
@@ -121,9 +122,22 @@ CREATE TABLE `sys_dept` (
   `update_by` varchar(64) DEFAULT '' COMMENT 'Updater',
   `update_time` datetime DEFAULT NULL COMMENT 'Update Time',
   PRIMARY KEY (`dept_id`),
-  KEY `idx_sys_dept_tenant_id` (`tenant_id`)
+  KEY `idx_sys_dept_tenant_id` (`tenant_id`),
+  KEY `idx_sys_dept_ancestors` (`ancestors`)
 ) ENGINE=InnoDB AUTO_INCREMENT=200 DEFAULT CHARSET=utf8mb4 COMMENT='Department Table';
 
+-- ----------------------------
+-- Department Closure Table
+-- ----------------------------
+DROP TABLE IF EXISTS `sys_dept_closure`;
+CREATE TABLE `sys_dept_closure` (
+  `ancestor_id` bigint(20) NOT NULL COMMENT 'Ancestor Department ID',
+  `descendant_id` bigint(20) NOT NULL COMMENT 'Descendant Department ID',
+  `depth` int(4) NOT NULL DEFAULT 0 COMMENT 'Depth',
+  PRIMARY KEY (`ancestor_id`,`descendant_id`),
+  KEY `idx_sys_dept_closure_descendant` (`descendant_id`,`depth`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='Department Closure Table';
+
 -- ----------------------------
 -- Initialize Department Data
 -- ----------------------------
@@ -131,6 +145,12 @@ INSERT INTO `sys_dept` VALUES(100, '000000', 0, '0', 'Head Office', 0, 'Administ
 INSERT INTO `sys_dept` VALUES(101, '000000', 100, '0,100', 'R&D Department', 1, 'R&D Manager', '15888888888', 'dev@example.com', '0', '0', 'admin', now(), '', null);
 INSERT INTO `sys_dept` VALUES(102, '000000', 100, '0,100', 'Marketing Department', 2, 'Marketing Manager', '15888888888', 'market@example.com', '0', '0', 'admin', now(), '', null);
 
+INSERT INTO `sys_dept_closure` VALUES(100, 100, 0);
+INSERT INTO `sys_dept_closure` VALUES(101, 101, 0);
+INSERT INTO `sys_dept_closure` VALUES(102, 102, 0);
+INSERT INTO `sys_dept_closure` VALUES(100, 101, 1);
+INSERT INTO `sys_dept_closure` VALUES(100, 102, 1);
+
 -- ----------------------------
 -- Initialize Role Data
 -- ----------------------------
@@ -160,6 +180,8 @@ INSERT INTO `sys_menu` VALUES(103, '000000', 'Department Management', 1, 4, 'dep
 INSERT INTO `sys_menu` VALUES(104, '000000', 'Post Management', 1, 5, 'post', 'system/post/index', '', 1, 0, 'C', '0', '0', 'system:post:list', 'post', 'admin', now(), '', null, 'Post Management Menu');
 INSERT INTO `sys_menu` VALUES(105, '000000', 'Dictionary Management', 1, 6, 'dict', 'system/dict/index', '', 1, 0, 'C', '0', '0', 'system:dict:list', 'dict', 'admin', now(), '', null, 'Dictionary Management Menu');
 INSERT INTO `sys_menu` VALUES(106, '000000', 'Parameter Settings', 1, 7, 'config', 'system/config/index', '', 1, 0, 'C', '0', '0', 'system:config:list', 'edit', 'admin', now(), '', null, 'Parameter Settings Menu');
+INSERT INTO `sys_menu` VALUES(2, '000000', 'System Monitor', 0, 2, 'monitor', null, '', 1, 0, 'M', '0', '0', '', 'monitor', 'admin', now(), '', null, 'System Monitor Directory');
+INSERT INTO `sys_menu` VALUES(107, '000000', 'Rate Limiter Monitor', 2, 1, 'rateLimiter', 'monitor/rateLimiter/index', '', 1, 0, 'C', '0', '0', 'monitor:rateLimiter:list', 'monitor', 'admin', now(), '', null, 'Rate Limiter Monitor Menu');
 
 -- User Management Buttons
 INSERT INTO `sys_menu` VALUES(1001, '000000', 'User Query', 100, 1, '', '', '', 1, 0, 'F', '0', '0', 'system:user:query', '#', 'admin', now(), '', null, '');
@@ -223,6 +245,8 @@ INSERT INTO `sys_role_menu` VALUES(1, 1017);
 INSERT INTO `sys_role_menu` VALUES(1, 1018);
 INSERT INTO `sys_role_menu` VALUES(1, 1019);
 INSERT INTO `sys_role_menu` VALUES(1, 1020);
+INSERT INTO `sys_role_menu` VALUES(1, 2);
+INSERT INTO `sys_role_menu` VALUES(1, 107);
 
 -- Common User only has query permissions
 INSERT INTO `sys_role_menu` VALUES(2, 1);
@@ -0,0 +1,35 @@
+-- ----------------------------
+-- 部门表祖级列表索引(已有库升级使用)
+-- 修改上级部门时按祖级前缀批量更新子部门
+-- ----------------------------
+ALTER TABLE `sys_dept` ADD INDEX `idx_sys_dept_ancestors` (`ancestors`);
+
+-- ----------------------------
+-- 用户表部门索引(校验部门下是否存在用户)
+-- ----------------------------
+ALTER TABLE `sys_user` ADD INDEX `idx_sys_user_dept_id` (`dept_id`);
+
+-- ----------------------------
+-- 部门闭包表，保存部门与其全部祖先(含自身)的关系
+-- 不含租户字段，需配置在 tenant.excludeTables 中，查询时通过关联 sys_dept 做租户与删除标志过滤
+-- ----------------------------
+DROP TABLE IF EXISTS `sys_dept_closure`;
+CREATE TABLE `sys_dept_closure` (
+  `ancestor_id` bigint(20) NOT NULL COMMENT '祖先部门ID',
+  `descendant_id` bigint(20) NOT NULL COMMENT '后代部门ID',
+  `depth` int(4) NOT NULL DEFAULT 0 COMMENT '层级距离',
+  PRIMARY KEY (`ancestor_id`,`descendant_id`),
+  KEY `idx_sys_dept_closure_descendant` (`descendant_id`,`depth`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='部门闭包表';
+
+-- 按 parent_id 回填已有部门的闭包关系(MySQL 8)
+INSERT INTO `sys_dept_closure` (`ancestor_id`, `descendant_id`, `depth`)
+WITH RECURSIVE paths (`ancestor_id`, `descendant_id`, `depth`) AS (
+  SELECT `dept_id`, `dept_id`, 0 FROM `sys_dept`
+  UNION ALL
+  SELECT d.`parent_id`, p.`descendant_id`, p.`depth` + 1
+  FROM paths p
+  INNER JOIN `sys_dept` d ON d.`dept_id` = p.`ancestor_id`
+  WHERE d.`parent_id` IS NOT NULL AND d.`parent_id` != 0
+)
+SELECT `ancestor_id`, `descendant_id`, `depth` FROM paths;
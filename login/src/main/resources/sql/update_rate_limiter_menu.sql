@@ -0,0 +1,11 @@
+-- ----------------------------
+-- 限流监控菜单(已有库升级使用)
+-- 限流指标与拒绝记录接口需要 monitor:rateLimiter:list 权限，默认授予超级管理员角色
+-- ----------------------------
+INSERT INTO `sys_menu` (`menu_id`, `tenant_id`, `menu_name`, `parent_id`, `order_num`, `path`, `component`, `query_param`, `is_frame`, `is_cache`, `menu_type`, `visible`, `status`, `perms`, `icon`, `create_by`, `create_time`, `update_by`, `update_time`, `remark`)
+VALUES (2, '000000', 'System Monitor', 0, 2, 'monitor', null, '', 1, 0, 'M', '0', '0', '', 'monitor', 'admin', now(), '', null, 'System Monitor Directory');
+INSERT INTO `sys_menu` (`menu_id`, `tenant_id`, `menu_name`, `parent_id`, `order_num`, `path`, `component`, `query_param`, `is_frame`, `is_cache`, `menu_type`, `visible`, `status`, `perms`, `icon`, `create_by`, `create_time`, `update_by`, `update_time`, `remark`)
+VALUES (107, '000000', 'Rate Limiter Monitor', 2, 1, 'rateLimiter', 'monitor/rateLimiter/index', '', 1, 0, 'C', '0', '0', 'monitor:rateLimiter:list', 'monitor', 'admin', now(), '', null, 'Rate Limiter Monitor Menu');
+
+INSERT INTO `sys_role_menu` (`role_id`, `menu_id`) VALUES (1, 2);
+INSERT INTO `sys_role_menu` (`role_id`, `menu_id`) VALUES (1, 107);
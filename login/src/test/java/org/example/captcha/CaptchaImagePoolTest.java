@@ -0,0 +1,91 @@
+package org.example.captcha;
+
+import cn.hutool.extra.spring.SpringUtil;
+import org.example.config.CaptchaConfig;
+import org.example.config.properties.CaptchaProperties;
+import org.example.domain.em.CaptchaCategory;
+import org.example.domain.em.CaptchaType;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 验证码图片池校验：答案与图片、预生成后出队、池为空时现场生成
+ */
+public class CaptchaImagePoolTest {
+
+    private static final String IMAGE_PREFIX = "data:image/png;base64,";
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(CaptchaConfig.class, SpringUtil.class)) {
+            charCaptcha();
+            mathCaptcha();
+            prerendered();
+        }
+        System.out.println("CaptchaImagePoolTest passed");
+    }
+
+    /**
+     * 未启动时池为空，现场生成字符验证码，答案为验证码文本
+     */
+    private static void charCaptcha() {
+        CaptchaImagePool pool = new CaptchaImagePool(properties(CaptchaType.CHAR, 10));
+        Set<String> uuids = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            CaptchaImage image = pool.take();
+            check(image.answer().length() == 4, "char answer length: " + image.answer());
+            check(image.img().startsWith(IMAGE_PREFIX), "image is a png data uri");
+            check(uuids.add(image.uuid()), "uuid is unique");
+        }
+    }
+
+    /**
+     * 计算类验证码的答案为非负整数的计算结果
+     */
+    private static void mathCaptcha() {
+        CaptchaImagePool pool = new CaptchaImagePool(properties(CaptchaType.MATH, 10));
+        for (int i = 0; i < 20; i++) {
+            CaptchaImage image = pool.take();
+            int answer = Integer.parseInt(image.answer());
+            check(answer >= 0, "unsigned math answer: " + answer);
+            check(image.img().startsWith(IMAGE_PREFIX), "image is a png data uri");
+        }
+    }
+
+    /**
+     * 启动后后台线程填满队列，出队的验证码各不相同
+     */
+    private static void prerendered() throws InterruptedException {
+        CaptchaImagePool pool = new CaptchaImagePool(properties(CaptchaType.CHAR, 5));
+        pool.start();
+        try {
+            Thread.sleep(1500);
+            Set<String> uuids = new HashSet<>();
+            for (int i = 0; i < 5; i++) {
+                check(uuids.add(pool.take().uuid()), "prerendered uuid is unique");
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static CaptchaProperties properties(CaptchaType type, int poolSize) {
+        CaptchaProperties properties = new CaptchaProperties();
+        properties.setEnable(true);
+        properties.setType(type);
+        properties.setCategory(CaptchaCategory.LINE);
+        properties.setNumberLength(1);
+        properties.setCharLength(4);
+        properties.setPoolSize(poolSize);
+        properties.setPoolWorkers(1);
+        return properties;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.captcha;
+
+import org.example.config.properties.CaptchaProperties;
+import org.example.exception.ServiceException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 本地验证码存储校验：一次性取出、过期、容量上限、时间轮清理、并发取出
+ */
+public class LocalCaptchaStoreTest {
+
+    public static void main(String[] args) throws Exception {
+        takeOnce();
+        expired();
+        capacityAndCleanup();
+        concurrentTake();
+        System.out.println("LocalCaptchaStoreTest passed");
+    }
+
+    /**
+     * 取出即删除，同一验证码只能取出一次
+     */
+    private static void takeOnce() {
+        LocalCaptchaStore store = newStore(10);
+        try {
+            store.save("a", "1234", Duration.ofSeconds(60));
+            check("1234".equals(store.take("a")), "first take returns the code");
+            check(store.take("a") == null, "second take returns null");
+            check(store.take("missing") == null, "unknown uuid returns null");
+        } finally {
+            store.shutdown();
+        }
+    }
+
+    /**
+     * 已过期但尚未被清理的验证码不可使用
+     */
+    private static void expired() throws InterruptedException {
+        LocalCaptchaStore store = newStore(10);
+        try {
+            store.save("a", "1234", Duration.ofMillis(50));
+            Thread.sleep(100);
+            check(store.take("a") == null, "expired code is rejected");
+        } finally {
+            store.shutdown();
+        }
+    }
+
+    /**
+     * 达到上限时拒绝保存，过期条目被时间轮清理后恢复可用
+     */
+    private static void capacityAndCleanup() throws InterruptedException {
+        LocalCaptchaStore store = newStore(3);
+        try {
+            for (int i = 0; i < 3; i++) {
+                store.save("k" + i, "c" + i, Duration.ofSeconds(1));
+            }
+            boolean refused = false;
+            try {
+                store.save("k3", "c3", Duration.ofSeconds(60));
+            } catch (ServiceException e) {
+                refused = true;
+            }
+            check(refused, "save is refused at capacity");
+
+            // 过期后最多再经过两个刻度完成清理
+            Thread.sleep(3500);
+            store.save("k3", "c3", Duration.ofSeconds(60));
+            check("c3".equals(store.take("k3")), "capacity is released after expiry cleanup");
+        } finally {
+            store.shutdown();
+        }
+    }
+
+    /**
+     * 并发取出同一验证码，只有一个请求能拿到答案
+     */
+    private static void concurrentTake() throws InterruptedException {
+        LocalCaptchaStore store = newStore(1000);
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 200; round++) {
+                String uuid = "u" + round;
+                store.save(uuid, "code", Duration.ofSeconds(60));
+                CountDownLatch start = new CountDownLatch(1);
+                CountDownLatch done = new CountDownLatch(threads);
+                AtomicInteger hits = new AtomicInteger();
+                for (int t = 0; t < threads; t++) {
+                    executor.execute(() -> {
+                        try {
+                            start.await();
+                            if (store.take(uuid) != null) {
+                                hits.incrementAndGet();
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            done.countDown();
+                        }
+                    });
+                }
+                start.countDown();
+                check(done.await(5, TimeUnit.SECONDS), "round " + round + " finished");
+                check(hits.get() == 1, "round " + round + " hits " + hits.get());
+            }
+        } finally {
+            executor.shutdownNow();
+            store.shutdown();
+        }
+    }
+
+    private static LocalCaptchaStore newStore(int maxSize) {
+        CaptchaProperties properties = new CaptchaProperties();
+        properties.setLocalMaxSize(maxSize);
+        return new LocalCaptchaStore(properties);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
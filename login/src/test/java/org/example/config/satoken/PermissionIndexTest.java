@@ -0,0 +1,58 @@
+package org.example.config.satoken;
+
+import cn.dev33.satoken.util.SaFoxUtil;
+
+import java.util.List;
+
+/**
+ * 权限索引匹配结果与 Sa-Token 逐条模糊匹配一致性校验
+ */
+public class PermissionIndexTest {
+
+    private static final List<String> PATTERNS = List.of(
+        "*", "a:*", "a:b:*", "a:b:c", "a:*:c", "*:*:*", "system:user:list", "sys*");
+
+    private static final List<String> PERMISSIONS = List.of(
+        "", "a", "a:", "a:b", "a:b:", "a:b:c", "a:b:c:d", "a:x:c", "a:x:y:c", "ab", "ab:c",
+        "b", "b:a", "system:user:list", "system:user", "system", "sys:menu", "x:y:z", "*", "a:*");
+
+    public static void main(String[] args) {
+        int checks = 0;
+        // 单条权限码逐个比较
+        for (String pattern : PATTERNS) {
+            PermissionIndex index = PermissionIndex.of(List.of(pattern));
+            for (String permission : PERMISSIONS) {
+                check(index.matches(permission) == SaFoxUtil.vagueMatch(pattern, permission),
+                    "pattern '" + pattern + "', permission '" + permission + "'");
+                checks++;
+            }
+        }
+        // 多条权限码组合
+        List<List<String>> groups = List.of(List.of("*"), List.of("a:*"), List.of("a:b:*"),
+            List.of("a:b:*", "system:user:list"), List.of("a:*:c", "sys*"), PATTERNS);
+        for (List<String> group : groups) {
+            PermissionIndex index = PermissionIndex.of(group);
+            for (String permission : PERMISSIONS) {
+                boolean expected = group.stream().anyMatch(pattern -> SaFoxUtil.vagueMatch(pattern, permission));
+                check(index.matches(permission) == expected, "group " + group + ", permission '" + permission + "'");
+                checks++;
+            }
+        }
+
+        // List 契约：contains 为精确比较，通配匹配只走 matches
+        PermissionIndex index = PermissionIndex.of(List.of("a:*"));
+        check(index.contains("a:*"), "contains exact element");
+        check(!index.contains("a:b"), "contains must not apply wildcards");
+        check(index.matches("a:b"), "matches applies wildcards");
+        check(index.equals(List.of("a:*")), "equals a plain list with the same elements");
+        check(!PermissionIndex.of(List.of()).matches("a"), "empty index matches nothing");
+
+        System.out.println("PermissionIndexTest passed, " + checks + " comparisons");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.config.satoken;
+
+/**
+ * 近端缓存校验：读取期间发生失效时不写入，未发生失效时正常写入
+ */
+public class SaTokenNearCacheTest {
+
+    public static void main(String[] args) {
+        cachedWithoutInvalidation();
+        skippedAfterInvalidation();
+        skippedAfterClear();
+        System.out.println("SaTokenNearCacheTest passed");
+    }
+
+    /**
+     * 读取期间没有失效，值写入近端缓存
+     */
+    private static void cachedWithoutInvalidation() {
+        SaTokenNearCache cache = new SaTokenNearCache(100, 30_000L);
+        long sequence = cache.sequence();
+        cache.putIfUnchanged("satoken:login:token:a", "1", 60_000L, sequence);
+        check(cache.get("satoken:login:token:a") != null, "value is cached");
+    }
+
+    /**
+     * 读取Redis后、写入前该key被删除(本节点删除或收到其他节点的失效通知)，旧值不能留在缓存中
+     */
+    private static void skippedAfterInvalidation() {
+        SaTokenNearCache cache = new SaTokenNearCache(100, 30_000L);
+        long sequence = cache.sequence();
+        // 其他节点注销，失效通知先于本次读取结果写入到达
+        cache.invalidate("satoken:login:token:a");
+        cache.putIfUnchanged("satoken:login:token:a", "1", 60_000L, sequence);
+        check(cache.get("satoken:login:token:a") == null, "stale value is not cached");
+
+        // 后续读取不受影响
+        cache.putIfUnchanged("satoken:login:token:a", "1", 60_000L, cache.sequence());
+        check(cache.get("satoken:login:token:a") != null, "later read is cached");
+    }
+
+    /**
+     * 重新订阅清空缓存后，清空前开始的读取不写入
+     */
+    private static void skippedAfterClear() {
+        SaTokenNearCache cache = new SaTokenNearCache(100, 30_000L);
+        long sequence = cache.sequence();
+        cache.clear();
+        cache.putIfUnchanged("satoken:login:token:a", "1", 60_000L, sequence);
+        check(cache.get("satoken:login:token:a") == null, "read started before clear is not cached");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.log;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 环形缓冲区校验：容量取整、先进先出、满时拒绝、绕圈复用、多生产者单消费者不丢不重
+ */
+public class RingBufferTest {
+
+    public static void main(String[] args) throws Exception {
+        capacity();
+        fifoAndFull();
+        wrapAround();
+        multiProducer();
+        System.out.println("RingBufferTest passed");
+    }
+
+    /**
+     * 容量向上取整为2的幂，最小为2
+     */
+    private static void capacity() {
+        check(new RingBuffer<>(0).capacity() == 2, "min capacity");
+        check(new RingBuffer<>(2).capacity() == 2, "power of two kept");
+        check(new RingBuffer<>(5).capacity() == 8, "rounded up to 8");
+        check(new RingBuffer<>(1024).capacity() == 1024, "1024 kept");
+    }
+
+    /**
+     * 按写入顺序读出，写满后 offer 返回false，空时 poll 返回null
+     */
+    private static void fifoAndFull() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        check(buffer.poll() == null, "empty poll returns null");
+        for (int i = 0; i < 4; i++) {
+            check(buffer.offer(i), "offer " + i);
+        }
+        check(!buffer.offer(4), "offer is refused when full");
+        check(buffer.size() == 4, "size is 4");
+        for (int i = 0; i < 4; i++) {
+            check(Integer.valueOf(i).equals(buffer.poll()), "poll " + i);
+        }
+        check(buffer.poll() == null, "drained poll returns null");
+        check(buffer.size() == 0, "size is 0");
+    }
+
+    /**
+     * 读出后槽位可再次写入，多圈后顺序不变
+     */
+    private static void wrapAround() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        int next = 0;
+        int expected = 0;
+        for (int round = 0; round < 1000; round++) {
+            for (int i = 0; i < 3; i++) {
+                check(buffer.offer(next++), "offer in round " + round);
+            }
+            for (int i = 0; i < 3; i++) {
+                check(Integer.valueOf(expected++).equals(buffer.poll()), "poll in round " + round);
+            }
+        }
+        check(buffer.poll() == null, "drained after wrap around");
+    }
+
+    /**
+     * 多个生产者并发写入，消费者读到的元素与写入成功的元素完全一致，每个生产者内部保持顺序
+     */
+    private static void multiProducer() throws InterruptedException {
+        int producers = 8;
+        int perProducer = 100_000;
+        RingBuffer<long[]> buffer = new RingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (long i = 0; i < perProducer; i++) {
+                        // 满时自旋等待消费者，确保全部写入
+                        while (!buffer.offer(new long[]{producer, i})) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long[] lastSeen = new long[producers];
+        Arrays.fill(lastSeen, -1);
+        long received = 0;
+        long total = (long) producers * perProducer;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        start.countDown();
+        while (received < total) {
+            long[] element = buffer.poll();
+            if (element == null) {
+                check(System.nanoTime() < deadline, "consumer timed out at " + received);
+                Thread.onSpinWait();
+                continue;
+            }
+            int producer = (int) element[0];
+            check(element[1] == lastSeen[producer] + 1, "producer " + producer + " order: " + element[1]);
+            lastSeen[producer] = element[1];
+            received++;
+        }
+        check(done.await(5, TimeUnit.SECONDS), "producers finished");
+        executor.shutdownNow();
+        check(buffer.poll() == null, "nothing left after all elements received");
+        for (int p = 0; p < producers; p++) {
+            check(lastSeen[p] == perProducer - 1, "producer " + p + " fully received");
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.rateLimit;
+
+import org.example.config.properties.RateLimiterProperties;
+import org.example.utils.SpringUtils;
+import org.redisson.api.RRateLimiter;
+import org.redisson.api.RateType;
+import org.redisson.api.RedissonClient;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 租借限流校验：并发租借时已从全局扣除的令牌不会被覆盖丢弃，一个周期内放行数等于全局配额
+ */
+public class LeasedRateLimiterTest {
+
+    private static final int RATE = 1000;
+
+    /**
+     * 模拟的全局剩余令牌
+     */
+    private static final AtomicInteger GLOBAL = new AtomicInteger(RATE);
+
+    public static void main(String[] args) throws Exception {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(RedissonClient.class, LeasedRateLimiterTest::redis);
+            context.register(SpringUtils.class);
+            context.refresh();
+
+            concurrentRefill();
+        }
+        System.out.println("LeasedRateLimiterTest passed");
+    }
+
+    /**
+     * 多线程同时耗尽租借的令牌，全局配额应被完整放行，不多也不少
+     */
+    private static void concurrentRefill() throws InterruptedException {
+        LeasedRateLimiter limiter = new LeasedRateLimiter(new RateLimiterProperties());
+        int threads = 32;
+        int perThread = 100;
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        if (limiter.tryAcquire("rate_limit:test", RateType.OVERALL, RATE, 60, 120).isAllowed()) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        check(done.await(30, TimeUnit.SECONDS), "requests finished");
+        executor.shutdownNow();
+        check(GLOBAL.get() == 0, "global budget consumed: " + GLOBAL.get());
+        check(admitted.get() == RATE, "admitted " + admitted.get() + " of " + RATE);
+    }
+
+    private static RedissonClient redis() {
+        RRateLimiter rateLimiter = (RRateLimiter) Proxy.newProxyInstance(RRateLimiter.class.getClassLoader(),
+            new Class<?>[]{RRateLimiter.class}, (proxy, method, args) -> switch (method.getName()) {
+                case "trySetRate" -> true;
+                case "tryAcquire" -> {
+                    long permits = args == null || args.length == 0 ? 1 : ((Number) args[0]).longValue();
+                    // 放大Redis往返时间，让并发租借交错
+                    Thread.sleep(1);
+                    yield GLOBAL.getAndUpdate(left -> left >= permits ? (int) (left - permits) : left) >= permits;
+                }
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        return (RedissonClient) Proxy.newProxyInstance(RedissonClient.class.getClassLoader(),
+            new Class<?>[]{RedissonClient.class}, (proxy, method, args) -> switch (method.getName()) {
+                case "getRateLimiter" -> rateLimiter;
+                case "toString" -> "redis";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.rateLimit;
+
+import org.example.constant.Constants;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.expression.BeanFactoryResolver;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * 限流key构建耗时对比：每次请求解析SpEL(原实现) 与 预先解析并编译的表达式(现实现)
+ * <p>
+ * 项目未引入JMH，这里用预热后多轮取中位数的方式粗略对比，两种方式生成的key需一致。
+ * 只测量key构建部分，请求URI固定，不涉及Redis与Servlet。
+ */
+public class RateLimitKeyBenchmark {
+
+    private static final String KEY = "#username";
+
+    private static final String URI = "/auth/login";
+
+    private static final int WARMUP = 5;
+
+    private static final int ROUNDS = 7;
+
+    private static final int CALLS = 200_000;
+
+    private final ParameterNameDiscoverer pnd = new DefaultParameterNameDiscoverer();
+
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+    private final ExpressionParser legacyParser = new SpelExpressionParser();
+
+    private final Expression compiled = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.MIXED, RateLimitKeyBenchmark.class.getClassLoader())).parseExpression(KEY);
+
+    private final BeanFactoryResolver beanResolver = new BeanFactoryResolver(beanFactory);
+
+    private final Method method;
+
+    public RateLimitKeyBenchmark() throws NoSuchMethodException {
+        this.method = RateLimitKeyBenchmark.class.getDeclaredMethod("login", String.class);
+    }
+
+    public static void main(String[] args) throws Exception {
+        RateLimitKeyBenchmark benchmark = new RateLimitKeyBenchmark();
+        Object[] arguments = {"admin"};
+        String expected = Constants.RATE_LIMIT_KEY + URI + ":admin";
+        if (!expected.equals(benchmark.legacyKey(arguments)) || !expected.equals(benchmark.precompiledKey(arguments))) {
+            throw new AssertionError("key mismatch");
+        }
+
+        long legacy = median(() -> benchmark.legacyKey(arguments));
+        long precompiled = median(() -> benchmark.precompiledKey(arguments));
+        System.out.printf("calls=%d legacy=%.0fns/op precompiled=%.0fns/op%n", CALLS,
+            (double) legacy / CALLS, (double) precompiled / CALLS);
+    }
+
+    /**
+     * 原实现：每次创建解析结果、BeanFactoryResolver，并用StringBuilder拼接
+     */
+    private String legacyKey(Object[] args) {
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(null, method, args, pnd);
+        context.setBeanResolver(new BeanFactoryResolver(beanFactory));
+        String key = legacyParser.parseExpression(KEY).getValue(context, String.class);
+        StringBuilder stringBuffer = new StringBuilder(Constants.RATE_LIMIT_KEY);
+        stringBuffer.append(URI).append(":");
+        return stringBuffer.append(key).toString();
+    }
+
+    /**
+     * 现实现：表达式与BeanFactoryResolver只创建一次，直接拼接
+     */
+    private String precompiledKey(Object[] args) {
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(null, method, args, pnd);
+        context.setBeanResolver(beanResolver);
+        String key = compiled.getValue(context, String.class);
+        return Constants.RATE_LIMIT_KEY + URI + ":" + key;
+    }
+
+    private static long median(Runnable call) {
+        Runnable batch = () -> {
+            for (int i = 0; i < CALLS; i++) {
+                call.run();
+            }
+        };
+        for (int i = 0; i < WARMUP; i++) {
+            batch.run();
+        }
+        long[] times = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            batch.run();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return times[ROUNDS / 2];
+    }
+
+    @SuppressWarnings("unused")
+    private void login(String username) {
+    }
+}
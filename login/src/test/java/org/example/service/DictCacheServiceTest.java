@@ -0,0 +1,96 @@
+package org.example.service;
+
+import org.example.domain.entity.SysDictData;
+import org.example.domain.event.DictChangedEvent;
+import org.example.mapper.SysDictDataMapper;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisConnectionException;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 字典本地缓存校验：全量加载后直接命中，加载期间发生的失效不会被全量结果覆盖
+ */
+public class DictCacheServiceTest {
+
+    private static final AtomicInteger QUERIES = new AtomicInteger();
+
+    /**
+     * 数据库中当前的标签
+     */
+    private static volatile String label = "男";
+
+    /**
+     * 查询期间执行的动作，模拟查询与写入快照之间到达的失效通知
+     */
+    private static volatile Runnable duringQuery = () -> {
+    };
+
+    public static void main(String[] args) {
+        loadAllHit();
+        evictedDuringLoad();
+        System.out.println("DictCacheServiceTest passed");
+    }
+
+    /**
+     * 全量加载后访问不再查询数据库
+     */
+    private static void loadAllHit() {
+        DictCacheService service = new DictCacheService(mapper(), redis());
+        service.loadAll();
+        int queries = QUERIES.get();
+        check("男".equals(service.get("sys_user_sex").getLabel("0")), "label from full load");
+        check(QUERIES.get() == queries, "no query after full load");
+    }
+
+    /**
+     * 全量查询之后、写入快照之前字典被修改并失效，旧数据不能留在缓存中
+     */
+    private static void evictedDuringLoad() {
+        DictCacheService service = new DictCacheService(mapper(), redis());
+        label = "男";
+        duringQuery = () -> {
+            label = "男性";
+            service.onDictChanged(new DictChangedEvent("sys_user_sex"));
+        };
+        service.loadAll();
+        duringQuery = () -> {
+        };
+        check("男性".equals(service.get("sys_user_sex").getLabel("0")), "evicted type is reloaded lazily");
+    }
+
+    private static SysDictDataMapper mapper() {
+        return (SysDictDataMapper) Proxy.newProxyInstance(SysDictDataMapper.class.getClassLoader(),
+            new Class<?>[]{SysDictDataMapper.class}, (proxy, method, args) -> {
+                if (!"selectList".equals(method.getName())) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                QUERIES.incrementAndGet();
+                SysDictData data = new SysDictData();
+                data.setDictType("sys_user_sex");
+                data.setDictValue("0");
+                data.setDictLabel(label);
+                data.setStatus("0");
+                duringQuery.run();
+                return List.of(data);
+            });
+    }
+
+    /**
+     * 失效通知发送失败只记录日志，不影响本地失效
+     */
+    private static RedissonClient redis() {
+        return (RedissonClient) Proxy.newProxyInstance(RedissonClient.class.getClassLoader(),
+            new Class<?>[]{RedissonClient.class}, (proxy, method, args) -> {
+                throw new RedisConnectionException("Redis unavailable");
+            });
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
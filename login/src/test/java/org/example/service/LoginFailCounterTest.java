@@ -0,0 +1,106 @@
+package org.example.service;
+
+import org.example.utils.SpringUtils;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisConnectionException;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * 登录失败计数器在Redis不可用时的本地计数校验：递增、撤销、清除、过期、容量上限
+ */
+public class LoginFailCounterTest {
+
+    public static void main(String[] args) throws Exception {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            // 所有Redis调用都抛出连接异常，模拟Redis不可用
+            context.registerBean(RedissonClient.class, LoginFailCounterTest::unavailableRedis);
+            context.register(SpringUtils.class);
+            context.refresh();
+
+            increment();
+            cancel();
+            reset();
+            expired();
+            capacity();
+        }
+        System.out.println("LoginFailCounterTest passed");
+    }
+
+    /**
+     * 每次尝试计数加一，剩余时间为锁定时间
+     */
+    private static void increment() {
+        LoginFailCounter counter = new LoginFailCounter(10, 10000);
+        for (int i = 1; i <= 5; i++) {
+            LoginFailCounter.Attempt attempt = counter.attempt("a", 5);
+            check(attempt.count() == i, "count " + attempt.count() + " expected " + i);
+            check(attempt.ttlMillis() == 600_000L, "ttl is the lock time");
+        }
+        check(counter.attempt("b", 5).count() == 1, "keys are counted separately");
+    }
+
+    /**
+     * 撤销本次占用的计数，没有计数时撤销不会产生负数
+     */
+    private static void cancel() {
+        LoginFailCounter counter = new LoginFailCounter(10, 10000);
+        counter.attempt("a", 5);
+        counter.attempt("a", 5);
+        counter.cancel("a");
+        check(counter.attempt("a", 5).count() == 2, "cancelled attempt is not counted");
+
+        counter.cancel("missing");
+        counter.cancel("missing");
+        check(counter.attempt("missing", 5).count() == 1, "cancel without count does not go negative");
+    }
+
+    /**
+     * 认证成功后计数清零
+     */
+    private static void reset() {
+        LoginFailCounter counter = new LoginFailCounter(10, 10000);
+        counter.attempt("a", 5);
+        counter.attempt("a", 5);
+        counter.reset("a");
+        check(counter.attempt("a", 5).count() == 1, "reset clears the count");
+    }
+
+    /**
+     * 锁定时间为0时每个桶1毫秒，超过全部桶后旧计数不再累加
+     */
+    private static void expired() throws InterruptedException {
+        LoginFailCounter counter = new LoginFailCounter(0, 10000);
+        counter.attempt("a", 5);
+        counter.attempt("a", 5);
+        Thread.sleep(50);
+        check(counter.attempt("a", 5).count() == 1, "expired buckets are ignored");
+    }
+
+    /**
+     * 每桶容量为1时，新的key挤掉最久未访问的计数
+     */
+    private static void capacity() {
+        LoginFailCounter counter = new LoginFailCounter(10, 10);
+        counter.attempt("a", 5);
+        counter.attempt("b", 5);
+        check(counter.attempt("a", 5).count() == 1, "least recently used count is evicted");
+    }
+
+    private static RedissonClient unavailableRedis() {
+        return (RedissonClient) Proxy.newProxyInstance(RedissonClient.class.getClassLoader(),
+            new Class<?>[]{RedissonClient.class}, (proxy, method, args) -> switch (method.getName()) {
+                case "toString" -> "unavailableRedis";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new RedisConnectionException("Redis unavailable");
+            });
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
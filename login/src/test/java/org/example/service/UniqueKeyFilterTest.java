@@ -0,0 +1,168 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.properties.UniqueKeyFilterProperties;
+import org.example.domain.em.UniqueKeyType;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisConnectionException;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 唯一键过滤器校验：值规范化、位下标范围、写入与查询位下标一致、写入失败后停用过滤
+ */
+public class UniqueKeyFilterTest {
+
+    private static final Pattern PREFIX = Pattern.compile("\\{[a-z_]+:(\\d+):(\\d+)}:");
+
+    /**
+     * 模拟Redis：记录脚本参数，查询返回 containsResult，addFails 时写入抛出异常，其余调用一律不可用
+     */
+    private static final List<Object[]> CONTAINS_CALLS = new ArrayList<>();
+
+    private static final List<Object[]> ADD_CALLS = new ArrayList<>();
+
+    private static long containsResult = 0L;
+
+    private static boolean addFails = false;
+
+    public static void main(String[] args) {
+        normalize();
+        UniqueKeyFilter filter = newFilter();
+        try {
+            offsets(filter);
+            putAndLookupMatch(filter);
+            failClosed(filter);
+        } finally {
+            filter.shutdown();
+        }
+        System.out.println("UniqueKeyFilterTest passed");
+    }
+
+    /**
+     * 去除首尾空白并按 Locale.ROOT 转小写，不受默认语言环境影响
+     */
+    private static void normalize() {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr"));
+            check("title".equals(UniqueKeyFilter.normalize(" TITLE\t")), "turkish default locale");
+            check("admin".equals(UniqueKeyFilter.normalize("Admin ")), "trim and lower case");
+            check("a b".equals(UniqueKeyFilter.normalize(" A b ")), "inner whitespace kept");
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    /**
+     * 下标个数等于哈希次数且落在位图范围内，大小写与首尾空白不同的值下标相同
+     */
+    private static void offsets(UniqueKeyFilter filter) {
+        long[] expected = filter.offsets("admin");
+        check(Arrays.equals(expected, filter.offsets(" Admin")), "leading space and case");
+        check(Arrays.equals(expected, filter.offsets("ADMIN \n")), "trailing whitespace and case");
+        check(!Arrays.equals(expected, filter.offsets("admin1")), "different value");
+
+        containsResult = 1L;
+        filter.mightContain(UniqueKeyType.USER_NAME, "admin");
+        Matcher matcher = PREFIX.matcher(String.valueOf(CONTAINS_CALLS.get(CONTAINS_CALLS.size() - 1)[0]));
+        check(matcher.find(), "prefix carries bit size and hash iterations");
+        long bitSize = Long.parseLong(matcher.group(1));
+        int hashIterations = Integer.parseInt(matcher.group(2));
+        for (int i = 0; i < 1000; i++) {
+            long[] offsets = filter.offsets("user" + i);
+            check(offsets.length == hashIterations, "one offset per hash iteration");
+            for (long offset : offsets) {
+                check(offset >= 0 && offset < bitSize, "offset in range: " + offset);
+            }
+        }
+    }
+
+    /**
+     * 写入与查询使用规范化后的同一组位下标
+     */
+    private static void putAndLookupMatch(UniqueKeyFilter filter) {
+        filter.put(UniqueKeyType.USER_NAME, "000000", " Admin ");
+        filter.mightContain(UniqueKeyType.USER_NAME, "ADMIN");
+        List<String> added = tail(ADD_CALLS.get(ADD_CALLS.size() - 1), filter);
+        List<String> looked = tail(CONTAINS_CALLS.get(CONTAINS_CALLS.size() - 1), filter);
+        check(added.equals(looked), "put and lookup offsets match: " + added + " vs " + looked);
+
+        filter.put(UniqueKeyType.USER_NAME, "000000", "   ");
+        check(ADD_CALLS.size() == 1, "blank value is not written");
+    }
+
+    /**
+     * 写入失败后该类型一律判定为可能存在，不再查询Redis；其他类型不受影响
+     */
+    private static void failClosed(UniqueKeyFilter filter) {
+        containsResult = 0L;
+        check(!filter.mightContain(UniqueKeyType.USER_NAME, "nobody"), "absent before failure");
+
+        addFails = true;
+        filter.put(UniqueKeyType.USER_NAME, "000000", "newcomer");
+        int calls = CONTAINS_CALLS.size();
+        check(filter.mightContain(UniqueKeyType.USER_NAME, "nobody"), "not ready after a failed put");
+        check(filter.mightContain(UniqueKeyType.USER_NAME, "newcomer"), "failed value is not filtered out");
+        check(CONTAINS_CALLS.size() == calls, "lookup skips Redis while not ready");
+        check(!filter.mightContain(UniqueKeyType.ROLE_NAME, "nobody"), "other types keep filtering");
+    }
+
+    /**
+     * 参数末尾的位下标
+     */
+    private static List<String> tail(Object[] args, UniqueKeyFilter filter) {
+        int k = filter.offsets("x").length;
+        List<String> offsets = new ArrayList<>();
+        for (int i = args.length - k; i < args.length; i++) {
+            offsets.add(String.valueOf(args[i]));
+        }
+        return offsets;
+    }
+
+    private static UniqueKeyFilter newFilter() {
+        UniqueKeyFilterProperties properties = new UniqueKeyFilterProperties();
+        properties.setExpectedInsertions(1000);
+        return new UniqueKeyFilter(null, redis(), properties, new SimpleMeterRegistry());
+    }
+
+    private static RedissonClient redis() {
+        RScript script = (RScript) Proxy.newProxyInstance(RScript.class.getClassLoader(), new Class<?>[]{RScript.class},
+            (proxy, method, args) -> {
+                if (!"eval".equals(method.getName()) || args.length != 5) {
+                    throw new RedisConnectionException("Redis unavailable");
+                }
+                Object[] values = (Object[]) args[4];
+                if (((String) args[1]).contains("getbit")) {
+                    CONTAINS_CALLS.add(values);
+                    return containsResult;
+                }
+                if (addFails) {
+                    throw new RedisConnectionException("Redis unavailable");
+                }
+                ADD_CALLS.add(values);
+                return 1L;
+            });
+        return (RedissonClient) Proxy.newProxyInstance(RedissonClient.class.getClassLoader(),
+            new Class<?>[]{RedissonClient.class}, (proxy, method, args) -> switch (method.getName()) {
+                case "getScript" -> script;
+                case "toString" -> "redis";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new RedisConnectionException("Redis unavailable");
+            });
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
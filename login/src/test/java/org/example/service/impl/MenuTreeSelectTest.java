@@ -0,0 +1,59 @@
+package org.example.service.impl;
+
+import org.example.domain.vo.SysMenuVo;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 菜单下拉树校验：按父菜单ID嵌套、同级按显示顺序排列、携带图标
+ */
+public class MenuTreeSelectTest {
+
+    public static void main(String[] args) {
+        nested();
+        System.out.println("MenuTreeSelectTest passed");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void nested() {
+        SysMenuServiceImpl service = new SysMenuServiceImpl(null, null, null, null, null);
+        List<SysMenuVo> menus = List.of(
+            menu(1L, 0L, 2, "system"),
+            menu(2L, 0L, 1, "monitor"),
+            menu(100L, 1L, 2, "user"),
+            menu(101L, 1L, 1, "role"),
+            menu(1000L, 100L, 1, null));
+
+        List<Object> tree = service.buildMenuTreeSelect(menus);
+        check(tree.size() == 2, "two roots: " + tree.size());
+        Map<String, Object> monitor = (Map<String, Object>) tree.get(0);
+        Map<String, Object> system = (Map<String, Object>) tree.get(1);
+        check(Long.valueOf(2L).equals(monitor.get("id")), "roots ordered by orderNum");
+        check(!monitor.containsKey("children"), "leaf has no children");
+        check("system".equals(system.get("icon")), "icon is carried");
+
+        List<Map<String, Object>> children = (List<Map<String, Object>>) system.get("children");
+        check(children.size() == 2, "system has two children");
+        check(Long.valueOf(101L).equals(children.get(0).get("id")), "children ordered by orderNum");
+        List<Map<String, Object>> grandChildren = (List<Map<String, Object>>) children.get(1).get("children");
+        check(grandChildren.size() == 1 && Long.valueOf(1000L).equals(grandChildren.get(0).get("id")), "third level nested");
+    }
+
+    private static SysMenuVo menu(Long menuId, Long parentId, int orderNum, String icon) {
+        SysMenuVo menu = new SysMenuVo();
+        menu.setMenuId(menuId);
+        menu.setParentId(parentId);
+        menu.setOrderNum(orderNum);
+        menu.setMenuName("menu" + menuId);
+        menu.setMenuType("C");
+        menu.setIcon(icon);
+        return menu;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
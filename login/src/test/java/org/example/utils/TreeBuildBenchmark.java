@@ -0,0 +1,112 @@
+package org.example.utils;
+
+import org.example.domain.vo.SysDeptVo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * 部门树组装耗时对比：原逐层全表扫描的递归实现 与 {@link TreeBuildUtils}
+ * <p>
+ * 项目未引入JMH，这里用预热后多轮取中位数的方式粗略对比，参数为部门数量(默认20000)。
+ */
+public class TreeBuildBenchmark {
+
+    private static final int WARMUP = 3;
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        List<SysDeptVo> template = generate(size);
+
+        long legacy = median(() -> legacyBuild(copy(template)));
+        long linear = median(() -> TreeBuildUtils.build(copy(template), SysDeptVo::getDeptId, SysDeptVo::getParentId,
+            SysDeptVo::setChildren, TreeBuildUtils.byOrderNum(SysDeptVo::getOrderNum)));
+
+        System.out.printf("depts=%d legacy=%.1fms treeBuild=%.1fms%n", size, legacy / 1e6, linear / 1e6);
+    }
+
+    private static long median(Runnable task) {
+        for (int i = 0; i < WARMUP; i++) {
+            task.run();
+        }
+        long[] times = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return times[ROUNDS / 2];
+    }
+
+    /**
+     * 随机组织架构，每个部门的父部门从之前生成的部门中选取
+     */
+    private static List<SysDeptVo> generate(int size) {
+        Random random = new Random(42);
+        List<SysDeptVo> depts = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            SysDeptVo dept = new SysDeptVo();
+            dept.setDeptId(id);
+            dept.setParentId(id == 1 ? 0L : 1 + (long) random.nextInt((int) id - 1));
+            dept.setOrderNum(random.nextInt(10));
+            depts.add(dept);
+        }
+        return depts;
+    }
+
+    private static List<SysDeptVo> copy(List<SysDeptVo> template) {
+        List<SysDeptVo> copy = new ArrayList<>(template.size());
+        for (SysDeptVo source : template) {
+            SysDeptVo dept = new SysDeptVo();
+            dept.setDeptId(source.getDeptId());
+            dept.setParentId(source.getParentId());
+            dept.setOrderNum(source.getOrderNum());
+            copy.add(dept);
+        }
+        return copy;
+    }
+
+    /**
+     * 原 SysDeptServiceImpl.buildDeptTree 实现
+     */
+    private static List<SysDeptVo> legacyBuild(List<SysDeptVo> depts) {
+        List<SysDeptVo> returnList = new ArrayList<>();
+        List<Long> tempList = depts.stream().map(SysDeptVo::getDeptId).collect(Collectors.toList());
+        for (SysDeptVo dept : depts) {
+            if (!tempList.contains(dept.getParentId())) {
+                recursionFn(depts, dept);
+                returnList.add(dept);
+            }
+        }
+        return returnList.isEmpty() ? depts : returnList;
+    }
+
+    private static void recursionFn(List<SysDeptVo> list, SysDeptVo t) {
+        List<SysDeptVo> childList = getChildList(list, t);
+        t.setChildren(childList);
+        for (SysDeptVo tChild : childList) {
+            if (!getChildList(list, tChild).isEmpty()) {
+                recursionFn(list, tChild);
+            }
+        }
+    }
+
+    private static List<SysDeptVo> getChildList(List<SysDeptVo> list, SysDeptVo t) {
+        List<SysDeptVo> tlist = new ArrayList<>();
+        Iterator<SysDeptVo> it = list.iterator();
+        while (it.hasNext()) {
+            SysDeptVo n = it.next();
+            if (n.getParentId() != null && n.getParentId().longValue() == t.getDeptId().longValue()) {
+                tlist.add(n);
+            }
+        }
+        return tlist;
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 树结构组装校验：孤儿节点、多个根节点、同级排序、深层级
+ */
+public class TreeBuildUtilsTest {
+
+    public static void main(String[] args) {
+        multipleRootsAndOrdering();
+        orphans();
+        deepChain();
+        System.out.println("TreeBuildUtilsTest passed");
+    }
+
+    /**
+     * 多个根节点，同级按排序号升序，排序号为空的排在最后，相同排序号保持原顺序
+     */
+    private static void multipleRootsAndOrdering() {
+        List<Node> nodes = List.of(
+            new Node(1L, 0L, 2), new Node(2L, 0L, 1), new Node(3L, 0L, null),
+            new Node(11L, 1L, 5), new Node(12L, 1L, 1), new Node(13L, 1L, 5),
+            new Node(21L, 2L, 1), new Node(111L, 11L, 1));
+        List<Node> roots = build(nodes, 0L);
+        check(ids(roots).equals(List.of(2L, 1L, 3L)), "roots ordered by orderNum, nulls last: " + ids(roots));
+        Node first = roots.get(1);
+        check(ids(first.children).equals(List.of(12L, 11L, 13L)), "children ordered and stable: " + ids(first.children));
+        check(ids(first.children.get(1).children).equals(List.of(111L)), "grandchild attached");
+        check(roots.get(2).children != null && roots.get(2).children.isEmpty(), "leaf gets empty children");
+    }
+
+    /**
+     * 父节点不存在的节点：指定根父ID时丢弃，按列表推断根节点时作为根节点
+     */
+    private static void orphans() {
+        List<Node> nodes = List.of(new Node(1L, 0L, 1), new Node(2L, 1L, 1), new Node(5L, 99L, 1), new Node(6L, 5L, 1));
+        List<Node> roots = build(nodes, 0L);
+        check(ids(roots).equals(List.of(1L)), "orphan subtree dropped under explicit root: " + ids(roots));
+        check(ids(roots.get(0).children).equals(List.of(2L)), "child of root attached");
+
+        List<Node> inferred = TreeBuildUtils.build(fresh(nodes), Node::id, Node::parentId, Node::setChildren,
+            TreeBuildUtils.byOrderNum(Node::orderNum));
+        check(ids(inferred).equals(List.of(1L, 5L)), "orphan becomes root when roots are inferred: " + ids(inferred));
+        check(ids(inferred.get(1).children).equals(List.of(6L)), "orphan keeps its children");
+    }
+
+    /**
+     * 十万层的链表结构，非递归组装不会栈溢出
+     */
+    private static void deepChain() {
+        int depth = 100_000;
+        List<Node> nodes = new ArrayList<>(depth);
+        for (long i = 1; i <= depth; i++) {
+            nodes.add(new Node(i, i - 1, 1));
+        }
+        List<Node> roots = build(nodes, 0L);
+        Node node = roots.get(0);
+        int levels = 1;
+        while (!node.children.isEmpty()) {
+            node = node.children.get(0);
+            levels++;
+        }
+        check(levels == depth, "all levels attached: " + levels);
+    }
+
+    private static List<Node> build(List<Node> nodes, Long rootParentId) {
+        return TreeBuildUtils.build(fresh(nodes), rootParentId, Node::id, Node::parentId, Node::setChildren,
+            TreeBuildUtils.byOrderNum(Node::orderNum));
+    }
+
+    private static List<Node> fresh(List<Node> nodes) {
+        List<Node> copy = new ArrayList<>(nodes.size());
+        for (Node node : nodes) {
+            copy.add(new Node(node.id, node.parentId, node.orderNum));
+        }
+        return copy;
+    }
+
+    private static List<Long> ids(List<Node> nodes) {
+        return nodes.stream().map(Node::id).toList();
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    static final class Node {
+
+        private final Long id;
+
+        private final Long parentId;
+
+        private final Integer orderNum;
+
+        private List<Node> children;
+
+        Node(Long id, Long parentId, Integer orderNum) {
+            this.id = id;
+            this.parentId = parentId;
+            this.orderNum = orderNum;
+        }
+
+        Long id() {
+            return id;
+        }
+
+        Long parentId() {
+            return parentId;
+        }
+
+        Integer orderNum() {
+            return orderNum;
+        }
+
+        void setChildren(List<Node> children) {
+            this.children = children;
+        }
+    }
+}